@@ -15,9 +15,11 @@
  */
 package org.destinationsol;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -35,14 +37,28 @@
 import org.destinationsol.ui.UiDrawer;
 
 public class CommonDrawer implements ResizeSubscriber {
+    private static final int LAYOUT_CACHE_SIZE = 256;
+    /**
+     * Circles are drawn with a power of two of segments, from 2^{@code MIN_CIRCLE_LOD} to 2^{@code MAX_CIRCLE_LOD},
+     * depending on their size on the screen.
+     */
+    private static final int MIN_CIRCLE_LOD = 3;
+    private static final int MAX_CIRCLE_LOD = 8;
+    private static final int QUAD_FLOATS = 20;
+
     private final SpriteBatch spriteBatch;
     private final BitmapFont font;
     private final float originalFontHeight;
-    private final GlyphLayout layout;
+    private final GlyphLayoutCache layouts;
     private final OrthographicCamera orthographicCamera;
     private final Viewport screenViewport;
+    private final float[][] circleCos;
+    private final float[][] circleSin;
+    private final float[] circleVertices;
 
     private DisplayDimensions displayDimensions;
+    private float fontScale;
+    private boolean premultipliedTarget;
 
     CommonDrawer() {
         displayDimensions = SolApplication.displayDimensions;
@@ -52,11 +68,25 @@ public class CommonDrawer implements ResizeSubscriber {
         font = Assets.getFont("engine:main").getBitmapFont();
         originalFontHeight = font.getXHeight();
 
-        layout = new GlyphLayout();
+        layouts = new GlyphLayoutCache(font, LAYOUT_CACHE_SIZE);
 
         orthographicCamera = new OrthographicCamera(1024, 768);
         screenViewport = new ScreenViewport(orthographicCamera);
 
+        circleCos = new float[MAX_CIRCLE_LOD + 1][];
+        circleSin = new float[MAX_CIRCLE_LOD + 1][];
+        for (int lod = MIN_CIRCLE_LOD; lod <= MAX_CIRCLE_LOD; lod++) {
+            int segmentCount = 1 << lod;
+            circleCos[lod] = new float[segmentCount + 1];
+            circleSin[lod] = new float[segmentCount + 1];
+            for (int i = 0; i <= segmentCount; i++) {
+                float angle = MathUtils.PI2 * i / segmentCount;
+                circleCos[lod][i] = MathUtils.cos(angle);
+                circleSin[lod][i] = MathUtils.sin(angle);
+            }
+        }
+        circleVertices = new float[(1 << MAX_CIRCLE_LOD) * QUAD_FLOATS];
+
         SolApplication.addResizeSubscriber(this);
     }
 
@@ -83,10 +113,13 @@ public void drawString(String s, float x, float y, float fontSize, UiDrawer.Text
         }
 
         font.setColor(col);
-        font.getData().setScale(fontSize / originalFontHeight);
+        float scale = fontSize / originalFontHeight;
+        if (scale != fontScale) {
+            font.getData().setScale(scale);
+            fontScale = scale;
+        }
         // http://www.badlogicgames.com/wordpress/?p=3658
-        layout.reset();
-        layout.setText(font, s);
+        GlyphLayout layout = layouts.get(s, fontSize, col);
 
         switch (align) {
             case LEFT:
@@ -118,27 +151,75 @@ private void setTint(Color tint) {
         spriteBatch.setColor(tint);
     }
 
+    /**
+     * Draws a texture with premultiplied alpha, such as the colour buffer of a frame buffer drawn into with
+     * {@link #setPremultipliedTarget(boolean)} set. The texture is drawn the way up it is stored, so frame buffers are
+     * not flipped.
+     * <p>
+     * The blend function is left set for premultiplied alpha, see {@link #setAdditive(boolean)} for setting it back.
+     */
+    public void drawPremultiplied(Texture texture, float x, float y, float width, float height) {
+        spriteBatch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        setTint(Color.WHITE);
+        spriteBatch.draw(texture, x, y, width, height, 0, 0, 1, 1);
+    }
+
     public void draw(TextureRegion tex, Rectangle rect, Color tint) {
         draw(tex, rect.width, rect.height, (float) 0, (float) 0, rect.x, rect.y, (float) 0, tint);
     }
 
+    /**
+     * Draws a ring of the given width outside of a circle.
+     * <p>
+     * The ring is a closed strip of quads around the circle, with more quads the larger the circle is compared to the
+     * view height, and is passed to the sprite batch as a single vertex array. The positions of the quads come from
+     * precomputed tables, so drawing a circle does no trigonometry.
+     *
+     * @param tex The texture the quads are filled with
+     * @param center The centre of the circle
+     * @param radius The radius of the circle
+     * @param col The colour of the ring
+     * @param width The width of the ring
+     * @param vh The view height, for choosing the number of quads
+     */
     public void drawCircle(TextureRegion tex, Vector2 center, float radius, Color col, float width, float vh) {
-        float relRad = radius / vh;
-        int pointCount = (int) (160 * relRad);
-        Vector2 position = SolMath.getVec();
-        if (pointCount < 8) {
-            pointCount = 8;
+        int lod = getCircleLod(radius / vh);
+        int segmentCount = 1 << lod;
+        float[] cos = circleCos[lod];
+        float[] sin = circleSin[lod];
+        float color = col.toFloatBits();
+        float outerRadius = radius + width;
+        float u = tex.getU();
+        float v = tex.getV();
+        float u2 = tex.getU2();
+        float v2 = tex.getV2();
+        int idx = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            idx = putVertex(idx, center.x + cos[i] * radius, center.y + sin[i] * radius, color, u, v);
+            idx = putVertex(idx, center.x + cos[i + 1] * radius, center.y + sin[i + 1] * radius, color, u, v2);
+            idx = putVertex(idx, center.x + cos[i + 1] * outerRadius, center.y + sin[i + 1] * outerRadius, color, u2, v2);
+            idx = putVertex(idx, center.x + cos[i] * outerRadius, center.y + sin[i] * outerRadius, color, u2, v);
         }
-        float lineLen = radius * MathUtils.PI * 2 / pointCount;
-        float angleStep = 360f / pointCount;
-        float angleStepH = angleStep / 2;
-        for (int i = 0; i < pointCount; i++) {
-            float angle = angleStep * i;
-            SolMath.fromAl(position, angle, radius);
-            position.add(center);
-            draw(tex, width, lineLen, (float) 0, (float) 0, position.x, position.y, angle + angleStepH, col);
+        spriteBatch.draw(tex.getTexture(), circleVertices, 0, idx);
+    }
+
+    private static int getCircleLod(float relRad) {
+        // the same density as one segment per 1/160 of the view height, rounded up to a power of two
+        int segmentCount = (int) Math.min(160 * relRad, 1 << MAX_CIRCLE_LOD);
+        int lod = MIN_CIRCLE_LOD;
+        while (lod < MAX_CIRCLE_LOD && (1 << lod) < segmentCount) {
+            lod++;
         }
-        SolMath.free(position);
+        return lod;
+    }
+
+    private int putVertex(int idx, float x, float y, float color, float u, float v) {
+        circleVertices[idx] = x;
+        circleVertices[idx + 1] = y;
+        circleVertices[idx + 2] = color;
+        circleVertices[idx + 3] = u;
+        circleVertices[idx + 4] = v;
+        return idx + 5;
     }
 
     public void drawLine(TextureRegion tex, float x, float y, float angle, float len, Color col, float width) {
@@ -163,7 +244,27 @@ public SpriteBatch getSpriteBatch() {
 
     public void setAdditive(boolean additive) {
         int dstFunc = additive ? GL20.GL_ONE : GL20.GL_ONE_MINUS_SRC_ALPHA;
-        spriteBatch.setBlendFunction(GL20.GL_SRC_ALPHA, dstFunc);
+        if (premultipliedTarget) {
+            // The sprite batch of this libGDX version only sets a single blend function for colour and alpha, so it is
+            // told to leave the blend function alone and the separate one is set after drawing what is queued.
+            spriteBatch.flush();
+            spriteBatch.setBlendFunction(-1, -1);
+            Gdx.gl.glBlendFuncSeparate(GL20.GL_SRC_ALPHA, dstFunc, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        } else {
+            spriteBatch.setBlendFunction(GL20.GL_SRC_ALPHA, dstFunc);
+        }
+    }
+
+    /**
+     * Sets whether drawing goes into a frame buffer that is later drawn with {@link #drawPremultiplied}. Blending then
+     * multiplies the colour by its alpha, as usual, but accumulates the alpha itself as coverage, so that the buffer
+     * holds premultiplied alpha. Otherwise the alpha would be multiplied by itself and the buffer would come out too
+     * transparent. The additive state has to be set again afterwards, see {@link #setAdditive(boolean)}.
+     *
+     * @param premultipliedTarget Whether drawing goes into a frame buffer with premultiplied alpha
+     */
+    public void setPremultipliedTarget(boolean premultipliedTarget) {
+        this.premultipliedTarget = premultipliedTarget;
     }
 
     @Override
@@ -23,7 +23,6 @@
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.ObjectManager;
 import org.destinationsol.game.SolCam;
-import org.destinationsol.game.SolObject;
 import org.destinationsol.game.FactionInfo;
 import org.destinationsol.game.ship.SolShip;
 import org.destinationsol.ui.SolInputManager;
@@ -48,13 +47,10 @@ public void drawFactionNames(SolGame game, UiDrawer uiDrawer, SolInputManager in
         }
         // angle must be zero as the camera angles on planets mess up the text display
         if (isPressed && cam.getAngle() == 0 && !inputManager.isScreenOn(game.getScreens().mapScreen)) {
-            for(SolObject obj: objManager.getObjects()) {
-                if (obj instanceof SolShip) {
-                    SolShip ship = (SolShip) obj;
-                    Vector2 drawPosition = cam.worldToScreen(ship);
-                    uiDrawer.drawString(ship.getFactionName(), drawPosition.x * SolApplication.displayDimensions.getRatio(),
-                            drawPosition.y -.1f, 1, false, Color.valueOf(info.getFactionColors().get(ship.getFactionID()).toString()));
-                }
+            for (SolShip ship : game.getIconSnapshot().getShips()) {
+                Vector2 drawPosition = cam.worldToScreen(ship);
+                uiDrawer.drawString(ship.getFactionName(), drawPosition.x * SolApplication.displayDimensions.getRatio(),
+                        drawPosition.y -.1f, 1, false, Color.valueOf(info.getFactionColors().get(ship.getFactionID()).toString()));
             }
         }
     }
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.TimeUtils;
+import org.destinationsol.common.SolColor;
+import org.destinationsol.game.DebugOptions;
+import org.destinationsol.game.ObjectManager;
+import org.destinationsol.game.SaveManager;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.ui.DebugCollector;
+import org.destinationsol.ui.UiDrawer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Records what went into each of the last {@link #CAPACITY} frames, for finding out where a stutter came from.
+ * <p>
+ * For every frame the time since the previous one, the time spent updating and drawing, the number of simulation
+ * ticks, the number of objects, far objects, visible drawables, physics bodies and contacts, and the time and number of
+ * garbage collections are kept in a ring buffer. The buffer is shown as a graph of frame times when
+ * {@link DebugOptions#TELEMETRY} is on, and is written to a file by the {@code telemetry} console command or, if
+ * {@link DebugOptions#TELEMETRY_SPIKE_MS} is set, after a frame longer than that. Files are written on a background
+ * thread, so that a dump does not cause another spike.
+ * <p>
+ * Frame times are also counted into a histogram of whole milliseconds, which unlike the buffer covers every frame since
+ * it was last reset, for comparing long runs such as the playback of an input recording.
+ */
+public class FrameTelemetry {
+    public static final int CAPACITY = 600;
+    private static final Logger logger = LoggerFactory.getLogger(FrameTelemetry.class);
+    private static final String DUMP_FILE_PREFIX = "telemetry-";
+    private static final String HISTOGRAM_FILE_PREFIX = "telemetry-histogram-";
+    /**
+     * Frames of this many milliseconds or more all go into the last bucket of the histogram.
+     */
+    private static final int HISTOGRAM_MAX_MS = 100;
+    /**
+     * Frames to record after a spike before dumping, so the file shows what followed it as well.
+     */
+    private static final int FRAMES_AFTER_SPIKE = 60;
+    private static final float GRAPH_X = .01f;
+    private static final float GRAPH_Y = .95f;
+    private static final float GRAPH_WIDTH = .6f;
+    private static final float GRAPH_HEIGHT = .12f;
+    private static final float GRAPH_MAX_MS = 50;
+    private static final float TARGET_MS = 1000f / 60;
+    private static final Color GRAPH_OK = new Color(0, 1, 0, .75f);
+    private static final Color GRAPH_SLOW = new Color(1, 1, 0, .75f);
+    private static final Color GRAPH_SPIKE = new Color(1, 0, 0, .75f);
+
+    private final long[] frameNanos;
+    private final long[] updateNanos;
+    private final long[] drawNanos;
+    private final int[] ticks;
+    private final int[] objects;
+    private final int[] farObjects;
+    private final int[] drawables;
+    private final int[] bodies;
+    private final int[] contacts;
+    private final long[] gcMillis;
+    private final int[] gcCounts;
+    private final long[] histogram;
+    private final List<GarbageCollectorMXBean> gcBeans;
+    private ExecutorService dumpExecutor;
+    private int next;
+    private int size;
+    private long frameCount;
+    private long lastFrameStart;
+    private long lastGcMillis;
+    private long lastGcCount;
+    private long spikeDumpFrame = -1;
+    private long lastSpikeFrame = -CAPACITY;
+
+    public FrameTelemetry() {
+        frameNanos = new long[CAPACITY];
+        updateNanos = new long[CAPACITY];
+        drawNanos = new long[CAPACITY];
+        ticks = new int[CAPACITY];
+        objects = new int[CAPACITY];
+        farObjects = new int[CAPACITY];
+        drawables = new int[CAPACITY];
+        bodies = new int[CAPACITY];
+        contacts = new int[CAPACITY];
+        gcMillis = new long[CAPACITY];
+        gcCounts = new int[CAPACITY];
+        histogram = new long[HISTOGRAM_MAX_MS + 1];
+        List<GarbageCollectorMXBean> beans;
+        try {
+            beans = ManagementFactory.getGarbageCollectorMXBeans();
+        } catch (LinkageError e) {
+            // java.lang.management is not there on Android
+            beans = Collections.emptyList();
+        }
+        gcBeans = beans;
+    }
+
+    /**
+     * Records a frame, gathering the counts from the game.
+     *
+     * @param frameStart When the frame started, as given by {@link TimeUtils#nanoTime()}
+     * @param tickCount The number of simulation ticks run in the frame
+     * @param updateTime The time spent running the ticks, in nanoseconds
+     * @param drawTime The time spent drawing, in nanoseconds
+     * @param game The game, or null when in the menus
+     */
+    public void recordFrame(long frameStart, int tickCount, long updateTime, long drawTime, SolGame game) {
+        long frameTime = lastFrameStart == 0 ? 0 : frameStart - lastFrameStart;
+        lastFrameStart = frameStart;
+
+        long gcTime = 0;
+        long gcCount = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) {
+            gcTime += Math.max(bean.getCollectionTime(), 0);
+            gcCount += Math.max(bean.getCollectionCount(), 0);
+        }
+        long gcTimeDelta = frameCount == 0 ? 0 : gcTime - lastGcMillis;
+        int gcCountDelta = frameCount == 0 ? 0 : (int) (gcCount - lastGcCount);
+        lastGcMillis = gcTime;
+        lastGcCount = gcCount;
+
+        if (game == null) {
+            record(frameTime, tickCount, updateTime, drawTime, 0, 0, 0, 0, 0, gcTimeDelta, gcCountDelta);
+        } else {
+            ObjectManager objectManager = game.getObjectManager();
+            World world = objectManager.getWorld();
+            record(frameTime, tickCount, updateTime, drawTime, objectManager.getObjects().size(), objectManager.getFarObjs().size(),
+                    game.getDrawableManager().getVisibleCount(), world.getBodyCount(), world.getContactCount(), gcTimeDelta, gcCountDelta);
+        }
+
+        float spikeMs = DebugOptions.TELEMETRY_SPIKE_MS;
+        if (spikeMs > 0 && frameTime / 1e6f > spikeMs && spikeDumpFrame < 0 && frameCount - lastSpikeFrame >= CAPACITY) {
+            lastSpikeFrame = frameCount;
+            spikeDumpFrame = frameCount + FRAMES_AFTER_SPIKE;
+            logger.info("Frame took {} ms, dumping telemetry", frameTime / 1e6f);
+        }
+        if (spikeDumpFrame >= 0 && frameCount >= spikeDumpFrame) {
+            spikeDumpFrame = -1;
+            dump();
+        }
+    }
+
+    void record(long frameTime, int tickCount, long updateTime, long drawTime, int objectCount, int farObjectCount,
+                int drawableCount, int bodyCount, int contactCount, long gcTime, int gcCount) {
+        frameNanos[next] = frameTime;
+        updateNanos[next] = updateTime;
+        drawNanos[next] = drawTime;
+        ticks[next] = tickCount;
+        objects[next] = objectCount;
+        farObjects[next] = farObjectCount;
+        drawables[next] = drawableCount;
+        bodies[next] = bodyCount;
+        contacts[next] = contactCount;
+        gcMillis[next] = gcTime;
+        gcCounts[next] = gcCount;
+        next = (next + 1) % CAPACITY;
+        size = Math.min(size + 1, CAPACITY);
+        frameCount++;
+        if (frameTime > 0) {
+            histogram[(int) Math.min(frameTime / 1_000_000L, HISTOGRAM_MAX_MS)]++;
+        }
+    }
+
+    /**
+     * Empties the histogram of frame times.
+     */
+    public void resetHistogram() {
+        Arrays.fill(histogram, 0);
+    }
+
+    /**
+     * Returns the number of frames that took a given number of whole milliseconds since the histogram was reset.
+     *
+     * @param ms The milliseconds, the last bucket counting all frames at least that long
+     * @return The number of frames
+     */
+    public long getHistogramCount(int ms) {
+        return histogram[Math.min(ms, HISTOGRAM_MAX_MS)];
+    }
+
+    /**
+     * @return The number of frames in the buffer
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The number of frames recorded so far
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Returns the time between a recorded frame and the one before it.
+     *
+     * @param age How many frames ago the frame was recorded, 0 being the last one, less than {@link #getSize()}
+     * @return The frame time, in nanoseconds
+     */
+    public long getFrameNanos(int age) {
+        return frameNanos[indexOf(age)];
+    }
+
+    /**
+     * Returns the time spent updating and drawing in a recorded frame.
+     *
+     * @param age How many frames ago the frame was recorded, 0 being the last one, less than {@link #getSize()}
+     * @return The time, in nanoseconds
+     */
+    public long getWorkNanos(int age) {
+        int i = indexOf(age);
+        return updateNanos[i] + drawNanos[i];
+    }
+
+    private int indexOf(int age) {
+        if (age < 0 || age >= size) {
+            throw new IndexOutOfBoundsException("No frame recorded " + age + " frames ago");
+        }
+        return (next - 1 - age + CAPACITY) % CAPACITY;
+    }
+
+    /**
+     * Adds the worst and average frame times in the buffer to the debug text.
+     */
+    public void debug() {
+        if (size == 0) {
+            return;
+        }
+        long max = 0;
+        long sum = 0;
+        long gcTime = 0;
+        for (int age = 0; age < size; age++) {
+            int i = indexOf(age);
+            max = Math.max(max, frameNanos[i]);
+            sum += frameNanos[i];
+            gcTime += gcMillis[i];
+        }
+        DebugCollector.debug("Frame ms", String.format(Locale.ROOT, "%.1f avg, %.1f max, %d in GC over %d frames", sum / 1e6f / size, max / 1e6f, gcTime, size));
+    }
+
+    /**
+     * Draws the frame times in the buffer as a bar graph, oldest on the left, with a line at 60 fps.
+     *
+     * @param uiDrawer The drawer to draw with
+     */
+    public void drawGraph(UiDrawer uiDrawer) {
+        float barWidth = GRAPH_WIDTH / CAPACITY;
+        uiDrawer.draw(uiDrawer.whiteTexture, GRAPH_WIDTH, GRAPH_HEIGHT, 0, 0, GRAPH_X, GRAPH_Y - GRAPH_HEIGHT, 0, SolColor.UI_BG);
+        for (int age = 0; age < size; age++) {
+            float ms = getFrameNanos(age) / 1e6f;
+            float height = Math.min(ms / GRAPH_MAX_MS, 1) * GRAPH_HEIGHT;
+            Color color = ms <= TARGET_MS * 1.1f ? GRAPH_OK : ms <= TARGET_MS * 2 ? GRAPH_SLOW : GRAPH_SPIKE;
+            float x = GRAPH_X + GRAPH_WIDTH - (age + 1) * barWidth;
+            uiDrawer.draw(uiDrawer.whiteTexture, barWidth, height, 0, 0, x, GRAPH_Y - height, 0, color);
+        }
+        float targetY = GRAPH_Y - TARGET_MS / GRAPH_MAX_MS * GRAPH_HEIGHT;
+        uiDrawer.draw(uiDrawer.whiteTexture, GRAPH_WIDTH, .001f, 0, 0, GRAPH_X, targetY, 0, SolColor.WHITE);
+    }
+
+    /**
+     * Writes the buffer, oldest frame first, to a CSV file next to the saves. The file is written on a background
+     * thread.
+     */
+    public void dump() {
+        if (size == 0) {
+            return;
+        }
+        StringBuilder csv = new StringBuilder("frame,frameMs,updateMs,drawMs,ticks,objects,farObjects,drawables,bodies,contacts,gcMs,gcCount\n");
+        for (int age = size - 1; age >= 0; age--) {
+            int i = indexOf(age);
+            csv.append(frameCount - 1 - age).append(',')
+                    .append(frameNanos[i] / 1e6f).append(',')
+                    .append(updateNanos[i] / 1e6f).append(',')
+                    .append(drawNanos[i] / 1e6f).append(',')
+                    .append(ticks[i]).append(',')
+                    .append(objects[i]).append(',')
+                    .append(farObjects[i]).append(',')
+                    .append(drawables[i]).append(',')
+                    .append(bodies[i]).append(',')
+                    .append(contacts[i]).append(',')
+                    .append(gcMillis[i]).append(',')
+                    .append(gcCounts[i]).append('\n');
+        }
+        writeInBackground(DUMP_FILE_PREFIX, csv.toString());
+    }
+
+    /**
+     * Writes the histogram of frame times to a CSV file next to the saves. The file is written on a background thread.
+     */
+    public void dumpHistogram() {
+        StringBuilder csv = new StringBuilder("frameMs,frames\n");
+        for (int ms = 0; ms <= HISTOGRAM_MAX_MS; ms++) {
+            csv.append(ms).append(ms == HISTOGRAM_MAX_MS ? "+" : "").append(',').append(histogram[ms]).append('\n');
+        }
+        writeInBackground(HISTOGRAM_FILE_PREFIX, csv.toString());
+    }
+
+    private void writeInBackground(String prefix, String contents) {
+        String fileName = SaveManager.getResourcePath(prefix + System.currentTimeMillis() + ".csv");
+        if (dumpExecutor == null) {
+            dumpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "FrameTelemetry");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        dumpExecutor.execute(() -> write(fileName, contents));
+    }
+
+    private static void write(String fileName, String contents) {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
+            writer.write(contents);
+            logger.info("Telemetry written to {}", fileName);
+        } catch (IOException e) {
+            logger.error("Could not write telemetry to " + fileName, e);
+        }
+    }
+}
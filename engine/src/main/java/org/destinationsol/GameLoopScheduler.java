@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Decides how many fixed simulation ticks to run in each rendered frame and paces frames to a target rate.
+ * <p>
+ * Real time is accumulated and consumed in steps of {@link Const#REAL_TIME_STEP}. After a long hitch (a GC pause,
+ * a chunk being filled, the window being dragged) at most {@link #MAX_CATCH_UP_TICKS} ticks are run in a single
+ * frame and the remaining time is dropped, so one stall cannot snowball into a series of ever longer frames. The time
+ * left in the accumulator after the ticks is exposed as {@link #getInterpolationAlpha()}, for drawing state between
+ * the last two ticks.
+ */
+public class GameLoopScheduler {
+    public static final int MAX_CATCH_UP_TICKS = 5;
+    /**
+     * Time before the end of the frame at which to stop sleeping and start yielding, as sleep tends to overshoot.
+     */
+    private static final long SLEEP_MARGIN_NANOS = 2_000_000L;
+
+    private final float tickTime;
+    private final long targetFrameNanos;
+    private float accumulator;
+    private long frameStart;
+    private long caughtUpTicks;
+    private long droppedTicks;
+
+    /**
+     * @param tickTime length of a simulation tick, in seconds
+     * @param targetFrameTime desired length of a frame, in seconds, or 0 not to limit the frame rate
+     */
+    public GameLoopScheduler(float tickTime, float targetFrameTime) {
+        this.tickTime = tickTime;
+        targetFrameNanos = (long) (targetFrameTime * 1e9);
+    }
+
+    /**
+     * Marks the start of a frame and returns the number of simulation ticks to run in it.
+     *
+     * @return The number of ticks to run, at most {@link #MAX_CATCH_UP_TICKS}
+     */
+    public int beginFrame() {
+        return beginFrame(TimeUtils.nanoTime());
+    }
+
+    int beginFrame(long now) {
+        if (frameStart != 0) {
+            accumulator += (now - frameStart) / 1e9f;
+        }
+        frameStart = now;
+
+        int ticks = (int) (accumulator / tickTime);
+        accumulator -= ticks * tickTime;
+        if (ticks > MAX_CATCH_UP_TICKS) {
+            droppedTicks += ticks - MAX_CATCH_UP_TICKS;
+            ticks = MAX_CATCH_UP_TICKS;
+        }
+        if (ticks > 1) {
+            caughtUpTicks += ticks - 1;
+        }
+        return ticks;
+    }
+
+    /**
+     * Waits until the frame started by {@link #beginFrame()} has lasted the target frame time. Sleeps for most of the
+     * wait and yields for the last moment, which is considerably more precise than sleeping alone.
+     */
+    public void endFrame() {
+        if (targetFrameNanos <= 0) {
+            return;
+        }
+        long deadline = frameStart + targetFrameNanos;
+        long remaining = deadline - TimeUtils.nanoTime();
+        if (remaining > SLEEP_MARGIN_NANOS) {
+            try {
+                Thread.sleep((remaining - SLEEP_MARGIN_NANOS) / 1_000_000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        while (TimeUtils.nanoTime() < deadline) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Returns how far real time has advanced past the last simulation tick, as a fraction of a tick.
+     *
+     * @return A value in [0, 1) to interpolate drawn state between the last two ticks with
+     */
+    public float getInterpolationAlpha() {
+        return accumulator / tickTime;
+    }
+
+    /**
+     * Returns the number of ticks run in addition to the first in a frame, in total, because the loop was behind.
+     *
+     * @return The number of caught up ticks since the game started
+     */
+    public long getCaughtUpTicks() {
+        return caughtUpTicks;
+    }
+
+    /**
+     * Returns the number of ticks skipped, in total, because they exceeded {@link #MAX_CATCH_UP_TICKS} in one frame.
+     *
+     * @return The number of dropped ticks since the game started
+     */
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+}
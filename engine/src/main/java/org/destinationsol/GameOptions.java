@@ -133,6 +133,10 @@ public Volume advance() {
     public Volume sfxVolume;
     public Volume musicVolume;
     public boolean canSellEquippedItems;
+    /**
+     * How many background stars to draw, relative to the default number.
+     */
+    public float starDensity;
     private String keyUpMouseName;
     private String keyDownMouseName;
     private String keyUpName;
@@ -215,6 +219,7 @@ public GameOptions(boolean mobile, SolFileReader solFileReader) {
         controllerButtonUp = reader.getInt("controllerButtonUp", DEFAULT_BUTTON_UP);
         controllerButtonDown = reader.getInt("controllerButtonDown", DEFAULT_BUTTON_DOWN);
         canSellEquippedItems = reader.getBoolean("canSellEquippedItems", false);
+        starDensity = reader.getFloat("starDensity", 1);
     }
 
     public void advanceResolution() {
@@ -256,6 +261,7 @@ public void advanceMusicVolMul() {
     public void save() {
         IniReader.write(FILE_NAME, "x", x, "y", y, "fullscreen", fullscreen, "controlType", controlType,
                 "sfxVolume", sfxVolume, "musicVolume", musicVolume, "canSellEquippedItems", canSellEquippedItems,
+                "starDensity", starDensity,
                 "keyUpMouse", getKeyUpMouseName(), "keyDownMouse", getKeyDownMouseName(), "keyUp", getKeyUpName(), "keyDown", keyDownName,
                 "keyLeft", keyLeftName, "keyRight", keyRightName, "keyShoot", keyShootName, "keyShoot2", getKeyShoot2Name(),
                 "keyAbility", getKeyAbilityName(), "keyEscape", getKeyEscapeName(), "keyMap", keyMapName, "keyInventory", keyInventoryName,
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the {@link GlyphLayout layouts} of recently drawn strings, so that text drawn every frame without changing, like
+ * HUD labels and names, is only laid out once.
+ * <p>
+ * Layouts are keyed by the string, font size and colour they were laid out with, the colour being baked into the glyph
+ * runs. The least recently drawn layout is dropped once the cache is full, and reused for the next string laid out.
+ */
+class GlyphLayoutCache {
+    private final BitmapFont font;
+    private final Map<Key, GlyphLayout> layouts;
+    private final Key lookupKey;
+    private GlyphLayout spare;
+
+    GlyphLayoutCache(BitmapFont font, int capacity) {
+        this.font = font;
+        lookupKey = new Key();
+        layouts = new LinkedHashMap<Key, GlyphLayout>(capacity * 4 / 3 + 1, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, GlyphLayout> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                spare = eldest.getValue();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the layout of a string, laying it out if it is not cached. The font should already be scaled to the font
+     * size and set to the colour.
+     *
+     * @param s The string
+     * @param fontSize The font size the font is scaled to
+     * @param col The colour the font is set to
+     * @return The layout, which is only valid until the next call
+     */
+    GlyphLayout get(String s, float fontSize, Color col) {
+        int colorBits = col.toIntBits();
+        lookupKey.set(s, fontSize, colorBits);
+        GlyphLayout layout = layouts.get(lookupKey);
+        if (layout == null) {
+            layout = spare == null ? new GlyphLayout() : spare;
+            spare = null;
+            layout.setText(font, s);
+            layouts.put(new Key().set(s, fontSize, colorBits), layout);
+        }
+        return layout;
+    }
+
+    int size() {
+        return layouts.size();
+    }
+
+    private static class Key {
+        private String text;
+        private float fontSize;
+        private int colorBits;
+
+        Key set(String text, float fontSize, int colorBits) {
+            this.text = text;
+            this.fontSize = fontSize;
+            this.colorBits = colorBits;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return colorBits == other.colorBits && Float.compare(fontSize, other.fontSize) == 0 && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return (text.hashCode() * 31 + Float.floatToIntBits(fontSize)) * 31 + colorBits;
+        }
+    }
+}
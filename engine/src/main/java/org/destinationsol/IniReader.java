@@ -52,6 +52,19 @@ public IniReader(BufferedReader reader) {
     }
 
     public static void write(String fileName, Object... keysVals) {
+        String path = SaveManager.getResourcePath(fileName);
+
+        FileHandle file = new FileHandle(Paths.get(path).toFile());
+        file.writeString(format(keysVals), false);
+    }
+
+    /**
+     * Formats the given keys and values as the contents of an ini file.
+     *
+     * @param keysVals Alternating keys and values
+     * @return The ini file contents
+     */
+    public static String format(Object... keysVals) {
         boolean second = false;
         StringBuilder stringBuilder = new StringBuilder();
         for (Object value : keysVals) {
@@ -59,11 +72,7 @@ public static void write(String fileName, Object... keysVals) {
             stringBuilder.append(second ? '\n' : '=');
             second = !second;
         }
-
-        String path = SaveManager.getResourcePath(fileName);
-
-        FileHandle file = new FileHandle(Paths.get(path).toFile());
-        file.writeString(stringBuilder.toString(), false);
+        return stringBuilder.toString();
     }
 
     private void initValueMap(List<String> lines) {
@@ -20,18 +20,22 @@
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.utils.TimeUtils;
 import org.destinationsol.assets.audio.OggMusicManager;
 import org.destinationsol.assets.audio.OggSoundManager;
 import org.destinationsol.common.SolColor;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.Console;
 import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.FactionInfo;
+import org.destinationsol.game.PhysicsStepper;
 import org.destinationsol.game.SaveManager;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.WorldConfig;
 import org.destinationsol.game.context.Context;
 import org.destinationsol.game.context.internal.ContextImpl;
+import org.destinationsol.game.input.InputRecording;
 import org.destinationsol.menu.MenuScreens;
 import org.destinationsol.modules.ModuleManager;
 import org.destinationsol.ui.DebugCollector;
@@ -45,6 +49,7 @@
 import org.slf4j.LoggerFactory;
 import org.terasology.module.sandbox.API;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.HashSet;
@@ -53,8 +58,10 @@
 @API
 public class SolApplication implements ApplicationListener {
     private static final Logger logger = LoggerFactory.getLogger(SolApplication.class);
+    private static final String INPUT_RECORDING_PREFIX = "inputRecording-";
 
-    private final float targetFPS;
+    private final GameLoopScheduler gameLoopScheduler;
+    private final FrameTelemetry frameTelemetry;
 
     @SuppressWarnings("FieldCanBeLocal")
     private ModuleManager moduleManager;
@@ -73,13 +80,13 @@ public class SolApplication implements ApplicationListener {
     private String fatalErrorMsg;
     private String fatalErrorTrace;
     private SolGame solGame;
+    private InputRecording inputRecording;
     private Context context;
 
     private WorldConfig worldConfig;
     // TODO: Make this non-static.
     public static DisplayDimensions displayDimensions;
 
-    private float timeAccumulator = 0;
     private boolean isMobile;
 
     // TODO: Make this non-static.
@@ -89,7 +96,8 @@ public SolApplication(ModuleManager moduleManager, float targetFPS) {
         // Initiate Box2D to make sure natives are loaded early enough
         Box2D.init();
         this.moduleManager = moduleManager;
-        this.targetFPS = 1.0f / targetFPS;
+        gameLoopScheduler = new GameLoopScheduler(Const.REAL_TIME_STEP, 1.0f / targetFPS);
+        frameTelemetry = new FrameTelemetry();
         resizeSubscribers = new HashSet<>();
     }
 
@@ -132,21 +140,12 @@ public void resize(int newWidth, int newHeight) {
     }
 
     public void render() {
-        timeAccumulator += Gdx.graphics.getDeltaTime();
-
-        while (timeAccumulator > Const.REAL_TIME_STEP) {
+        long frameStart = TimeUtils.nanoTime();
+        int ticks = gameLoopScheduler.beginFrame();
+        for (int i = 0; i < ticks; i++) {
             safeUpdate();
-            timeAccumulator -= Const.REAL_TIME_STEP;
-        }
-
-        //HACK: A crude and primitive frame-limiter...
-        try {
-            if (Gdx.graphics.getDeltaTime() < targetFPS) {
-                Thread.sleep((long) ((targetFPS - Gdx.graphics.getDeltaTime()) * 1000) * 2);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
+        long updateEnd = TimeUtils.nanoTime();
 
         try {
             draw();
@@ -162,6 +161,11 @@ public void render() {
                 throw t;
             }
         }
+
+        if (DebugOptions.TELEMETRY || isReplaying()) {
+            frameTelemetry.recordFrame(frameStart, ticks, updateEnd - frameStart, TimeUtils.nanoTime() - updateEnd, solGame);
+        }
+        gameLoopScheduler.endFrame();
     }
 
     @Override
@@ -198,12 +202,27 @@ private void update() {
 
         if (DebugOptions.SHOW_FPS) {
             DebugCollector.debug("Fps", Gdx.graphics.getFramesPerSecond());
+            DebugCollector.debug("Caught up ticks", String.valueOf(gameLoopScheduler.getCaughtUpTicks()));
+            DebugCollector.debug("Dropped ticks", String.valueOf(gameLoopScheduler.getDroppedTicks()));
+            if (solGame != null) {
+                PhysicsStepper physicsStepper = solGame.getObjectManager().getPhysicsStepper();
+                DebugCollector.debug("Physics iterations", physicsStepper.getVelocityIterations() + "/" + physicsStepper.getPositionIterations());
+            }
+        }
+        if (DebugOptions.TELEMETRY) {
+            frameTelemetry.debug();
         }
 
         inputManager.update(this);
 
         if (solGame != null) {
             solGame.update();
+            if (isReplaying() && inputRecording.isFinished(solGame.getTick())) {
+                logger.info("Input playback finished after {} ticks, writing frame telemetry", solGame.getTick());
+                frameTelemetry.dump();
+                frameTelemetry.dumpHistogram();
+                finishGame();
+            }
         }
 
         SolMath.checkVectorsTaken(null);
@@ -227,6 +246,9 @@ private void draw() {
             uiDrawer.drawString(fatalErrorTrace, .2f * displayDimensions.getRatio(), .6f, FontSize.DEBUG, false, SolColor.WHITE);
         }
         DebugCollector.draw(uiDrawer);
+        if (DebugOptions.TELEMETRY) {
+            frameTelemetry.drawGraph(uiDrawer);
+        }
         if (solGame == null) {
             uiDrawer.drawString("v" + Const.VERSION, 0.01f, .974f, FontSize.DEBUG, UiDrawer.TextAlignment.LEFT, false, SolColor.WHITE);
         }
@@ -248,11 +270,24 @@ public void play(boolean tut, String shipName, boolean isNewGame) {
         } else {
             beforeLoadGame();
         }
+        inputRecording = isNewGame && !tut ? createInputRecording(shipName) : null;
+        if (isReplaying()) {
+            shipName = inputRecording.getShipName();
+            frameTelemetry.resetHistogram();
+        }
 
         FactionInfo factionInfo = new FactionInfo();
         solGame = new SolGame(shipName, tut, isNewGame, commonDrawer, context, worldConfig);
         factionDisplay = new FactionDisplay(solGame, factionInfo);
         inputManager.setScreen(this, solGame.getScreens().mainGameScreen);
+        Console.getInstance().getDefaultInputHandler().registerOrReplaceCommand("telemetry", (input, console) -> {
+            if (frameTelemetry.getSize() == 0) {
+                console.println("No frames recorded, set telemetry=true in debugOptions.ini");
+                return;
+            }
+            frameTelemetry.dump();
+            console.println("Writing the last " + frameTelemetry.getSize() + " frames of telemetry");
+        });
     }
 
     public SolInputManager getInputManager() {
@@ -268,11 +303,31 @@ public void dispose() {
 
         if (solGame != null) {
             solGame.onGameEnd();
+            endInputRecording();
         }
 
         inputManager.dispose();
     }
 
+    /**
+     * Returns how far the current frame is past the last simulation tick, as a fraction of a tick.
+     *
+     * @return A value in [0, 1) to interpolate drawn state between the last two ticks with
+     */
+    public float getInterpolationAlpha() {
+        return gameLoopScheduler.getInterpolationAlpha();
+    }
+
+    /**
+     * Returns the recording of the hero's inputs in the current game, see {@link DebugOptions#RECORD_INPUT} and
+     * {@link DebugOptions#REPLAY_INPUT}.
+     *
+     * @return The recording being made or played back, or null if there is none
+     */
+    public InputRecording getInputRecording() {
+        return inputRecording;
+    }
+
     public SolGame getGame() {
         return solGame;
     }
@@ -283,6 +338,7 @@ public SolLayouts getLayouts() {
 
     public void finishGame() {
         solGame.onGameEnd();
+        endInputRecording();
         solGame = null;
         inputManager.setScreen(this, menuScreens.main);
     }
@@ -327,6 +383,54 @@ private void beforeLoadGame() {
         }
     }
 
+    private boolean isReplaying() {
+        return inputRecording != null && inputRecording.isReplay();
+    }
+
+    /**
+     * Reads the recording to play back in a new game, making the world the same as the recorded one, or starts a new
+     * recording.
+     */
+    private InputRecording createInputRecording(String shipName) {
+        if (!DebugOptions.REPLAY_INPUT.isEmpty()) {
+            String fileName = SaveManager.getResourcePath(DebugOptions.REPLAY_INPUT);
+            try {
+                InputRecording replay = InputRecording.read(fileName);
+                worldConfig.setSeed(replay.getSeed());
+                worldConfig.setNumberOfSystems(replay.getNumberOfSystems());
+                SolRandom.setSeed(worldConfig.getSeed());
+                SolRandom.setRandomSeed(replay.getRandomSeed());
+                logger.info("Playing back input up to tick {} from {}", replay.getEndTick(), fileName);
+                return replay;
+            } catch (IOException e) {
+                logger.error("Could not read the input recording " + fileName, e);
+            }
+        }
+        if (DebugOptions.RECORD_INPUT) {
+            long randomSeed = SolRandom.getRandom().nextLong();
+            SolRandom.setRandomSeed(randomSeed);
+            return new InputRecording(worldConfig.getSeed(), randomSeed, worldConfig.getNumberOfSystems(), shipName,
+                    options.controlType == GameOptions.ControlType.MOUSE);
+        }
+        return null;
+    }
+
+    private void endInputRecording() {
+        if (inputRecording != null && !inputRecording.isReplay()) {
+            String fileName = SaveManager.getResourcePath(INPUT_RECORDING_PREFIX + System.currentTimeMillis() + ".bin");
+            try {
+                inputRecording.write(fileName);
+                logger.info("Recorded input up to tick {} to {}", inputRecording.getEndTick(), fileName);
+            } catch (IOException e) {
+                logger.error("Could not write the input recording " + fileName, e);
+            }
+        }
+        if (inputRecording != null) {
+            SolRandom.resetRandomSeed();
+        }
+        inputRecording = null;
+    }
+
     // TODO: Make this non-static.
     public static void addResizeSubscriber(ResizeSubscriber resizeSubscriber) {
         resizeSubscribers.add(resizeSubscriber);
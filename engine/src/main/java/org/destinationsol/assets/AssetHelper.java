@@ -28,6 +28,7 @@
 import org.destinationsol.assets.textures.DSTexture;
 import org.destinationsol.assets.textures.DSTextureFileFormat;
 import org.destinationsol.game.DebugOptions;
+import org.destinationsol.profiling.EngineEvents;
 import org.terasology.assets.Asset;
 import org.terasology.assets.AssetData;
 import org.terasology.assets.ResourceUrn;
@@ -70,7 +71,12 @@ public AssetHelper(ModuleEnvironment environment) {
     }
 
     public <T extends Asset<U>, U extends AssetData> Optional<T> get(ResourceUrn urn, Class<T> type) {
-        return assetTypeManager.getAssetManager().getAsset(urn, type);
+        EngineEvents.AssetLoad event = EngineEvents.beginAssetLoad();
+        Optional<T> asset = assetTypeManager.getAssetManager().getAsset(urn, type);
+        if (event != null) {
+            event.commit(urn.toString(), type.getSimpleName(), asset.isPresent());
+        }
+        return asset;
     }
 
     public Set<ResourceUrn> list(Class<? extends Asset<?>> type) {
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.common;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A sequence of random numbers that remembers the seed it started from, so that independent sequences can be derived
+ * from it.
+ * <p>
+ * {@link #derive(long...)} gives a sequence that depends only on the seed of this one and the given keys, such as the
+ * index of a system, the coordinates of a chunk or the id of an object. Content generated from derived sequences comes
+ * out the same whatever else was generated before it and on whichever thread it is generated. {@link #split()} gives a
+ * sequence that depends on how far this one has got, for handing over to a task that runs next to the current one.
+ * <p>
+ * A stream draws the same numbers as a {@link Random} created with the same seed. It should only be used by one thread
+ * at a time.
+ */
+public class RandomStream extends Random {
+    private final long seed;
+
+    public RandomStream(long seed) {
+        super(seed);
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the seed this stream started from.
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Creates a stream that only depends on the seed of this stream and the given keys, not on how many numbers have
+     * been drawn from this one.
+     *
+     * @param keys Values identifying the content the stream is for, usually the kind of content followed by its index,
+     *             chunk coordinates or object id
+     * @return The derived stream
+     */
+    public RandomStream derive(long... keys) {
+        return new RandomStream(deriveSeed(seed, keys));
+    }
+
+    /**
+     * Creates a stream seeded by the next number of this stream.
+     *
+     * @return The new stream
+     */
+    public RandomStream split() {
+        return new RandomStream(mix(nextLong()));
+    }
+
+    /**
+     * Returns a random float v such that -minMax <= v < minMax
+     *
+     * @param minMax The upper bound (exclusive) for magnitude of the generated number. Must be positive.
+     */
+    public float randomFloat(float minMax) {
+        return randomFloat(-minMax, minMax);
+    }
+
+    /**
+     * Returns a random float v such that min <= v < max.
+     *
+     * @param min The lower bound (inclusive) for magnitude of the generated number.
+     * @param max The upper bound (exclusive) for magnitude of the generated number.
+     */
+    public float randomFloat(float min, float max) {
+        return nextFloat() * (max - min) + min;
+    }
+
+    /**
+     * Returns a random int v such that 0 <= v < max.
+     *
+     * @param max The upper bound (exclusive) for magnitude of the generated number. Must be positive.
+     */
+    public int randomInt(int max) {
+        return randomInt(0, max);
+    }
+
+    /**
+     * Returns a random int v such that min <= v < max.
+     *
+     * @param min The lower bound (inclusive) for magnitude of the generated number.
+     * @param max The upper bound (exclusive) for magnitude of the generated number.
+     */
+    public int randomInt(int min, int max) {
+        return nextInt(max - min) + min;
+    }
+
+    /**
+     * Selects a random element from a list.
+     *
+     * @param list The list to select the element from
+     * @return The randomly selected element
+     */
+    public <T> T randomElement(List<T> list) {
+        return list.get(randomInt(list.size()));
+    }
+
+    /**
+     * Returns a random boolean value with unequal probabilities.
+     *
+     * @param value the probability of returning true, in a [0;1] interval.
+     */
+    public boolean test(float value) {
+        return nextFloat() < value;
+    }
+
+    static long deriveSeed(long seed, long... keys) {
+        long result = mix(seed);
+        for (long key : keys) {
+            result = mix(result ^ key);
+        }
+        return result;
+    }
+
+    // SplitMix64 finalizer, so that nearby keys give unrelated seeds
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
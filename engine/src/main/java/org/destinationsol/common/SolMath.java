@@ -19,7 +19,6 @@
 import com.badlogic.gdx.math.Vector2;
 import org.json.JSONArray;
 import org.json.JSONObject;
-import com.badlogic.gdx.utils.Pool;
 import org.destinationsol.Const;
 
 import java.util.ArrayList;
@@ -30,21 +29,6 @@
  */
 public class SolMath {
 
-    /**
-     * Stores {@link Vector2 vectors} used for borrowing, see {@link #getVec()} for more info.
-     */
-    private static Pool<Vector2> vectorPool = new Pool<Vector2>() {
-        @Override
-        protected Vector2 newObject() {
-            return new Vector2();
-        }
-    };
-
-    /**
-     * Represents the amount of {@link Vector2 vectors} currently borrowed by {@link #getVec()}.
-     */
-    private static int vectorsTaken;
-
     /**
      * Converts boolean to integer, where {@code true} equals {@code 1} and {@code false} equals {@code -1}.
      *
@@ -170,10 +154,7 @@ public static Vector2 getVec(Vector2 src) {
      */
     @Bound
     public static Vector2 getVec(float x, float y) {
-        vectorsTaken++;
-        Vector2 v = vectorPool.obtain();
-        v.set(x, y);
-        return v;
+        return VectorArena.get().obtain(x, y);
     }
 
     /**
@@ -182,8 +163,7 @@ public static Vector2 getVec(float x, float y) {
      * @param v Vector to free.
      */
     public static void free(Vector2 v) {
-        vectorsTaken--;
-        vectorPool.free(v);
+        VectorArena.get().free(v);
     }
 
     /**
@@ -197,15 +177,13 @@ public static Vector2 getVec() {
     }
 
     /**
-     * Check that an object has returned all the vectors he has borrowed.
+     * Check that an object has returned all the vectors he has borrowed on the current thread.
      *
      * @param o Object to blame upon the not returning of vectors.
      * @throws AssertionError When not all of the vectors were returned
      */
     public static void checkVectorsTaken(Object o) {
-        if (SolMath.vectorsTaken != 0) {
-            throw new AssertionError("vectors " + SolMath.vectorsTaken + ", blame on " + o);
-        }
+        VectorArena.get().checkTaken(o);
     }
 
     /**
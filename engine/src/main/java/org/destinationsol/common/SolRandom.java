@@ -18,14 +18,26 @@
 import com.badlogic.gdx.Gdx;
 
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+/**
+ * Static access to the random numbers used throughout the game.
+ * <p>
+ * The seeded methods draw from the world stream, started from the world seed, unless the current thread is running a
+ * generator with a stream of its own (see {@link #withSeededRandom(RandomStream, Supplier)}). Streams for independent
+ * pieces of content can be derived from {@link #getWorldStream()}. The unseeded methods are for cosmetic randomness
+ * and draw from a stream of the current thread, so any thread can use them without contention.
+ */
 public class SolRandom {
     // Seeded random is for deterministic processes
-    private static long seed;
-    private static Random seededRandom = new Random(seed);
-    
-    private static Random random = new Random();
+    private static RandomStream seededRandom = new RandomStream(0);
+    // Replaces seededRandom on a thread that generates content with its own stream, see withSeededRandom
+    private static final ThreadLocal<RandomStream> localSeededRandom = new ThreadLocal<>();
+
+    private static final AtomicLong unseededSeeds = new AtomicLong(System.nanoTime());
+    private static final ThreadLocal<RandomStream> random =
+            ThreadLocal.withInitial(() -> new RandomStream(RandomStream.mix(unseededSeeds.getAndIncrement())));
     
     /**
      * Returns a seeded random float v such that -minMax <= v < minMax
@@ -52,7 +64,7 @@ public static float seededRandomFloat(float min, float max) {
     
             return max;
         }
-        return seededRandom.nextFloat() * (max - min) + min;
+        return getSeededRandom().randomFloat(min, max);
     }
 
     /**
@@ -75,7 +87,7 @@ public static int seededRandomInt(float percentage, int max) {
         if (min == max) {
             throw new AssertionError("seededRandomInt min equals max " + min);
         }
-        return seededRandom.nextInt(max - min) + min;
+        return getSeededRandom().randomInt(min, max);
     }
 
     /**
@@ -85,7 +97,7 @@ public static int seededRandomInt(float percentage, int max) {
      * @param max The upper bound (exclusive) for magnitude of the generated number.
      */
     public static int seededRandomInt(int min, int max) {
-        return seededRandom.nextInt(max - min) + min;
+        return getSeededRandom().randomInt(min, max);
     }
     
     /**
@@ -114,7 +126,7 @@ public static float randomFloat(float min, float max) {
     
             return result;
         }
-        return random.nextFloat() * (max - min) + min;
+        return random.get().randomFloat(min, max);
     }
 
     /**
@@ -137,14 +149,14 @@ public static int randomInt(float percentage, int max) {
         if (min == max) {
             throw new AssertionError("randomInt min equals max " + min);
         }
-        return random.nextInt(max - min) + min;
+        return random.get().randomInt(min, max);
     }
 
     /**
      * Returns a random int v such that min <= v <= max
      */
     public static int randomInt(int min, int max) {
-        return random.nextInt(max - min) + min;
+        return random.get().randomInt(min, max);
     }
 
     /**
@@ -172,8 +184,77 @@ public static <T> T seededRandomElement(List<T> list) {
     }
 
     public static void setSeed(long seed) {
-        SolRandom.seed = seed; 
-        seededRandom = new Random(seed);
+        seededRandom = new RandomStream(seed);
+    }
+
+    /**
+     * Returns the stream started from the world seed, for deriving the streams of independent pieces of content from.
+     * It is also what the seeded methods draw from, so what it gives directly depends on everything drawn before.
+     *
+     * @return The world stream
+     */
+    public static RandomStream getWorldStream() {
+        return seededRandom;
+    }
+
+    /**
+     * Runs a generator with the seeded methods drawing from the given stream instead of the world stream, on the
+     * current thread only. This lets several threads generate seeded content at once, each from its own stream,
+     * without the result depending on how their work is interleaved.
+     *
+     * @param stream The stream to draw from, usually derived from {@link #getWorldStream()}
+     * @param generator The generator to run
+     * @return The result of the generator
+     */
+    public static <T> T withSeededRandom(RandomStream stream, Supplier<T> generator) {
+        RandomStream previous = localSeededRandom.get();
+        localSeededRandom.set(stream);
+        try {
+            return generator.get();
+        } finally {
+            if (previous == null) {
+                localSeededRandom.remove();
+            } else {
+                localSeededRandom.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns the stream the seeded methods draw from on the current thread.
+     *
+     * @return The current seeded stream
+     */
+    public static RandomStream getSeededRandom() {
+        RandomStream local = localSeededRandom.get();
+        return local == null ? seededRandom : local;
+    }
+
+    /**
+     * Returns the unseeded stream of the current thread.
+     *
+     * @return The unseeded stream
+     */
+    public static RandomStream getRandom() {
+        return random.get();
+    }
+
+    /**
+     * Restarts the unseeded stream of the current thread from the given seed, so that the cosmetic and gameplay
+     * randomness drawn on this thread repeats. Used to play a recorded game back the same way.
+     *
+     * @param seed The seed to restart the stream from
+     */
+    public static void setRandomSeed(long seed) {
+        random.set(new RandomStream(seed));
+    }
+
+    /**
+     * Replaces the unseeded stream of the current thread, restarted by {@link #setRandomSeed(long)}, with a fresh one
+     * that is not repeatable.
+     */
+    public static void resetRandomSeed() {
+        random.remove();
     }
 
     /**
@@ -182,7 +263,7 @@ public static void setSeed(long seed) {
      * @return The seed from currently in use seeded Random object
      */
     public static long getSeed() {
-        return seed;
+        return seededRandom.getSeed();
     }
 
     /**
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.common;
+
+import com.badlogic.gdx.math.Vector2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A sparse uniform grid of round, non-moving items, for finding the items near a position without looking at all of them.
+ * <p>
+ * Items are bucketed by the cell their centre falls into. The cell size should be around the diameter of the largest
+ * items, so that a query only has to look at a few cells.
+ *
+ * @param <T> The type of the items
+ */
+public class SpatialGrid<T> {
+    private final float cellSize;
+    private final Map<Long, List<Entry<T>>> cells;
+    private float maxRadius;
+    private int minCellX = Integer.MAX_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+    private int size;
+
+    public SpatialGrid(float cellSize) {
+        this.cellSize = cellSize;
+        cells = new HashMap<>();
+    }
+
+    /**
+     * Adds an item to the grid.
+     *
+     * @param item The item to add
+     * @param position The centre of the item. It is copied, so the item should not move afterwards.
+     * @param radius The radius of the item
+     */
+    public void add(T item, Vector2 position, float radius) {
+        int cellX = toCell(position.x);
+        int cellY = toCell(position.y);
+        cells.computeIfAbsent(key(cellX, cellY), k -> new ArrayList<>()).add(new Entry<>(item, new Vector2(position), radius));
+        maxRadius = Math.max(maxRadius, radius);
+        minCellX = Math.min(minCellX, cellX);
+        minCellY = Math.min(minCellY, cellY);
+        maxCellX = Math.max(maxCellX, cellX);
+        maxCellY = Math.max(maxCellY, cellY);
+        size++;
+    }
+
+    public void clear() {
+        cells.clear();
+        maxRadius = 0;
+        minCellX = Integer.MAX_VALUE;
+        minCellY = Integer.MAX_VALUE;
+        maxCellX = Integer.MIN_VALUE;
+        maxCellY = Integer.MIN_VALUE;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the radius of the largest item in the grid.
+     *
+     * @return The largest radius
+     */
+    public float getMaxRadius() {
+        return maxRadius;
+    }
+
+    /**
+     * Checks whether a circle overlaps any item, that is whether it is closer to the centre of some item than the sum of
+     * their radii.
+     *
+     * @param position The centre of the circle
+     * @param radius The radius of the circle
+     * @return true if the circle overlaps an item
+     */
+    public boolean overlaps(Vector2 position, float radius) {
+        float reach = radius + maxRadius;
+        int fromX = toCell(position.x - reach);
+        int toX = toCell(position.x + reach);
+        int fromY = toCell(position.y - reach);
+        int toY = toCell(position.y + reach);
+        for (int x = Math.max(fromX, minCellX); x <= Math.min(toX, maxCellX); x++) {
+            for (int y = Math.max(fromY, minCellY); y <= Math.min(toY, maxCellY); y++) {
+                List<Entry<T>> cell = cells.get(key(x, y));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0, sz = cell.size(); i < sz; i++) {
+                    Entry<T> entry = cell.get(i);
+                    if (entry.position.dst(position) < entry.radius + radius) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds every item whose centre is within the given distance of a position, and possibly a few more that are
+     * slightly further away, to a list.
+     *
+     * @param position The position to look around
+     * @param distance The distance to look within
+     * @param result The list to add the items to
+     */
+    public void getNear(Vector2 position, float distance, List<T> result) {
+        int fromX = Math.max(toCell(position.x - distance), minCellX);
+        int toX = Math.min(toCell(position.x + distance), maxCellX);
+        int fromY = Math.max(toCell(position.y - distance), minCellY);
+        int toY = Math.min(toCell(position.y + distance), maxCellY);
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                List<Entry<T>> cell = cells.get(key(x, y));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0, sz = cell.size(); i < sz; i++) {
+                    result.add(cell.get(i).item);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the item with the centre nearest to a position. The cells are searched in rings around the position,
+     * stopping as soon as no closer item can be found in the following rings.
+     *
+     * @param position The position to search from
+     * @return The nearest item, or null if the grid is empty
+     */
+    public T getNearest(Vector2 position) {
+        if (size == 0) {
+            return null;
+        }
+        int centerX = toCell(position.x);
+        int centerY = toCell(position.y);
+        // rings closer to the position than the bounds of the grid are empty
+        int firstRing = Math.max(0, Math.max(Math.max(minCellX - centerX, centerX - maxCellX), Math.max(minCellY - centerY, centerY - maxCellY)));
+        int lastRing = Math.max(Math.max(centerX - minCellX, maxCellX - centerX), Math.max(centerY - minCellY, maxCellY - centerY));
+
+        Entry<T> nearest = null;
+        float nearestDst2 = Float.MAX_VALUE;
+        for (int ring = firstRing; ring <= lastRing; ring++) {
+            if (nearest != null) {
+                float ringDst = (ring - 1) * cellSize;
+                if (ringDst > 0 && ringDst * ringDst > nearestDst2) {
+                    break;
+                }
+            }
+            for (int x = centerX - ring; x <= centerX + ring; x++) {
+                boolean onVerticalEdge = x == centerX - ring || x == centerX + ring;
+                int step = onVerticalEdge ? 1 : Math.max(1, 2 * ring);
+                for (int y = centerY - ring; y <= centerY + ring; y += step) {
+                    List<Entry<T>> cell = cells.get(key(x, y));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0, sz = cell.size(); i < sz; i++) {
+                        Entry<T> entry = cell.get(i);
+                        float dst2 = entry.position.dst2(position);
+                        if (dst2 < nearestDst2) {
+                            nearestDst2 = dst2;
+                            nearest = entry;
+                        }
+                    }
+                }
+            }
+        }
+        return nearest == null ? null : nearest.item;
+    }
+
+    private int toCell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    private static class Entry<T> {
+        final T item;
+        final Vector2 position;
+        final float radius;
+
+        Entry(T item, Vector2 position, float radius) {
+            this.item = item;
+            this.position = position;
+            this.radius = radius;
+        }
+    }
+}
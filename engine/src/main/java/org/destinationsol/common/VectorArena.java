@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.common;
+
+import com.badlogic.gdx.math.Vector2;
+
+import java.util.Arrays;
+
+/**
+ * Scratch {@link Vector2 vectors} for {@link Bound} results, see {@link SolMath#getVec()}.
+ * <p>
+ * Every thread has an arena of its own, so the vector helpers of {@link SolMath} can be used from any thread. An arena
+ * hands out its vectors like a stack: freeing the most recently obtained vector gives it back right away, and once all
+ * the vectors of an arena are free it starts again from the bottom, so vectors freed out of order are reused as well.
+ * <p>
+ * Code that borrows many vectors can also release them all at once with {@link #mark()} and {@link #reset(long)}.
+ * <p>
+ * With origin tracking on (see {@link #setTrackOrigins(boolean)}, which the game turns on together with its
+ * assertions), the arena remembers where each of its vectors was obtained, so that a leak
+ * found by {@link #checkTaken(Object)} points at the code that obtained the vector, and freeing a vector twice fails.
+ * Otherwise an arena only keeps a count of the vectors taken.
+ */
+public final class VectorArena {
+    private static final ThreadLocal<VectorArena> ARENAS = ThreadLocal.withInitial(VectorArena::new);
+    private static volatile boolean trackOrigins;
+
+    private final boolean tracksOrigins;
+    private Vector2[] vectors;
+    private Throwable[] origins;
+    private int top;
+    private int taken;
+
+    VectorArena() {
+        this(trackOrigins);
+    }
+
+    VectorArena(boolean tracksOrigins) {
+        this.tracksOrigins = tracksOrigins;
+        vectors = new Vector2[64];
+        if (tracksOrigins) {
+            origins = new Throwable[vectors.length];
+        }
+    }
+
+    /**
+     * @return The arena of the current thread
+     */
+    public static VectorArena get() {
+        return ARENAS.get();
+    }
+
+    /**
+     * Sets whether arenas remember where their vectors were obtained. Only affects arenas created afterwards, so it
+     * should be set at startup, before any vectors are obtained.
+     *
+     * @param track Whether to track the origins of vectors
+     */
+    public static void setTrackOrigins(boolean track) {
+        trackOrigins = track;
+    }
+
+    /**
+     * Obtains a {@link Bound} vector set to the specified value.
+     *
+     * @param x x value to set the vector to
+     * @param y y value to set the vector to
+     * @return The vector, which must be freed with {@link #free(Vector2)} or released by {@link #reset(long)}
+     */
+    @Bound
+    public Vector2 obtain(float x, float y) {
+        if (top == vectors.length) {
+            vectors = Arrays.copyOf(vectors, top * 2);
+            if (tracksOrigins) {
+                origins = Arrays.copyOf(origins, top * 2);
+            }
+        }
+        Vector2 v = vectors[top];
+        if (v == null) {
+            v = new Vector2();
+            vectors[top] = v;
+        }
+        if (tracksOrigins) {
+            origins[top] = new Throwable("Vector obtained here");
+        }
+        top++;
+        taken++;
+        return v.set(x, y);
+    }
+
+    /**
+     * Frees a vector obtained from this arena. The freed vector is meant to be no longer used after freeing.
+     *
+     * @param v Vector to free
+     */
+    public void free(Vector2 v) {
+        if (tracksOrigins) {
+            forgetOrigin(v);
+        }
+        taken--;
+        if (taken == 0) {
+            top = 0;
+        } else if (top > 0 && vectors[top - 1] == v) {
+            top--;
+        }
+    }
+
+    private void forgetOrigin(Vector2 v) {
+        for (int i = top - 1; i >= 0; i--) {
+            if (vectors[i] == v && origins[i] != null) {
+                origins[i] = null;
+                return;
+            }
+        }
+        throw new AssertionError("vector freed twice or not obtained from the arena of this thread");
+    }
+
+    /**
+     * Marks the current state of the arena, for releasing all the vectors obtained after it at once.
+     * <p>
+     * Vectors obtained before the mark should not be freed before the arena is reset to it.
+     *
+     * @return The mark, to be passed to {@link #reset(long)}
+     */
+    public long mark() {
+        return ((long) top << 32) | (taken & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Releases all the vectors obtained since the mark, whether they were freed already or not.
+     *
+     * @param mark A mark returned by {@link #mark()} of this arena
+     */
+    public void reset(long mark) {
+        int markTop = (int) (mark >>> 32);
+        if (tracksOrigins) {
+            for (int i = markTop; i < top; i++) {
+                origins[i] = null;
+            }
+        }
+        top = markTop;
+        taken = (int) mark;
+    }
+
+    /**
+     * @return The number of vectors obtained and not yet freed or released
+     */
+    public int getTaken() {
+        return taken;
+    }
+
+    /**
+     * Check that all the vectors of this arena have been returned.
+     *
+     * @param o Object to blame upon the not returning of vectors.
+     * @throws AssertionError When not all of the vectors were returned
+     */
+    public void checkTaken(Object o) {
+        if (taken == 0) {
+            return;
+        }
+        AssertionError error = new AssertionError("vectors " + taken + ", blame on " + o);
+        if (tracksOrigins) {
+            for (int i = 0; i < top; i++) {
+                if (origins[i] != null) {
+                    error.initCause(origins[i]);
+                    break;
+                }
+            }
+        }
+        throw error;
+    }
+}
@@ -18,6 +18,7 @@
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.IniReader;
 import org.destinationsol.SolFileReader;
+import org.destinationsol.common.VectorArena;
 
 public class DebugOptions {
     public static final Vector2 DEBUG_POINT = new Vector2();
@@ -44,6 +45,10 @@ public class DebugOptions {
     public static boolean SOUND_IN_SPACE = false;
     public static boolean SHOW_WARNINGS = false;
     public static boolean SHOW_FPS = false;
+    public static boolean TELEMETRY = false;
+    public static float TELEMETRY_SPIKE_MS = 0;
+    public static boolean RECORD_INPUT = false;
+    public static String REPLAY_INPUT = "";
     public static boolean DRAW_OBJ_BORDERS = false;
     public static boolean DRAW_DRA_BORDERS = false;
     public static boolean DRAW_PHYSIC_BORDERS = false;
@@ -53,6 +58,10 @@ public class DebugOptions {
     public static boolean SOUND_INFO = false;
     public static boolean TEX_INFO = false;
 
+    // Simulation
+    public static int PHYSICS_VELOCITY_ITERATIONS = 6;
+    public static int PHYSICS_POSITION_ITERATIONS = 2;
+
     public static MissingResourceAction MISSING_SOUND_ACTION;
     public static MissingResourceAction MISSING_TEXTURE_ACTION;
     public static MissingResourceAction MISSING_PHYSICS_ACTION;
@@ -74,6 +83,10 @@ public static void read(SolFileReader reader) {
         SOUND_IN_SPACE = r.getBoolean("soundInSpace", SOUND_IN_SPACE);
         SHOW_WARNINGS = r.getBoolean("showWarnings", SHOW_WARNINGS);
         SHOW_FPS = r.getBoolean("showFps", SHOW_FPS);
+        TELEMETRY = r.getBoolean("telemetry", TELEMETRY);
+        TELEMETRY_SPIKE_MS = r.getFloat("telemetrySpikeMs", TELEMETRY_SPIKE_MS);
+        RECORD_INPUT = r.getBoolean("recordInput", RECORD_INPUT);
+        REPLAY_INPUT = r.getString("replayInput", REPLAY_INPUT);
         DRAW_OBJ_BORDERS = r.getBoolean("drawObjBorders", DRAW_OBJ_BORDERS);
         DRAW_DRA_BORDERS = r.getBoolean("drawDraBorders", DRAW_DRA_BORDERS);
         DRAW_PHYSIC_BORDERS = r.getBoolean("drawPhysicBorders", DRAW_PHYSIC_BORDERS);
@@ -82,8 +95,11 @@ public static void read(SolFileReader reader) {
         OBJ_INFO = r.getBoolean("objInfo", OBJ_INFO);
         SOUND_INFO = r.getBoolean("soundInfo", SOUND_INFO);
         TEX_INFO = r.getBoolean("texInfo", TEX_INFO);
+        PHYSICS_VELOCITY_ITERATIONS = r.getInt("physicsVelocityIterations", PHYSICS_VELOCITY_ITERATIONS);
+        PHYSICS_POSITION_ITERATIONS = r.getInt("physicsPositionIterations", PHYSICS_POSITION_ITERATIONS);
         MISSING_SOUND_ACTION = MissingResourceAction.forName(r.getString("missingSoundAction", MissingResourceAction.IGNORE.name));
         MISSING_TEXTURE_ACTION = MissingResourceAction.forName(r.getString("missingTextureAction", MissingResourceAction.IGNORE.name));
         MISSING_PHYSICS_ACTION = MissingResourceAction.forName(r.getString("missingPhysicsAction", MissingResourceAction.IGNORE.name));
+        VectorArena.setTrackOrigins(ASSERTIONS);
     }
 }
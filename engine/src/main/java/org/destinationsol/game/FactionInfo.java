@@ -24,6 +24,7 @@
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -96,6 +97,20 @@ public static ArrayList<Integer> getDisposition() {
         return factionDisposition;
     }
 
+    /**
+     * Replaces the dispositions of all factions with saved ones. Ignored if the saved factions do not match the loaded ones.
+     *
+     * @param dispositions The saved dispositions, in faction order
+     */
+    public static void restoreDisposition(List<Integer> dispositions) {
+        if (dispositions.size() != factionDisposition.size()) {
+            return;
+        }
+        for (int i = 0; i < dispositions.size(); i++) {
+            factionDisposition.set(i, dispositions.get(i));
+        }
+    }
+
     public static void setDisposition(int n, int num) {
         if (factionDisposition.get(n) <= 100) {
             factionDisposition.set(n, factionDisposition.get(n) + num);
@@ -19,6 +19,14 @@ public class FarObjData {
     public final FarObject fo;
     public final float depth;
     public float delay;
+    /**
+     * Time that has passed since the object was last updated.
+     */
+    public float pendingTime;
+    /**
+     * Time to let pass before the object is updated again, 0 to update it every frame.
+     */
+    public float updateStep;
 
     public FarObjData(FarObject fo, float depth) {
         this.fo = fo;
@@ -22,6 +22,7 @@
 import org.destinationsol.Const;
 import org.destinationsol.assets.Assets;
 import org.destinationsol.assets.json.Json;
+import org.destinationsol.common.RandomStream;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.common.SolRandom;
 import org.destinationsol.files.HullConfigManager;
@@ -41,14 +42,17 @@
 import org.destinationsol.game.planet.SysConfig;
 import org.destinationsol.game.ship.FarShip;
 import org.destinationsol.game.ship.hulls.HullConfig;
+import org.destinationsol.save.SaveData;
 
 import java.util.ArrayList;
 
 public class GalaxyFiller {
     private static final float STATION_CONSUME_SECTOR = 45f;
+    private static final long SYSTEM_SHIPS_STREAM = 0x5348495053L;
     private final HullConfigManager hullConfigManager;
     private Vector2 mainStationPos = new Vector2();
     private HullConfig mainStationHc;
+    private ConsumedAngles mainSystemAngles;
 
     public GalaxyFiller(HullConfigManager hullConfigManager) {
         this.hullConfigManager = hullConfigManager;
@@ -145,12 +149,28 @@ public void fill(SolGame game, HullConfigManager hullConfigManager, ItemManager
 
         ShipConfig mainStationCfg = ShipConfig.load(hullConfigManager, rootNode, itemManager);
 
-        ConsumedAngles angles = new ConsumedAngles();
-        FarShip mainStation = build(game, mainStationCfg, Faction.LAANI, true, systems.get(0), angles);
+        mainSystemAngles = new ConsumedAngles();
+        FarShip mainStation = build(game, mainStationCfg, Faction.LAANI, true, systems.get(0), mainSystemAngles);
         mainStationPos.set(mainStation.getPosition());
         mainStationHc = mainStation.getHullConfig();
+    }
 
-        for (SolSystem system : systems) {
+    /**
+     * Fills a system with its constant allies and enemies. This is done by {@link GalaxyStreamer} when the hero first
+     * approaches the system, rather than for every system at the start of the game.
+     *
+     * @param game The game to fill
+     * @param system The system to fill
+     */
+    public void fillSystem(SolGame game, SolSystem system) {
+        if (DebugOptions.NO_OBJS) {
+            return;
+        }
+        int systemIndex = game.getPlanetManager().getSystems().indexOf(system);
+        // the ships of a system should not depend on the order the systems are visited in
+        RandomStream random = SolRandom.getWorldStream().derive(SYSTEM_SHIPS_STREAM, systemIndex);
+        SolRandom.withSeededRandom(random, () -> {
+            ConsumedAngles angles = systemIndex == 0 && mainSystemAngles != null ? mainSystemAngles : new ConsumedAngles();
             SysConfig sysConfig = system.getConfig();
 
             for (ShipConfig shipConfig : sysConfig.constAllies) {
@@ -166,8 +186,28 @@ public void fill(SolGame game, HullConfigManager hullConfigManager, ItemManager
                     build(game, shipConfig, Faction.EHAR, false, system, angles);
                 }
             }
+            return null;
+        });
+    }
 
-            angles = new ConsumedAngles();
+    /**
+     * Fills the galaxy from a saved world state instead of generating its ships anew. Star ports are not saved, as they
+     * only depend on the planets, so they are created the same way as in {@link #fill}.
+     *
+     * @param game The game to fill
+     * @param saveData The loaded world state
+     */
+    public void restore(SolGame game, SaveData saveData) {
+        if (DebugOptions.NO_OBJS) {
+            return;
+        }
+        createStarPorts(game);
+        for (FarObject farObject : saveData.farObjects) {
+            game.getObjectManager().addFarObjNow(farObject);
+        }
+        if (saveData.mainStationHull != null) {
+            mainStationPos.set(saveData.mainStationPosition);
+            mainStationHc = saveData.mainStationHull;
         }
     }
 
@@ -284,4 +324,8 @@ public Vector2 getMainStationPosition() {
         return mainStationPos;
     }
 
+    public HullConfig getMainStationHullConfig() {
+        return mainStationHc;
+    }
+
 }
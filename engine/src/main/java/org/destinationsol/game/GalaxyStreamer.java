@@ -0,0 +1,206 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.Const;
+import org.destinationsol.game.planet.PlanetManager;
+import org.destinationsol.game.planet.SolSystem;
+import org.destinationsol.game.ship.FarShip;
+import org.destinationsol.save.SaveData;
+import org.destinationsol.save.WorldStateReader;
+import org.destinationsol.save.WorldStateWriter;
+import org.destinationsol.ui.DebugCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates the ships of each system only once the hero gets close to it, and evicts them again once the hero is far away.
+ * <p>
+ * A system is filled by {@link GalaxyFiller#fillSystem(SolGame, SolSystem)} the first time the camera comes within
+ * {@link #LOAD_DIST} of its edge. When the camera later moves more than {@link #EVICT_DIST} away, the persistent ships
+ * closest to the system are written to a compact record (see {@link WorldStateWriter#writeShips(SaveData, List)}) and
+ * removed from the object manager, so they neither take up memory as objects nor get updated. They are read back the
+ * next time the hero approaches. Start-up time and memory therefore depend on the systems visited rather than on the
+ * size of the galaxy.
+ */
+public class GalaxyStreamer implements UpdateAwareSystem {
+    /**
+     * Distance from the edge of a system at which its ships are created or read back.
+     */
+    public static final float LOAD_DIST = Const.SUN_RADIUS;
+    /**
+     * Distance from the edge of a system beyond which its ships are evicted. Well above {@link #LOAD_DIST}, so that a
+     * hero flying along the edge does not keep loading and evicting the same system.
+     */
+    public static final float EVICT_DIST = 4 * Const.SUN_RADIUS;
+    private static final float CHECK_INTERVAL = .5f;
+
+    private static final Logger logger = LoggerFactory.getLogger(GalaxyStreamer.class);
+
+    private final Set<SolSystem> populatedSystems;
+    private final Map<SolSystem, byte[]> evictedSystems;
+    private SaveData galaxy;
+    private float checkAwait;
+
+    public GalaxyStreamer() {
+        populatedSystems = new HashSet<>();
+        evictedSystems = new HashMap<>();
+    }
+
+    /**
+     * Marks the systems that had already been filled in a loaded world.
+     *
+     * @param saveData The loaded world state
+     */
+    public void restore(SaveData saveData) {
+        populatedSystems.addAll(saveData.populatedSystems);
+    }
+
+    @Override
+    public void update(SolGame game, float timeStep) {
+        if (DebugOptions.MISC_INFO) {
+            int evictedBytes = 0;
+            for (byte[] record : evictedSystems.values()) {
+                evictedBytes += record.length;
+            }
+            DebugCollector.debug("Systems", populatedSystems.size() - evictedSystems.size() + " active, "
+                    + evictedSystems.size() + " evicted (" + evictedBytes + " bytes)");
+        }
+
+        checkAwait -= timeStep;
+        if (checkAwait > 0) {
+            return;
+        }
+        checkAwait = CHECK_INTERVAL;
+
+        Vector2 camPos = game.getCam().getPosition();
+        for (SolSystem system : game.getPlanetManager().getSystems()) {
+            float distToEdge = camPos.dst(system.getPosition()) - system.getRadius();
+            if (distToEdge < LOAD_DIST) {
+                load(game, system);
+            } else if (distToEdge > EVICT_DIST && populatedSystems.contains(system) && !evictedSystems.containsKey(system)) {
+                evict(game, system);
+            }
+        }
+    }
+
+    /**
+     * Loads the systems close to a position straight away, rather than on the next update.
+     *
+     * @param game The game
+     * @param position The position to load the systems around, usually where the hero is about to appear
+     */
+    public void loadAround(SolGame game, Vector2 position) {
+        for (SolSystem system : game.getPlanetManager().getSystems()) {
+            if (position.dst(system.getPosition()) - system.getRadius() < LOAD_DIST) {
+                load(game, system);
+            }
+        }
+    }
+
+    private void load(SolGame game, SolSystem system) {
+        if (!populatedSystems.contains(system)) {
+            game.getGalaxyFiller().fillSystem(game, system);
+            populatedSystems.add(system);
+            return;
+        }
+        byte[] record = evictedSystems.remove(system);
+        if (record == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<FarObject> ships = new WorldStateReader(game).readShips(getGalaxy(game), record);
+            for (FarObject ship : ships) {
+                game.getObjectManager().addFarObjNow(ship);
+            }
+            logger.debug("Loaded {} ships of {} in {} ms", ships.size(), system.getName(), (System.nanoTime() - start) / 1e6f);
+        } catch (IOException e) {
+            logger.error("Could not read the evicted ships of " + system.getName(), e);
+        }
+    }
+
+    private void evict(SolGame game, SolSystem system) {
+        PlanetManager planetManager = game.getPlanetManager();
+        List<FarShip> ships = new ArrayList<>();
+        for (FarShip ship : game.getObjectManager().getFarShips()) {
+            if (WorldStateWriter.isPersistent(ship) && planetManager.getNearestSystem(ship.getPosition()) == system) {
+                ships.add(ship);
+            }
+        }
+        byte[] record;
+        try {
+            record = new WorldStateWriter().writeShips(getGalaxy(game), ships);
+        } catch (IOException e) {
+            logger.error("Could not evict the ships of " + system.getName(), e);
+            return;
+        }
+        Set<FarObject> evicted = Collections.newSetFromMap(new IdentityHashMap<>());
+        evicted.addAll(ships);
+        game.getObjectManager().removeFarObjsNow(evicted::contains);
+        evictedSystems.put(system, record);
+        logger.debug("Evicted {} ships of {} into {} bytes", ships.size(), system.getName(), record.length);
+    }
+
+    /**
+     * Reads back all the evicted ships, without adding them to the game, so that they can be saved with the rest.
+     *
+     * @param game The game
+     * @return The evicted ships
+     */
+    public List<FarObject> getEvictedShips(SolGame game) {
+        List<FarObject> ships = new ArrayList<>();
+        for (Map.Entry<SolSystem, byte[]> entry : evictedSystems.entrySet()) {
+            try {
+                ships.addAll(new WorldStateReader(game).readShips(getGalaxy(game), entry.getValue()));
+            } catch (IOException e) {
+                logger.error("Could not read the evicted ships of " + entry.getKey().getName(), e);
+            }
+        }
+        return ships;
+    }
+
+    /**
+     * Returns the systems that have been filled with their ships, whether they are evicted now or not.
+     *
+     * @return The populated systems
+     */
+    public Set<SolSystem> getPopulatedSystems() {
+        return populatedSystems;
+    }
+
+    private SaveData getGalaxy(SolGame game) {
+        if (galaxy == null) {
+            PlanetManager planetManager = game.getPlanetManager();
+            galaxy = new SaveData();
+            galaxy.systems.addAll(planetManager.getSystems());
+            galaxy.planets.addAll(planetManager.getPlanets());
+            galaxy.mazes.addAll(planetManager.getMazes());
+        }
+        return galaxy;
+    }
+}
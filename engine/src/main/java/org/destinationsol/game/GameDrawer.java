@@ -16,9 +16,11 @@
 package org.destinationsol.game;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.CommonDrawer;
 import org.destinationsol.assets.Assets;
@@ -42,10 +44,23 @@ public void updateMatrix(SolGame game) {
         myDrawer.setMatrix(game.getCam().getMtx());
     }
 
+    public void setMatrix(Matrix4 matrix) {
+        myDrawer.setMatrix(matrix);
+    }
+
     public void end() {
         myDrawer.end();
     }
 
+    /**
+     * Sets whether drawing goes into a frame buffer that is later drawn with {@link #drawPremultiplied}, see
+     * {@link CommonDrawer#setPremultipliedTarget(boolean)}.
+     */
+    public void setPremultipliedTarget(boolean premultipliedTarget) {
+        myDrawer.setPremultipliedTarget(premultipliedTarget);
+        myDrawer.setAdditive(myCurrAdditive);
+    }
+
     public void drawString(String s, float x, float y, float size, boolean centered, Color col) {
         maybeChangeAdditive(false);
         myDrawer.drawString(s, x, y, size, centered, col);
@@ -63,6 +78,19 @@ public void drawAdditive(TextureRegion tr, float width, float height, float orig
         myDrawer.draw(tr, width, height, origX, origY, x, y, rot, tint);
     }
 
+    public void drawPremultiplied(Texture texture, float x, float y, float width, float height) {
+        myDrawer.drawPremultiplied(texture, x, y, width, height);
+        myDrawer.setAdditive(myCurrAdditive);
+    }
+
+    /**
+     * Draws quads given as sprite batch vertices, see {@link com.badlogic.gdx.graphics.g2d.SpriteBatch#draw(Texture, float[], int, int)}.
+     */
+    public void drawAdditive(Texture texture, float[] vertices, int count) {
+        maybeChangeAdditive(true);
+        myDrawer.getSpriteBatch().draw(texture, vertices, 0, count);
+    }
+
     public void drawLine(TextureRegion tex, float x, float y, float angle, float len, Color col, float width) {
         maybeChangeAdditive(false);
         myDrawer.drawLine(tex, x, y, angle, len, col, width);
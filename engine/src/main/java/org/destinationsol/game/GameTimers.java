@@ -0,0 +1,228 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import org.destinationsol.ui.DebugCollector;
+
+/**
+ * Runs actions at a given game time, see {@link SolGame#getTime()}.
+ * <p>
+ * Something that only has to happen every now and then, like a trader restocking or a dropped item becoming free for
+ * anybody to pick up, can schedule an action here instead of counting down a timer of its own every frame. Actions run
+ * on the game thread at the start of the first frame at or after their time, and actions due in the same tick run in
+ * the order they were scheduled.
+ * <p>
+ * Timers are kept in a hierarchical timing wheel: game time is cut into ticks of {@link #TICKS_PER_SECOND}th of a
+ * second, and each level of the wheel holds the timers due within the next {@link #SLOTS} ticks of the level below it,
+ * one slot per tick of that level. Scheduling and cancelling take constant time, and each frame only looks at the slots
+ * of the ticks that passed, so the cost of a timer does not depend on how many others are waiting. Timers further away
+ * than the top level can hold wait in an overflow list, which is gone through once every wrap of the top level.
+ */
+public class GameTimers implements UpdateAwareSystem {
+    public static final int TICKS_PER_SECOND = 64;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+
+    private final Timer[][] wheel;
+    private final Timer overflow;
+    private float now;
+    private long currentTick;
+    private long scheduledCount;
+    private int pendingCount;
+    private int firedCount;
+    private int maxFiredPerTick;
+
+    public GameTimers() {
+        wheel = new Timer[LEVELS][SLOTS];
+        for (Timer[] level : wheel) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Timer(-1, null);
+            }
+        }
+        overflow = new Timer(-1, null);
+    }
+
+    /**
+     * Schedules an action.
+     *
+     * @param delay The game time from now after which to run the action, in seconds
+     * @param action The action to run
+     * @return The timer, which can be used to cancel the action
+     */
+    public Timer schedule(float delay, Runnable action) {
+        long tick = (long) Math.ceil(((double) now + delay) * TICKS_PER_SECOND);
+        Timer timer = new Timer(Math.max(tick, currentTick + 1), action);
+        scheduledCount++;
+        pendingCount++;
+        insert(timer);
+        return timer;
+    }
+
+    @Override
+    public void update(SolGame game, float timeStep) {
+        advanceTo(game.getTime());
+        if (DebugOptions.MISC_INFO) {
+            DebugCollector.debug("Timers", pendingCount + " scheduled, " + firedCount + " fired, " + maxFiredPerTick + " most in a tick");
+        }
+    }
+
+    /**
+     * Runs the actions due up to the given game time.
+     *
+     * @param time The game time, in seconds
+     */
+    void advanceTo(float time) {
+        now = time;
+        long targetTick = (long) Math.floor((double) time * TICKS_PER_SECOND);
+        firedCount = 0;
+        if (pendingCount == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            int fired = fire(wheel[0][(int) (currentTick & (SLOTS - 1))]);
+            firedCount += fired;
+            maxFiredPerTick = Math.max(maxFiredPerTick, fired);
+        }
+    }
+
+    // when a level wraps around, the timers of its next slot are close enough to move down to the levels below
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            reinsert(wheel[level][(int) ((currentTick >>> (SLOT_BITS * level)) & (SLOTS - 1))]);
+        }
+        if ((currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+            reinsert(overflow);
+        }
+    }
+
+    private void reinsert(Timer slot) {
+        Timer timer = slot.next;
+        slot.next = slot;
+        slot.prev = slot;
+        while (timer != slot) {
+            Timer next = timer.next;
+            insert(timer);
+            timer = next;
+        }
+    }
+
+    private int fire(Timer slot) {
+        int fired = 0;
+        Timer timer;
+        while ((timer = slot.next) != slot) {
+            timer.unlink();
+            pendingCount--;
+            fired++;
+            timer.action.run();
+        }
+        return fired;
+    }
+
+    private void insert(Timer timer) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((timer.tick >>> shift) == (currentTick >>> shift)) {
+                timer.linkBefore(wheel[level][(int) ((timer.tick >>> (SLOT_BITS * level)) & (SLOTS - 1))]);
+                return;
+            }
+        }
+        timer.linkBefore(overflow);
+    }
+
+    /**
+     * @return The number of actions that are scheduled and have not run yet
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * @return The number of actions run in the last frame
+     */
+    public int getFiredCount() {
+        return firedCount;
+    }
+
+    /**
+     * @return The most actions that have run in a single tick so far
+     */
+    public int getMaxFiredPerTick() {
+        return maxFiredPerTick;
+    }
+
+    /**
+     * @return The number of actions that have been scheduled so far
+     */
+    public long getScheduledCount() {
+        return scheduledCount;
+    }
+
+    /**
+     * A scheduled action. Timers are linked into the slot of the wheel they wait in, the slots themselves being empty
+     * timers heading their lists.
+     */
+    public class Timer {
+        private final long tick;
+        private final Runnable action;
+        private Timer prev;
+        private Timer next;
+
+        private Timer(long tick, Runnable action) {
+            this.tick = tick;
+            this.action = action;
+            prev = this;
+            next = this;
+        }
+
+        /**
+         * Stops the action from running, if it has not run yet.
+         */
+        public void cancel() {
+            if (next != this) {
+                unlink();
+                pendingCount--;
+            }
+        }
+
+        /**
+         * @return The game time at which the action runs, in seconds
+         */
+        public float getTime() {
+            return (float) tick / TICKS_PER_SECOND;
+        }
+
+        private void linkBefore(Timer slot) {
+            prev = slot.prev;
+            next = slot;
+            slot.prev.next = this;
+            slot.prev = this;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+    }
+}
@@ -30,7 +30,6 @@
 import org.destinationsol.game.ship.FarShip;
 import org.destinationsol.game.ship.SolShip;
 import org.destinationsol.game.ship.hulls.GunSlot;
-import org.destinationsol.game.ship.hulls.Hull;
 import org.destinationsol.game.ship.hulls.HullConfig;
 
 import java.util.Iterator;
@@ -107,8 +106,14 @@ private static float getItemCfgDps(ItemConfig ic, boolean fixed) {
     }
 
     public static float getShipConfDps(ShipConfig sc, ItemManager itemManager) {
-        final List<ItemConfig> parsedItems = itemManager.parseItems(sc.items);
-        final List<GunSlot> unusedGunSlots = sc.hull.getGunSlotList();
+        return getItemsDps(itemManager.parseItems(sc.items), sc.hull);
+    }
+
+    /**
+     * Returns the expected damage per second of a ship of the given hull, built with the given items.
+     */
+    public static float getItemsDps(List<ItemConfig> parsedItems, HullConfig hull) {
+        final List<GunSlot> unusedGunSlots = hull.getGunSlotList();
 
         float dps = 0;
         Iterator<ItemConfig> itemConfigIterator = parsedItems.iterator();
@@ -138,7 +143,13 @@ public static float getShipConfDps(ShipConfig sc, ItemManager itemManager) {
     }
 
     public static float getShipCfgDmgCap(ShipConfig shipConfig, ItemManager itemManager) {
-        List<ItemConfig> parsed = itemManager.parseItems(shipConfig.items);
+        return getItemsDmgCap(itemManager.parseItems(shipConfig.items), shipConfig.hull);
+    }
+
+    /**
+     * Returns the expected damage capacity of a ship of the given hull, built with the given items.
+     */
+    public static float getItemsDmgCap(List<ItemConfig> parsed, HullConfig hull) {
         float meanShieldLife = 0;
         float meanArmorPercentage = 0;
         for (ItemConfig itemConfig : parsed) {
@@ -158,7 +169,7 @@ public static float getShipCfgDmgCap(ShipConfig shipConfig, ItemManager itemMana
                 meanArmorPercentage *= itemConfig.chance;
             }
         }
-        return shipConfig.hull.getMaxLife() / (1 - meanArmorPercentage) + meanShieldLife * SHIELD_MUL;
+        return hull.getMaxLife() / (1 - meanArmorPercentage) + meanShieldLife * SHIELD_MUL;
     }
 
     private static float getShipConfListDps(List<ShipConfig> ships) {
@@ -205,24 +216,41 @@ private static float getGunDps(Gun g) {
         return g.config.meanDps;
     }
 
+    /**
+     * Returns the damage per second of the ship. The value is memoised by the ship and only recalculated after its
+     * equipment changes.
+     */
     public static float getShipDps(SolShip s) {
-        Hull h = s.getHull();
-        return getGunDps(h.getGun(false)) + getGunDps(h.getGun(true));
+        return s.getDps();
     }
 
+    /**
+     * Returns the damage per second of the far ship, calculated once when the far ship is created.
+     */
     public static float getFarShipDps(FarShip s) {
-        return getGunDps(s.getGun(false)) + getGunDps(s.getGun(true));
+        return s.getDps();
     }
 
+    /**
+     * Returns the damage capacity of the ship. The value is memoised by the ship and only recalculated after its
+     * equipment changes.
+     */
     public static float getShipDmgCap(SolShip s) {
-        return getDmgCap(s.getHull().config, s.getArmor(), s.getShield());
+        return s.getDmgCap();
     }
 
+    /**
+     * Returns the damage capacity of the far ship, calculated once when the far ship is created.
+     */
     public static float getFarShipDmgCap(FarShip s) {
-        return getDmgCap(s.getHullConfig(), s.getArmor(), s.getShield());
+        return s.getDmgCap();
+    }
+
+    public static float getGunsDps(Gun gun1, Gun gun2) {
+        return getGunDps(gun1) + getGunDps(gun2);
     }
 
-    private static float getDmgCap(HullConfig hull, Armor armor, Shield shield) {
+    public static float getDmgCap(HullConfig hull, Armor armor, Shield shield) {
         float r = hull.getMaxLife();
         if (armor != null) {
             r *= 1 / (1 - armor.getPerc());
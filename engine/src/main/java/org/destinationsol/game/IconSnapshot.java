@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.Const;
+import org.destinationsol.game.planet.FarTileObject;
+import org.destinationsol.game.planet.Planet;
+import org.destinationsol.game.planet.TileObject;
+import org.destinationsol.game.ship.FarShip;
+import org.destinationsol.game.ship.SolShip;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-frame list of the objects that the HUD draws icons or labels for.
+ * <p>
+ * The snapshot is rebuilt once at the start of each frame by {@link SolGame#draw()}, walking the object lists a single
+ * time and keeping only the objects close enough to the camera to be drawn by any of {@link MapDrawer},
+ * {@link org.destinationsol.game.screens.BorderDrawer} or {@link org.destinationsol.FactionDisplay}. Those then iterate
+ * the (usually much shorter) snapshot lists instead of every near and far object.
+ */
+public class IconSnapshot {
+    /**
+     * Maximum distance from the camera at which an icon of an off-screen object is drawn on the screen border.
+     */
+    public static final float MAX_BORDER_ICON_DIST = Const.ATM_HEIGHT;
+
+    private final List<SolShip> ships;
+    private final List<StarPort> starPorts;
+    private final List<StarPort.Transcendent> transcendents;
+    private final List<FarShip> farShips;
+    private final List<StarPort.FarStarPort> farPorts;
+    private final List<TileObject> tiles;
+    private final List<FarTileObject> farTiles;
+    private float radius;
+
+    IconSnapshot() {
+        ships = new ArrayList<>();
+        starPorts = new ArrayList<>();
+        transcendents = new ArrayList<>();
+        farShips = new ArrayList<>();
+        farPorts = new ArrayList<>();
+        tiles = new ArrayList<>();
+        farTiles = new ArrayList<>();
+    }
+
+    void build(SolGame game) {
+        ships.clear();
+        starPorts.clear();
+        transcendents.clear();
+        farShips.clear();
+        farPorts.clear();
+        tiles.clear();
+        farTiles.clear();
+
+        SolCam cam = game.getCam();
+        Vector2 camPos = cam.getPosition();
+        MapDrawer mapDrawer = game.getMapDrawer();
+        boolean onMap = mapDrawer.isToggled();
+        radius = Math.max(MAX_BORDER_ICON_DIST, cam.getViewDistance());
+        if (onMap) {
+            // icons are drawn centered on the object, so let them poke in from just outside of the view
+            radius = Math.max(radius, cam.getViewDistance(mapDrawer.getZoom()) + mapDrawer.getIconRadius(cam));
+        }
+        float radius2 = radius * radius;
+        // planet tiles are only drawn on the map while the camera is inside the nearest planet's atmosphere
+        Planet nearestPlanet = game.getPlanetManager().getNearestPlanet();
+        boolean collectTiles = onMap && nearestPlanet != null && camPos.dst(nearestPlanet.getPosition()) < nearestPlanet.getFullHeight();
+
+        ObjectManager objectManager = game.getObjectManager();
+        List<SolObject> objects = objectManager.getObjects();
+        for (int i = 0, size = objects.size(); i < size; i++) {
+            SolObject object = objects.get(i);
+            if (camPos.dst2(object.getPosition()) > radius2) {
+                continue;
+            }
+            if (object instanceof SolShip) {
+                ships.add((SolShip) object);
+            } else if (object instanceof StarPort) {
+                starPorts.add((StarPort) object);
+            } else if (object instanceof StarPort.Transcendent) {
+                transcendents.add((StarPort.Transcendent) object);
+            } else if (collectTiles && object instanceof TileObject) {
+                tiles.add((TileObject) object);
+            }
+        }
+
+        List<FarShip> allFarShips = objectManager.getFarShips();
+        for (int i = 0, size = allFarShips.size(); i < size; i++) {
+            FarShip farShip = allFarShips.get(i);
+            if (camPos.dst2(farShip.getPosition()) <= radius2) {
+                farShips.add(farShip);
+            }
+        }
+
+        List<StarPort.FarStarPort> allFarPorts = objectManager.getFarPorts();
+        for (int i = 0, size = allFarPorts.size(); i < size; i++) {
+            StarPort.FarStarPort farPort = allFarPorts.get(i);
+            if (camPos.dst2(farPort.getPosition()) <= radius2) {
+                farPorts.add(farPort);
+            }
+        }
+
+        if (collectTiles) {
+            List<FarObjData> farObjs = objectManager.getFarObjs();
+            for (int i = 0, size = farObjs.size(); i < size; i++) {
+                FarObject farObject = farObjs.get(i).fo;
+                if (farObject instanceof FarTileObject && camPos.dst2(farObject.getPosition()) <= radius2) {
+                    farTiles.add((FarTileObject) farObject);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the distance from the camera up to which objects were collected into this snapshot.
+     *
+     * @return The culling radius of the snapshot
+     */
+    public float getRadius() {
+        return radius;
+    }
+
+    public List<SolShip> getShips() {
+        return ships;
+    }
+
+    public List<StarPort> getStarPorts() {
+        return starPorts;
+    }
+
+    public List<StarPort.Transcendent> getTranscendents() {
+        return transcendents;
+    }
+
+    public List<FarShip> getFarShips() {
+        return farShips;
+    }
+
+    public List<StarPort.FarStarPort> getFarPorts() {
+        return farPorts;
+    }
+
+    /**
+     * Returns the near planet tiles, only collected while the map is open and the camera is inside a planet's atmosphere.
+     *
+     * @return The near planet tiles
+     */
+    public List<TileObject> getTiles() {
+        return tiles;
+    }
+
+    /**
+     * Returns the far planet tiles, only collected while the map is open and the camera is inside a planet's atmosphere.
+     *
+     * @return The far planet tiles
+     */
+    public List<FarTileObject> getFarTiles() {
+        return farTiles;
+    }
+}
@@ -15,11 +15,19 @@
  */
 package org.destinationsol.game;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import org.destinationsol.Const;
 import org.destinationsol.SolApplication;
 import org.destinationsol.assets.Assets;
@@ -37,11 +45,12 @@
 import org.destinationsol.game.planet.TileObject;
 import org.destinationsol.game.ship.FarShip;
 import org.destinationsol.game.ship.SolShip;
+import org.destinationsol.ui.DebugCollector;
 import org.destinationsol.ui.DisplayDimensions;
 import org.destinationsol.ui.UiDrawer;
 
+import java.nio.IntBuffer;
 import java.util.ArrayList;
-import java.util.List;
 
 public class MapDrawer implements UpdateAwareSystem{
     public static final float MIN_ZOOM = 8f;
@@ -55,6 +64,18 @@ public class MapDrawer implements UpdateAwareSystem{
     private static final float MIN_ICON_RAD_PX = 16f;
     private static final float MAX_SKULL_TIME = .75f;
     private static final float MAX_AREA_SKULL_TIME = 3;
+    /**
+     * How far the static layer reaches around the camera, relative to the view distance. The layer is rendered again
+     * when the view leaves it.
+     */
+    private static final float STATIC_LAYER_COVER = 1.5f;
+    /**
+     * The least the static layer may reach around the camera. When the layer at {@link #STATIC_LAYER_COVER} would not
+     * fit in {@link #MAX_STATIC_LAYER_SIZE} at one texel per screen pixel, it is shrunk towards this instead of being
+     * stretched, so it is rendered again more often but stays sharp.
+     */
+    private static final float MIN_STATIC_LAYER_COVER = 1.1f;
+    private static final int MAX_STATIC_LAYER_SIZE = 4096;
     private final TextureAtlas.AtlasRegion atmosphereTexture;
     private final TextureAtlas.AtlasRegion planetTexture;
     private final TextureAtlas.AtlasRegion planetCoreTexture;
@@ -80,6 +101,19 @@ public class MapDrawer implements UpdateAwareSystem{
     private float skullTime;
     private float areaSkullTime;
 
+    /**
+     * System rings, suns, belts and mazes never move, so they are rendered into this frame buffer once for an area
+     * around the camera and zoom level, and the frame buffer is drawn instead while the view stays within that area.
+     * Planets move, and danger areas and icons change every frame, so they are drawn over it.
+     */
+    private FrameBuffer staticLayer;
+    private final Vector2 staticLayerCenter = new Vector2();
+    private final Matrix4 staticLayerMatrix = new Matrix4();
+    private float staticLayerHalfSize;
+    private float staticLayerZoom;
+    private int staticLayerRenders;
+    private int maxStaticLayerSize;
+
     MapDrawer() {
         DisplayDimensions displayDimensions = SolApplication.displayDimensions;
 
@@ -118,6 +152,7 @@ public void setToggled(boolean toggled) {
     }
 
     public void draw(GameDrawer drawer, SolGame game) {
+        long drawStart = DebugOptions.MISC_INFO ? TimeUtils.nanoTime() : 0;
         SolCam cam = game.getCam();
         float iconSz = getIconRadius(cam) * 2;
         float starNodeW = cam.getViewHeight(zoom) * STAR_NODE_SZ;
@@ -131,58 +166,143 @@ public void draw(GameDrawer drawer, SolGame game) {
 
         drawer.updateMatrix(game);
         game.getGridDrawer().draw(drawer, game, GRID_SZ, lineTexture);
+        drawStaticLayer(drawer, game, viewDist, camPos);
+        drawSystemDangers(drawer, game, viewDist, camPos, heroDmgCap, camAngle);
         drawPlanets(drawer, game, viewDist, np, camPos, heroDmgCap, camAngle);
-        drawMazes(drawer, game, viewDist, np, camPos, heroDmgCap, camAngle);
+        drawMazeDangers(drawer, game, viewDist, camPos, heroDmgCap, camAngle);
         drawStarNodes(drawer, game, viewDist, camPos, starNodeW);
 
         // using ui textures
         drawIcons(drawer, game, iconSz, viewDist, factionManager, hero, camPos, heroDmgCap);
+        if (DebugOptions.MISC_INFO) {
+            DebugCollector.debug("Map draw us", (int) ((TimeUtils.nanoTime() - drawStart) / 1000));
+            DebugCollector.debug("Map layer renders", staticLayerRenders);
+        }
+    }
+
+    private void drawStaticLayer(GameDrawer drawer, SolGame game, float viewDist, Vector2 camPos) {
+        if (maxStaticLayerSize == 0) {
+            IntBuffer maxTextureSize = BufferUtils.newIntBuffer(16);
+            Gdx.gl.glGetIntegerv(GL20.GL_MAX_TEXTURE_SIZE, maxTextureSize);
+            maxStaticLayerSize = Math.min(maxTextureSize.get(0), MAX_STATIC_LAYER_SIZE);
+        }
+        float pixelsPerUnit = Gdx.graphics.getHeight() / game.getCam().getViewHeight(zoom);
+        float halfSize = STATIC_LAYER_COVER * viewDist;
+        if (2 * halfSize * pixelsPerUnit > maxStaticLayerSize) {
+            halfSize = Math.max(maxStaticLayerSize / pixelsPerUnit / 2, MIN_STATIC_LAYER_COVER * viewDist);
+        }
+        // beyond the texture size limit, the layer is stretched, and linear filtering keeps thin rings from breaking up
+        int size = Math.min(MathUtils.ceil(2 * halfSize * pixelsPerUnit), maxStaticLayerSize);
+        if (staticLayer == null || staticLayer.getWidth() != size) {
+            dispose();
+            staticLayer = new FrameBuffer(Pixmap.Format.RGBA8888, size, size, false);
+            staticLayer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            staticLayerZoom = 0;
+        }
+        if (staticLayerZoom != zoom || staticLayerHalfSize != halfSize
+                || staticLayerHalfSize < SolMath.abs(camPos.x - staticLayerCenter.x) + viewDist
+                || staticLayerHalfSize < SolMath.abs(camPos.y - staticLayerCenter.y) + viewDist) {
+            renderStaticLayer(drawer, game, camPos, halfSize);
+        }
+        Vector2 center = staticLayerCenter;
+        drawer.drawPremultiplied(staticLayer.getColorBufferTexture(), center.x - staticLayerHalfSize, center.y - staticLayerHalfSize,
+                2 * staticLayerHalfSize, 2 * staticLayerHalfSize);
+    }
+
+    private void renderStaticLayer(GameDrawer drawer, SolGame game, Vector2 camPos, float halfSize) {
+        staticLayerCenter.set(camPos);
+        staticLayerHalfSize = halfSize;
+        staticLayerZoom = zoom;
+        staticLayerRenders++;
+
+        drawer.end();
+        staticLayer.begin();
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        staticLayerMatrix.setToOrtho2D(camPos.x - halfSize, camPos.y - halfSize, 2 * halfSize, 2 * halfSize);
+        drawer.setMatrix(staticLayerMatrix);
+        drawer.begin();
+        drawer.setPremultipliedTarget(true);
+        // the layer is a square, so everything within its half diagonal may show on it
+        float coverDist = halfSize * SolMath.sqrt(2);
+        drawSystems(drawer, game, coverDist, staticLayerCenter);
+        drawMazes(drawer, game, coverDist, staticLayerCenter);
+        drawer.setPremultipliedTarget(false);
+        drawer.end();
+        staticLayer.end();
+        drawer.updateMatrix(game);
+        drawer.begin();
+    }
+
+    public void dispose() {
+        if (staticLayer != null) {
+            staticLayer.dispose();
+            staticLayer = null;
+        }
     }
 
     public float getIconRadius(SolCam cam) {
         return cam.getViewHeight(zoom) * iconRadius;
     }
 
-    private void drawMazes(GameDrawer drawer, SolGame game, float viewDist, Planet np, Vector2 camPos, float heroDmgCap,
-                           float camAngle) {
+    private void drawMazes(GameDrawer drawer, SolGame game, float viewDist, Vector2 camPos) {
         ArrayList<Maze> mazes = game.getPlanetManager().getMazes();
         for (Maze maze : mazes) {
             Vector2 mazePos = maze.getPos();
-            float outerRad = maze.getRadius();
-            float rad = outerRad - MazeBuilder.BORDER;
+            float rad = maze.getRadius() - MazeBuilder.BORDER;
             if (viewDist < camPos.dst(mazePos) - rad) {
                 continue;
             }
             drawer.draw(mazeTexture, 2 * rad, 2 * rad, rad, rad, mazePos.x, mazePos.y, 45, SolColor.WHITE);
+        }
+    }
+
+    private void drawMazeDangers(GameDrawer drawer, SolGame game, float viewDist, Vector2 camPos, float heroDmgCap, float camAngle) {
+        ArrayList<Maze> mazes = game.getPlanetManager().getMazes();
+        for (Maze maze : mazes) {
+            Vector2 mazePos = maze.getPos();
+            float outerRad = maze.getRadius();
+            if (viewDist < camPos.dst(mazePos) - outerRad) {
+                continue;
+            }
             if (HardnessCalc.isDangerous(heroDmgCap, maze.getDps())) {
                 drawAreaDanger(drawer, outerRad, mazePos, 1, camAngle);
             }
         }
-
     }
 
-    private void drawPlanets(GameDrawer drawer, SolGame game, float viewDist, Planet np, Vector2 camPos, float heroDmgCap,
-                             float camAngle) {
+    private void drawSystems(GameDrawer drawer, SolGame game, float viewDist, Vector2 camPos) {
         ArrayList<SolSystem> systems = game.getPlanetManager().getSystems();
         SolCam cam = game.getCam();
         float circleWidth = cam.getRealLineWidth() * 6;
         float vh = cam.getViewHeight(zoom);
         for (SolSystem sys : systems) {
+            // skip rings that are away from the view or that the view is inside of
+            float sysDist = camPos.dst(sys.getPosition());
+            if (sys.getRadius() + circleWidth < sysDist - viewDist || sysDist + viewDist < sys.getRadius()) {
+                continue;
+            }
             drawer.drawCircle(lineTexture, sys.getPosition(), sys.getRadius(), SolColor.UI_MED, circleWidth, vh);
         }
+        Vector2 beltIconPos = SolMath.getVec();
         for (SolSystem sys : systems) {
-            float dangerRad = HardnessCalc.isDangerous(heroDmgCap, sys.getDps()) ? sys.getRadius() : 0;
             Vector2 sysPos = sys.getPosition();
+            float sysDist = camPos.dst(sysPos);
+            if (viewDist < sysDist - sys.getRadius()) {
+                continue;
+            }
             float rad = Const.SUN_RADIUS;
-            if (camPos.dst(sysPos) - rad < viewDist) {
+            if (sysDist - rad < viewDist) {
                 drawer.draw(starTexture, 2 * rad, 2 * rad, rad, rad, sysPos.x, sysPos.y, 0, SolColor.WHITE);
             }
 
-            Vector2 beltIconPos = SolMath.getVec();
             ArrayList<SystemBelt> belts = sys.getBelts();
             for (SystemBelt belt : belts) {
                 float beltRad = belt.getRadius();
                 float halfWidth = belt.getHalfWidth();
+                if (viewDist < sysDist - beltRad - halfWidth || viewDist < beltRad - halfWidth - sysDist) {
+                    continue;
+                }
                 int beltIconCount = (int) (.12f * beltRad);
                 for (int i = 0; i < beltIconCount; i++) {
                     float angle = 360f * i / beltIconCount;
@@ -190,12 +310,25 @@ private void drawPlanets(GameDrawer drawer, SolGame game, float viewDist, Planet
                     beltIconPos.add(sysPos);
                     drawer.draw(beltTexture, 2 * halfWidth, 2 * halfWidth, halfWidth, halfWidth, beltIconPos.x, beltIconPos.y, angle * 3, SolColor.WHITE);
                 }
-                float outerRad = beltRad + halfWidth;
+            }
+        }
+        SolMath.free(beltIconPos);
+    }
+
+    private void drawSystemDangers(GameDrawer drawer, SolGame game, float viewDist, Vector2 camPos, float heroDmgCap, float camAngle) {
+        ArrayList<SolSystem> systems = game.getPlanetManager().getSystems();
+        for (SolSystem sys : systems) {
+            Vector2 sysPos = sys.getPosition();
+            if (viewDist < camPos.dst(sysPos) - sys.getRadius()) {
+                continue;
+            }
+            float dangerRad = HardnessCalc.isDangerous(heroDmgCap, sys.getDps()) ? sys.getRadius() : 0;
+            for (SystemBelt belt : sys.getBelts()) {
+                float outerRad = belt.getRadius() + belt.getHalfWidth();
                 if (dangerRad < outerRad && HardnessCalc.isDangerous(heroDmgCap, belt.getDps())) {
                     dangerRad = outerRad;
                 }
             }
-            SolMath.free(beltIconPos);
             if (dangerRad < sys.getInnerRadius() && HardnessCalc.isDangerous(heroDmgCap, sys.getInnerDps())) {
                 dangerRad = sys.getInnerRadius();
             }
@@ -203,7 +336,10 @@ private void drawPlanets(GameDrawer drawer, SolGame game, float viewDist, Planet
                 drawAreaDanger(drawer, dangerRad, sysPos, .5f, camAngle);
             }
         }
+    }
 
+    private void drawPlanets(GameDrawer drawer, SolGame game, float viewDist, Planet np, Vector2 camPos, float heroDmgCap,
+                             float camAngle) {
         ArrayList<Planet> planets = game.getPlanetManager().getPlanets();
         for (Planet planet : planets) {
             Vector2 planetPos = planet.getPosition();
@@ -246,37 +382,37 @@ private void drawAreaDanger(GameDrawer drawer, float rad, Vector2 position, floa
 
     private void drawIcons(GameDrawer drawer, SolGame game, float iconSz, float viewDist, FactionManager factionManager,
                            Hero hero, Vector2 camPos, float heroDmgCap) {
-        List<SolObject> objs = game.getObjectManager().getObjects();
-        for (SolObject o : objs) {
-            Vector2 oPos = o.getPosition();
+        IconSnapshot icons = game.getIconSnapshot();
+        for (SolShip ship : icons.getShips()) {
+            Vector2 oPos = ship.getPosition();
             if (viewDist < camPos.dst(oPos)) {
                 continue;
             }
-            if ((o instanceof SolShip)) {
-                SolShip ship = (SolShip) o;
-                String hint = ship.getPilot().getMapHint();
-                if (hint == null && !DebugOptions.DETAILED_MAP) {
-                    continue;
-                }
-                drawObjIcon(iconSz, oPos, ship.getAngle(), factionManager, hero, ship.getPilot().getFaction(), heroDmgCap, o, ship.getHull().config.getIcon(), drawer);
+            String hint = ship.getPilot().getMapHint();
+            if (hint == null && !DebugOptions.DETAILED_MAP) {
+                continue;
             }
-            if ((o instanceof StarPort)) {
-                StarPort sp = (StarPort) o;
-                drawStarPortIcon(drawer, iconSz, sp.getFromPlanet(), sp.getToPlanet());
+            drawObjIcon(iconSz, oPos, ship.getAngle(), factionManager, hero, ship.getPilot().getFaction(), heroDmgCap, ship, ship.getHull().config.getIcon(), drawer);
+        }
+        for (StarPort sp : icons.getStarPorts()) {
+            if (viewDist < camPos.dst(sp.getPosition())) {
+                continue;
             }
-            // Fix for when the player is in hyper. Hero is null and replaced in ObjMan with a StarPort.Transcendent
-            if ((o instanceof StarPort.Transcendent)) {
-                StarPort.Transcendent t = (StarPort.Transcendent) o;
-                if (t.getShip().getPilot().isPlayer()) {
-                    FarShip ship = game.getHero().getTranscendentHero().getShip();
-                    drawObjIcon(iconSz, oPos, t.getAngle(), factionManager, hero, ship.getPilot().getFaction(), heroDmgCap, o, ship.getHullConfig().getIcon(), drawer);
-                }
-
+            drawStarPortIcon(drawer, iconSz, sp.getFromPlanet(), sp.getToPlanet());
+        }
+        // Fix for when the player is in hyper. Hero is null and replaced in ObjMan with a StarPort.Transcendent
+        for (StarPort.Transcendent t : icons.getTranscendents()) {
+            Vector2 oPos = t.getPosition();
+            if (viewDist < camPos.dst(oPos)) {
+                continue;
+            }
+            if (t.getShip().getPilot().isPlayer()) {
+                FarShip ship = game.getHero().getTranscendentHero().getShip();
+                drawObjIcon(iconSz, oPos, t.getAngle(), factionManager, hero, ship.getPilot().getFaction(), heroDmgCap, t, ship.getHullConfig().getIcon(), drawer);
             }
         }
 
-        List<FarShip> farShips = game.getObjectManager().getFarShips();
-        for (FarShip ship : farShips) {
+        for (FarShip ship : icons.getFarShips()) {
             Vector2 oPos = ship.getPosition();
             if (viewDist < camPos.dst(oPos)) {
                 continue;
@@ -288,8 +424,7 @@ private void drawIcons(GameDrawer drawer, SolGame game, float iconSz, float view
             drawObjIcon(iconSz, oPos, ship.getAngle(), factionManager, hero, ship.getPilot().getFaction(), heroDmgCap, ship, ship.getHullConfig().getIcon(), drawer);
         }
 
-        List<StarPort.FarStarPort> farPorts = game.getObjectManager().getFarPorts();
-        for (StarPort.FarStarPort sp : farPorts) {
+        for (StarPort.FarStarPort sp : icons.getFarPorts()) {
             drawStarPortIcon(drawer, iconSz, sp.getFrom(), sp.getTo());
         }
         BeaconHandler bh = game.getBeaconHandler();
@@ -316,21 +451,16 @@ public void drawStarPortIcon(GameDrawer drawer, float iconSz, Planet from, Plane
     }
 
     private void drawStarNodes(GameDrawer drawer, SolGame game, float viewDist, Vector2 camPos, float starNodeW) {
-        List<SolObject> objs = game.getObjectManager().getObjects();
-        for (SolObject o : objs) {
-            if (!(o instanceof StarPort)) {
-                continue;
-            }
-            Vector2 oPos = o.getPosition();
+        IconSnapshot icons = game.getIconSnapshot();
+        for (StarPort sp : icons.getStarPorts()) {
+            Vector2 oPos = sp.getPosition();
             if (viewDist < camPos.dst(oPos)) {
                 continue;
             }
-            StarPort sp = (StarPort) o;
             drawStarNode(drawer, sp.getFromPlanet(), sp.getToPlanet(), starNodeW);
         }
 
-        List<StarPort.FarStarPort> farPorts = game.getObjectManager().getFarPorts();
-        for (StarPort.FarStarPort sp : farPorts) {
+        for (StarPort.FarStarPort sp : icons.getFarPorts()) {
             Vector2 oPos = sp.getPosition();
             if (viewDist < camPos.dst(oPos)) {
                 continue;
@@ -350,17 +480,12 @@ private void drawStarNode(GameDrawer drawer, Planet from, Planet to, float starN
     }
 
     private void drawNpGround(GameDrawer drawer, SolGame game, float viewDist, Planet np, Vector2 camPos) {
-        ObjectManager objectManager = game.getObjectManager();
-        List<SolObject> objs = objectManager.getObjects();
-        for (SolObject o : objs) {
-            if (!(o instanceof TileObject)) {
-                continue;
-            }
-            TileObject to = (TileObject) o;
+        IconSnapshot icons = game.getIconSnapshot();
+        for (TileObject to : icons.getTiles()) {
             if (to.getPlanet() != np) {
                 continue;
             }
-            Vector2 oPos = o.getPosition();
+            Vector2 oPos = to.getPosition();
             if (viewDist < camPos.dst(oPos)) {
                 continue;
             }
@@ -368,17 +493,11 @@ private void drawNpGround(GameDrawer drawer, SolGame game, float viewDist, Plane
             drawPlanetTile(to.getTile(), sz, drawer, oPos, to.getAngle());
         }
 
-        List<FarObjData> farObjs = objectManager.getFarObjs();
-        for (FarObjData fod : farObjs) {
-            FarObject o = fod.fo;
-            if (!(o instanceof FarTileObject)) {
-                continue;
-            }
-            FarTileObject to = (FarTileObject) o;
+        for (FarTileObject to : icons.getFarTiles()) {
             if (to.getPlanet() != np) {
                 continue;
             }
-            Vector2 oPos = o.getPosition();
+            Vector2 oPos = to.getPosition();
             if (viewDist < camPos.dst(oPos)) {
                 continue;
             }
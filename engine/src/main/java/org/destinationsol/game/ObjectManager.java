@@ -22,19 +22,28 @@
 import org.destinationsol.common.DebugCol;
 import org.destinationsol.common.SolColor;
 import org.destinationsol.common.SolMath;
+import org.destinationsol.common.SolRandom;
 import org.destinationsol.game.drawables.Drawable;
 import org.destinationsol.game.drawables.DrawableManager;
 import org.destinationsol.game.drawables.FarDrawable;
 import org.destinationsol.game.ship.FarShip;
+import org.destinationsol.profiling.EngineEvents;
+import org.destinationsol.ui.DebugCollector;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class ObjectManager implements UpdateAwareSystem {
     private static final float MAX_RADIUS_RECALC_AWAIT = 1f;
+    /**
+     * The longest time a far ship far away from the camera is left without an update. Such ships are moved over the
+     * whole time at once, so the cost of far ships depends on how many are near the camera rather than in the galaxy.
+     */
+    private static final float MAX_FAR_SHIP_STEP = 2f;
     private final List<SolObject> myObjs;
     private final List<SolObject> myToRemove;
     private final List<SolObject> myToAdd;
@@ -42,14 +51,19 @@ public class ObjectManager implements UpdateAwareSystem {
     private final List<FarShip> myFarShips;
     private final List<StarPort.FarStarPort> myFarPorts;
     private final World myWorld;
+    private final PhysicsStepper myPhysicsStepper;
     private final Box2DDebugRenderer myDr;
     private final HashMap<SolObject, Float> myRadii;
 
     private float myFarEndDist;
     private float myFarBeginDist;
-    private float myRadiusRecalcAwait;
+    private boolean myRadiiStale;
+    private float myRadiusRecalcTime;
+    private float myTime;
+    private int myFarShipUpdates;
+    private long myAddedCount;
 
-    public ObjectManager(SolContactListener contactListener, FactionManager factionManager) {
+    public ObjectManager(SolContactListener contactListener, FactionManager factionManager, GameTimers timers) {
         myObjs = new ArrayList<>();
         myToRemove = new ArrayList<>();
         myToAdd = new ArrayList<>();
@@ -59,8 +73,18 @@ public ObjectManager(SolContactListener contactListener, FactionManager factionM
         myWorld = new World(new Vector2(0, 0), true);
         myWorld.setContactListener(contactListener);
         myWorld.setContactFilter(new SolContactFilter(factionManager));
+        myPhysicsStepper = new PhysicsStepper();
         myDr = new Box2DDebugRenderer();
         myRadii = new HashMap<>();
+        myRadiiStale = true;
+        scheduleRadiusRecalc(timers);
+    }
+
+    private void scheduleRadiusRecalc(GameTimers timers) {
+        timers.schedule(MAX_RADIUS_RECALC_AWAIT, () -> {
+            myRadiiStale = true;
+            scheduleRadiusRecalc(timers);
+        });
     }
 
     public boolean containsFarObj(FarObject fo) {
@@ -76,21 +100,23 @@ public boolean containsFarObj(FarObject fo) {
     public void update(SolGame game, float timeStep) {
         addRemove(game);
 
-        myWorld.step(timeStep, 6, 2);
+        myPhysicsStepper.step(myWorld, timeStep);
 
         SolCam cam = game.getCam();
         Vector2 camPos = cam.getPosition();
         myFarEndDist = 1.5f * cam.getViewDistance();
         myFarBeginDist = 1.33f * myFarEndDist;
 
-        boolean recalcRad = false;
-        if (myRadiusRecalcAwait > 0) {
-            myRadiusRecalcAwait -= timeStep;
-        } else {
-            myRadiusRecalcAwait = MAX_RADIUS_RECALC_AWAIT;
-            recalcRad = true;
+        myTime = game.getTime();
+        boolean recalcRad = myRadiiStale;
+        if (recalcRad) {
+            myRadiiStale = false;
+            myRadiusRecalcTime = myTime;
         }
 
+        EngineEvents.FarNearTransitions transitionsEvent = EngineEvents.beginFarNearTransitions();
+        int toFar = 0;
+        int toNear = 0;
         for (SolObject o : myObjs) {
             o.update(game);
             SolMath.checkVectorsTaken(o);
@@ -114,6 +140,7 @@ public void update(SolGame game, float timeStep) {
                         addFarObjNow(fo);
                     }
                     removeObjDelayed(o);
+                    toFar++;
                     continue;
                 }
             }
@@ -122,16 +149,27 @@ public void update(SolGame game, float timeStep) {
             }
         }
 
+        myFarShipUpdates = 0;
         for (Iterator<FarObjData> it = myFarObjs.iterator(); it.hasNext(); ) {
             FarObjData fod = it.next();
             FarObject fo = fod.fo;
-            fo.update(game);
+            if (fo instanceof FarShip) {
+                updateFarShip(game, fod, (FarShip) fo, camPos, timeStep);
+            } else {
+                fo.update(game);
+            }
             SolMath.checkVectorsTaken(fo);
             if (fo.shouldBeRemoved(game)) {
                 removeFo(it, fo);
                 continue;
             }
             if (isNear(fod, camPos, timeStep)) {
+                if (fo instanceof FarShip && fod.pendingTime > 0) {
+                    // the ship can come near between its updates if the view grows or the camera jumps, so it has to
+                    // catch up on the time it is owed before it takes its place in the world
+                    ((FarShip) fo).update(game, fod.pendingTime);
+                    fod.pendingTime = 0;
+                }
                 SolObject o = fo.toObject(game);
                 // Ensure that StarPorts are added straight away so that we can see if they overlap
                 if (o instanceof StarPort) {
@@ -140,9 +178,46 @@ public void update(SolGame game, float timeStep) {
                     addObjDelayed(o);
                 }
                 removeFo(it, fo);
+                toNear++;
             }
         }
         addRemove(game);
+        if (transitionsEvent != null && (toFar > 0 || toNear > 0)) {
+            transitionsEvent.commit(toFar, toNear, myFarObjs.size());
+        }
+
+        if (DebugOptions.MISC_INFO) {
+            int compactShips = 0;
+            for (FarShip farShip : myFarShips) {
+                if (farShip.getLoadout() != null) {
+                    compactShips++;
+                }
+            }
+            DebugCollector.debug("Far ships", myFarShips.size() + " (" + compactShips + " without items), "
+                    + myFarShipUpdates + " updated");
+        }
+    }
+
+    /**
+     * Updates a far ship, or lets the time pass if it is far enough from the camera. The step is chosen so that the
+     * ship can not get near the camera before its next update, even if both fly towards each other at full speed.
+     */
+    private void updateFarShip(SolGame game, FarObjData fod, FarShip ship, Vector2 camPos, float timeStep) {
+        fod.pendingTime += timeStep;
+        if (fod.pendingTime < fod.updateStep) {
+            return;
+        }
+        ship.update(game, fod.pendingTime);
+        fod.pendingTime = 0;
+        myFarShipUpdates++;
+        float distToBegin = ship.getPosition().dst(camPos) - myFarBeginDist;
+        if (distToBegin <= 0) {
+            fod.updateStep = 0;
+            return;
+        }
+        float step = Math.min(distToBegin / (2 * Const.MAX_MOVE_SPD), MAX_FAR_SHIP_STEP);
+        // spread the updates of ships created at the same time over several frames
+        fod.updateStep = step * SolRandom.randomFloat(.75f, 1);
     }
 
     private void removeFo(Iterator<FarObjData> it, FarObject fo) {
@@ -162,7 +237,7 @@ private void recalcRadius(SolObject o) {
 
     public float getPresenceRadius(SolObject o) {
         Float res = getRadius(o);
-        return res + Const.MAX_MOVE_SPD * (MAX_RADIUS_RECALC_AWAIT - myRadiusRecalcAwait);
+        return res + Const.MAX_MOVE_SPD * (myTime - myRadiusRecalcTime);
     }
 
     public Float getRadius(SolObject o) {
@@ -180,7 +255,7 @@ private void addRemove(SolGame game) {
         myToRemove.clear();
 
         for (SolObject o : myToAdd) {
-            addObjNow(game, o);
+            addObj(game, o);
         }
         myToAdd.clear();
     }
@@ -193,6 +268,11 @@ private void removeObjNow(SolGame game, SolObject o) {
     }
 
     public void addObjNow(SolGame game, SolObject o) {
+        myAddedCount++;
+        addObj(game, o);
+    }
+
+    private void addObj(SolGame game, SolObject o) {
         if (DebugOptions.ASSERTIONS && myObjs.contains(o)) {
             throw new AssertionError("This object is already contained in the list of objects to add now!");
         }
@@ -303,6 +383,7 @@ public void addObjDelayed(SolObject p) {
             throw new AssertionError("This object is already contained in the list of objects to add!");
         }
         myToAdd.add(p);
+        myAddedCount++;
     }
 
     public void removeObjDelayed(SolObject obj) {
@@ -316,6 +397,10 @@ public World getWorld() {
         return myWorld;
     }
 
+    public PhysicsStepper getPhysicsStepper() {
+        return myPhysicsStepper;
+    }
+
     public void resetDelays() {
         for (FarObjData data : myFarObjs) {
             data.delay = 0;
@@ -327,7 +412,19 @@ public List<FarObjData> getFarObjs() {
         return myFarObjs;
     }
 
+    /**
+     * Returns the number of objects and far objects that have been added to the manager so far, including the ones that
+     * turned from far objects into objects or back. Comparing it before and after a piece of generation gives the
+     * number of objects it created.
+     *
+     * @return The number of objects added
+     */
+    public long getAddedCount() {
+        return myAddedCount;
+    }
+
     public void addFarObjNow(FarObject fo) {
+        myAddedCount++;
         float depth = 1f;
         if (fo instanceof FarDrawable) {
             List<Drawable> drawables = ((FarDrawable) fo).getDrawables();
@@ -345,6 +442,20 @@ public void addFarObjNow(FarObject fo) {
         }
     }
 
+    /**
+     * Removes all far objects matching the filter straight away. Must not be called while the objects are updated.
+     *
+     * @param filter Returns true for the far objects to remove
+     */
+    public void removeFarObjsNow(Predicate<FarObject> filter) {
+        for (Iterator<FarObjData> it = myFarObjs.iterator(); it.hasNext(); ) {
+            FarObject fo = it.next().fo;
+            if (filter.test(fo)) {
+                removeFo(it, fo);
+            }
+        }
+    }
+
     public List<FarShip> getFarShips() {
         return myFarShips;
     }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.TimeUtils;
+import org.destinationsol.Const;
+
+/**
+ * Advances the Box2D world, keeping both the size of a single physics step and its cost bounded.
+ * <p>
+ * Time steps longer than {@link Const#REAL_TIME_STEP} (for example with a game speed multiplier above one) are split
+ * into several equal sub-steps, so that fast objects do not tunnel. The solver iteration counts start at the values
+ * from {@link DebugOptions} and, if the measured cost of a step exceeds {@link #STEP_TIME_BUDGET}, the velocity and then
+ * the position iterations are lowered one at a time until the step fits again. They are raised back once there is
+ * plenty of headroom. This trades a bit of solver accuracy for not falling behind the fixed update rate.
+ * <p>
+ * As the step cost is measured by the wall clock, adapting makes the simulation depend on how loaded the machine is.
+ * While input is recorded or played back, adapting is turned off with {@link #setAdaptive(boolean)} and the
+ * iterations stay at their configured maximum, so that a replay simulates the same game as the recording.
+ * <p>
+ * Bodies only move in whole ticks. Frames that fall between two ticks draw the objects and the camera in between their
+ * last two states, see {@link org.destinationsol.game.drawables.DrawableManager#rememberPoses(ObjectManager)} and
+ * {@link SolCam#interpolate(float)}.
+ */
+public class PhysicsStepper {
+    /**
+     * Share of the fixed update step that a single physics step may take before the iterations are lowered.
+     */
+    private static final float STEP_TIME_BUDGET = .25f * Const.REAL_TIME_STEP;
+    private static final int MIN_VELOCITY_ITERATIONS = 2;
+    private static final int MIN_POSITION_ITERATIONS = 1;
+    private static final int MAX_SUB_STEPS = 8;
+    /**
+     * Weight of the newest sample in the smoothed step time.
+     */
+    private static final float SMOOTHING = .1f;
+
+    private int velocityIterations;
+    private int positionIterations;
+    private float smoothedStepTime;
+    private int lastSubSteps;
+    private boolean adaptive = true;
+
+    public PhysicsStepper() {
+        velocityIterations = getMaxVelocityIterations();
+        positionIterations = getMaxPositionIterations();
+    }
+
+    public void step(World world, float timeStep) {
+        if (timeStep <= 0) {
+            lastSubSteps = 0;
+            return;
+        }
+        int subSteps = Math.min(MAX_SUB_STEPS, (int) Math.ceil(timeStep / Const.REAL_TIME_STEP - .001f));
+        subSteps = Math.max(1, subSteps);
+        float subStep = timeStep / subSteps;
+
+        long start = TimeUtils.nanoTime();
+        for (int i = 0; i < subSteps; i++) {
+            world.step(subStep, velocityIterations, positionIterations);
+        }
+        float stepTime = (TimeUtils.nanoTime() - start) / 1e9f / subSteps;
+        lastSubSteps = subSteps;
+
+        smoothedStepTime += (stepTime - smoothedStepTime) * SMOOTHING;
+        if (adaptive) {
+            adaptIterations();
+        }
+    }
+
+    /**
+     * Sets whether the iterations are lowered when steps take too long. When turned off, the iterations go back to
+     * their configured maximum and stay there.
+     *
+     * @param adaptive Whether to adapt the iterations to the step cost
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+        if (!adaptive) {
+            velocityIterations = getMaxVelocityIterations();
+            positionIterations = getMaxPositionIterations();
+        }
+    }
+
+    private void adaptIterations() {
+        if (smoothedStepTime > STEP_TIME_BUDGET) {
+            if (velocityIterations > MIN_VELOCITY_ITERATIONS) {
+                velocityIterations--;
+            } else if (positionIterations > MIN_POSITION_ITERATIONS) {
+                positionIterations--;
+            }
+        } else if (smoothedStepTime < STEP_TIME_BUDGET / 2) {
+            if (positionIterations < getMaxPositionIterations()) {
+                positionIterations++;
+            } else if (velocityIterations < getMaxVelocityIterations()) {
+                velocityIterations++;
+            }
+        }
+    }
+
+    private static int getMaxVelocityIterations() {
+        return Math.max(MIN_VELOCITY_ITERATIONS, DebugOptions.PHYSICS_VELOCITY_ITERATIONS);
+    }
+
+    private static int getMaxPositionIterations() {
+        return Math.max(MIN_POSITION_ITERATIONS, DebugOptions.PHYSICS_POSITION_ITERATIONS);
+    }
+
+    public int getVelocityIterations() {
+        return velocityIterations;
+    }
+
+    public int getPositionIterations() {
+        return positionIterations;
+    }
+
+    /**
+     * Returns the smoothed real time taken by a single physics sub-step, in seconds.
+     *
+     * @return The smoothed physics step time
+     */
+    public float getSmoothedStepTime() {
+        return smoothedStepTime;
+    }
+
+    /**
+     * Returns the number of sub-steps the last update was split into.
+     *
+     * @return The number of sub-steps of the last update
+     */
+    public int getLastSubSteps() {
+        return lastSubSteps;
+    }
+}
@@ -19,7 +19,9 @@
 import org.destinationsol.Const;
 import org.destinationsol.game.input.AiPilot;
 import org.destinationsol.game.input.BeaconDestProvider;
+import org.destinationsol.game.input.InputRecording;
 import org.destinationsol.game.input.Pilot;
+import org.destinationsol.game.input.RecordedPilot;
 import org.destinationsol.game.input.UiControlledPilot;
 import org.destinationsol.game.item.Gun;
 import org.destinationsol.game.item.ItemContainer;
@@ -153,11 +155,14 @@ private float grantPlayerMoney(ShipConfig shipConfig, RespawnState respawnState,
     }
 
     private Pilot createPilot(SolGame game, boolean isMouseControl) {
+        Pilot pilot;
         if (isMouseControl) {
-            return new AiPilot(new BeaconDestProvider(), true, Faction.LAANI, false, "you", Const.AI_DET_DIST);
+            pilot = new AiPilot(new BeaconDestProvider(), true, Faction.LAANI, false, "you", Const.AI_DET_DIST);
         } else {
-            return new UiControlledPilot(game.getScreens().mainGameScreen);
+            pilot = new UiControlledPilot(game.getScreens().mainGameScreen);
         }
+        InputRecording inputRecording = game.getSolApplication().getInputRecording();
+        return inputRecording == null ? pilot : new RecordedPilot(pilot, inputRecording);
     }
 
     private Vector2 findPlayerSpawnPosition(ShipConfig shipConfig, boolean shouldSpawnOnGalaxySpawnPosition, SolGame game) {
@@ -32,15 +32,30 @@
 import org.destinationsol.game.item.SolItem;
 import org.destinationsol.game.ship.SolShip;
 import org.destinationsol.game.ship.hulls.HullConfig;
+import org.destinationsol.profiling.EngineEvents;
+import org.destinationsol.save.SaveData;
+import org.destinationsol.save.ShipSaveSnapshot;
+import org.destinationsol.save.WorldStateReader;
+import org.destinationsol.save.WorldStateWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,21 +63,81 @@ public class SaveManager {
     protected static final String SAVE_FILE_NAME = "prevShip.ini";
     protected static final String MERC_SAVE_FILE = "mercenaries.json";
     protected static final String WORLD_SAVE_FILE_NAME = "world.json";
+    protected static final String WORLD_STATE_FILE_NAME = "world.dat";
 
     private static Logger logger = LoggerFactory.getLogger(SaveManager.class);
 
     protected SaveManager() { }
 
     public static void writeShips(HullConfig hull, float money, List<SolItem> itemsList, Hero hero, HullConfigManager hullConfigManager) {
+        writeShipSnapshot(createShipSnapshot(hull, money, itemsList, hero, hullConfigManager));
+    }
+
+    /**
+     * Serialises the hero's ship and mercenaries. Must be called on the game thread, between ticks.
+     *
+     * @return A snapshot that can be written by {@link #writeShipSnapshot(ShipSaveSnapshot)} on any thread
+     */
+    public static ShipSaveSnapshot createShipSnapshot(HullConfig hull, float money, List<SolItem> itemsList, Hero hero, HullConfigManager hullConfigManager) {
         String hullName = hullConfigManager.getName(hull);
 
-        writeMercs(hero, hullConfigManager);
+        String mercs = mercsToString(hero, hullConfigManager);
 
         String items = itemsToString(itemsList);
 
         Vector2 pos = hero.getPosition();
 
-        IniReader.write(SAVE_FILE_NAME, "hull", hullName, "money", (int) money, "items", items, "x", pos.x, "y", pos.y);
+        String ship = IniReader.format("hull", hullName, "money", (int) money, "items", items, "x", pos.x, "y", pos.y);
+        return new ShipSaveSnapshot(ship, mercs);
+    }
+
+    /**
+     * Writes the ship and mercenary files of the snapshot. Each file is replaced atomically, so a crash while saving
+     * leaves the previous save intact.
+     *
+     * @param snapshot The snapshot to write
+     */
+    public static void writeShipSnapshot(ShipSaveSnapshot snapshot) {
+        EngineEvents.Save event = EngineEvents.beginSave();
+        boolean saved = true;
+        try {
+            writeAtomically(MERC_SAVE_FILE, snapshot.getMercenaryContents());
+        } catch (IOException e) {
+            logger.error("Could not save mercenaries, " + e.getMessage());
+            saved = false;
+        }
+        try {
+            writeAtomically(SAVE_FILE_NAME, snapshot.getShipContents());
+        } catch (IOException e) {
+            logger.error("Could not save ship, " + e.getMessage());
+            saved = false;
+        }
+        // like the world saves, only a complete save is reported
+        if (saved && event != null) {
+            event.commit("ship", snapshot.getSize());
+        }
+    }
+
+    /**
+     * Writes the contents to a temporary file next to the target and then renames it over the target.
+     *
+     * @param fileName Name of the resource to write
+     * @param contents Contents to write
+     * @throws IOException if the file could not be written
+     */
+    private static void writeAtomically(String fileName, String contents) throws IOException {
+        writeAtomically(fileName, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeAtomically(String fileName, byte[] contents) throws IOException {
+        Path target = Paths.get(getResourcePath(fileName)).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, contents);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
     }
 
     /**
@@ -93,14 +168,11 @@ private static String itemsToString(List<SolItem> items) {
     }
 
     /**
-     * Writes the player's mercenaries to their JSON file.
-     * The file will be created if it doesn't exist.
+     * Encodes the player's mercenaries as the contents of their JSON file.
      *
      * @param hero The hero we're dealing with
      */
-    private static void writeMercs(Hero hero, HullConfigManager hullConfigManager) {
-        PrintWriter writer;
-
+    private static String mercsToString(Hero hero, HullConfigManager hullConfigManager) {
         ItemContainer mercenaries = hero.getMercs();
 
         List<JsonObject> jsons = new ArrayList<JsonObject>();
@@ -129,18 +201,9 @@ private static void writeMercs(Hero hero, HullConfigManager hullConfigManager) {
             }
         }
 
+        // The whole file is always replaced, because we don't want dead mercs respawning
         Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        String stringToWrite = gson.toJson(jsons);
-
-        // Using PrintWriter because it truncates the file if it exists or creates a new one if it doesn't
-        // And truncation is good because we don't want dead mercs respawning
-        try {
-            writer = new PrintWriter(getResourcePath(MERC_SAVE_FILE), "UTF-8");
-            writer.write(stringToWrite);
-            writer.close();
-        } catch (FileNotFoundException | UnsupportedEncodingException e) {
-            logger.error("Could not save mercenaries, " + e.getMessage());
-        }
+        return gson.toJson(jsons);
     }
 
     /**
@@ -205,6 +268,7 @@ public static ShipConfig readShip(HullConfigManager hullConfigs, ItemManager ite
      * @param numberOfSystems
      */
     public static void saveWorld(int numberOfSystems) {
+        EngineEvents.Save event = EngineEvents.beginSave();
         Long seed = SolRandom.getSeed();
         String fileName = SaveManager.getResourcePath(WORLD_SAVE_FILE_NAME);
 
@@ -220,6 +284,9 @@ public static void saveWorld(int numberOfSystems) {
             writer = new PrintWriter(fileName, "UTF-8");
             writer.write(stringToWrite);
             logger.debug("Successfully saved the world file");
+            if (event != null) {
+                event.commit("world", stringToWrite.length());
+            }
         } catch (FileNotFoundException | UnsupportedEncodingException e) {
             logger.error("Could not save world file", e);
             return;
@@ -267,4 +334,51 @@ public static WorldConfig loadWorld() {
 
         return null;
     }
+
+    /**
+     * Saves the state of the world (ships, planets, mazes and faction dispositions) in the binary world save format.
+     *
+     * @param data The state of the world to save
+     */
+    public static void saveWorldState(SaveData data) {
+        EngineEvents.Save event = EngineEvents.beginSave();
+        long start = System.nanoTime();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            new WorldStateWriter().write(data, SolRandom.getSeed(), out);
+            writeAtomically(WORLD_STATE_FILE_NAME, bytes.toByteArray());
+            logger.info("Saved world state of {} systems and {} ships in {} ms ({} bytes)", data.systems.size(),
+                    data.farObjects.size(), (System.nanoTime() - start) / 1e6f, bytes.size());
+            if (event != null) {
+                event.commit("world state", bytes.size());
+            }
+        } catch (IOException e) {
+            logger.error("Could not save world state", e);
+        }
+    }
+
+    /**
+     * Loads the state of the world saved by {@link #saveWorldState(SaveData)} onto the freshly generated galaxy.
+     *
+     * @param game The game the galaxy of which has been generated from the saved seed
+     * @return The loaded state, or null if there is no saved state or it does not match the galaxy
+     */
+    public static SaveData loadWorldState(SolGame game) {
+        if (!resourceExists(WORLD_STATE_FILE_NAME)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(getResourcePath(WORLD_STATE_FILE_NAME))))) {
+            SaveData data = new WorldStateReader(game).read(SolRandom.getSeed(), in);
+            logger.info("Loaded world state of {} systems and {} ships in {} ms", data.systems.size(),
+                    data.farObjects.size(), (System.nanoTime() - start) / 1e6f);
+            return data;
+        } catch (IOException | RuntimeException e) {
+            // the reader rejects saves it cannot apply, but a save from another version of the game may still trip
+            // over something it does not check, which should not stop the game from loading either
+            logger.error("Could not load world state, the world will be regenerated", e);
+            return null;
+        }
+    }
 }
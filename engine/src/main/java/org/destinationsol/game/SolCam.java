@@ -51,6 +51,11 @@ public class SolCam implements UpdateAwareSystem {
     private float myAngle;
     private float myZoom;
     private Vector2 position;
+    private final Vector2 myPrevPosition;
+    private final Vector2 myDrawPosition;
+    private final Vector2 myShakeOffset;
+    private float myPrevAngle;
+    private float myDrawAngle;
     private DisplayDimensions displayDimensions;
 
     public SolCam() {
@@ -60,6 +65,9 @@ public SolCam() {
         viewport = new ScreenViewport(myCam);
         myZoom = calcZoom(Const.CAM_VIEW_DIST_GROUND);
         position = new Vector2();
+        myPrevPosition = new Vector2();
+        myDrawPosition = new Vector2();
+        myShakeOffset = new Vector2();
         myTmpVec = new Vector3();
     }
 
@@ -69,6 +77,8 @@ public Matrix4 getMtx() {
 
     @Override
     public void update(SolGame game, float timeStep) {
+        myPrevPosition.set(position);
+        myPrevAngle = myAngle;
         if (game.isPaused()) {
             updateMapZoom(game, timeStep);
             return;
@@ -82,6 +92,7 @@ public void update(SolGame game, float timeStep) {
             Vector2 heroPos = hero.getPosition();
             if (myZoom * VIEWPORT_HEIGHT < heroPos.dst(position)) {
                 position.set(heroPos);
+                myPrevPosition.set(position);
                 game.getObjectManager().resetDelays();
             } else {
                 Vector2 moveDiff = SolMath.getVec(hero.getVelocity());
@@ -102,15 +113,13 @@ public void update(SolGame game, float timeStep) {
         }
         myPrevHeroLife = life;
 
-        Vector2 position = SolMath.fromAl(SolRandom.randomFloat(180), myShake);
-        position.add(this.position);
-        applyPos(position.x, position.y);
-        SolMath.free(position);
+        SolMath.fromAl(myShakeOffset, SolRandom.randomFloat(180), myShake);
+        applyPos(position.x + myShakeOffset.x, position.y + myShakeOffset.y);
 
         float desiredAngle = myCamRotStrategy.getRotation(this.position, game);
         float rotationSpeed = CAM_ROT_SPD * timeStep;
         myAngle = SolMath.approachAngle(myAngle, desiredAngle, rotationSpeed);
-        applyAngle();
+        applyAngle(myAngle);
 
         updateMapZoom(game, timeStep);
     }
@@ -185,9 +194,9 @@ private void applyInput(SolGame game) {
         SolMath.free(v);
     }
 
-    private void applyAngle() {
+    private void applyAngle(float angle) {
         Vector2 v = SolMath.getVec(0, 1);
-        SolMath.rotate(v, myAngle);
+        SolMath.rotate(v, angle);
         myCam.up.set(v.x, v.y, 0); // up is actually down, fcuk!!
         SolMath.free(v);
     }
@@ -212,8 +221,43 @@ public Vector2 getPosition() {
         return position;
     }
 
+    /**
+     * Places the camera between where it was before the last simulation tick and where it is now, for drawing a frame
+     * that falls between two ticks.
+     *
+     * @param alpha How far the frame is past the last tick, as a fraction of a tick, see
+     *              {@link SolApplication#getInterpolationAlpha()}
+     */
+    public void interpolate(float alpha) {
+        myDrawPosition.set(myPrevPosition).lerp(position, alpha);
+        applyPos(myDrawPosition.x + myShakeOffset.x, myDrawPosition.y + myShakeOffset.y);
+        myDrawAngle = myPrevAngle + SolMath.norm(myAngle - myPrevAngle) * alpha;
+        applyAngle(myDrawAngle);
+        myCam.update();
+    }
+
+    /**
+     * Returns the position the camera was last drawn from, see {@link #interpolate(float)}. Unlike
+     * {@link #getPosition()} it lags up to a tick behind the simulation.
+     *
+     * @return The drawn position of the camera, without shake
+     */
+    public Vector2 getDrawPosition() {
+        return myDrawPosition;
+    }
+
+    /**
+     * Returns the angle the camera was last drawn at, see {@link #interpolate(float)}.
+     *
+     * @return The drawn angle of a vector pointing right on screen
+     */
+    public float getDrawAngle() {
+        return myDrawAngle;
+    }
+
     public void setPos(Vector2 position) {
         this.position.set(position);
+        myPrevPosition.set(position);
     }
 
     public void drawDebug(GameDrawer drawer) {
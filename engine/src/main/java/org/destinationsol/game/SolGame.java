@@ -17,7 +17,6 @@
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Timer;
 import org.destinationsol.CommonDrawer;
 import org.destinationsol.Const;
 import org.destinationsol.GameOptions;
@@ -35,7 +34,8 @@
 import org.destinationsol.game.context.Context;
 import org.destinationsol.game.drawables.DrawableDebugger;
 import org.destinationsol.game.drawables.DrawableManager;
-import org.destinationsol.game.farBg.FarBackgroundManagerOld;
+import org.destinationsol.game.farBg.FarBackgroundManager;
+import org.destinationsol.game.input.InputRecording;
 import org.destinationsol.game.item.ItemManager;
 import org.destinationsol.game.item.LootBuilder;
 import org.destinationsol.game.item.MercItem;
@@ -48,15 +48,22 @@
 import org.destinationsol.game.planet.SolSystem;
 import org.destinationsol.game.planet.SunSingleton;
 import org.destinationsol.game.screens.GameScreens;
+import org.destinationsol.game.ship.FarShip;
 import org.destinationsol.game.ship.ShipAbility;
 import org.destinationsol.game.ship.ShipBuilder;
 import org.destinationsol.game.ship.SloMo;
+import org.destinationsol.game.ship.SolShip;
 import org.destinationsol.game.ship.hulls.HullConfig;
 import org.destinationsol.mercenary.MercenaryUtils;
+import org.destinationsol.save.SaveData;
+import org.destinationsol.save.SaveWriter;
+import org.destinationsol.save.WorldStateWriter;
 import org.destinationsol.modules.ModuleManager;
 import org.destinationsol.ui.DebugCollector;
 import org.destinationsol.ui.TutorialManager;
 import org.destinationsol.ui.UiDrawer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -65,6 +72,12 @@
 import java.util.TreeMap;
 
 public class SolGame {
+    private static final Logger logger = LoggerFactory.getLogger(SolGame.class);
+    /**
+     * Real time between automatic saves of the hero's ship, in seconds.
+     */
+    private static final float AUTOSAVE_INTERVAL = 30;
+
     private final GameScreens gameScreens;
     private final SolCam camera;
     private final ObjectManager objectManager;
@@ -78,9 +91,10 @@ public class SolGame {
     private final ShipBuilder shipBuilder;
     private final HullConfigManager hullConfigManager;
     private final GridDrawer gridDrawer;
-    private final FarBackgroundManagerOld farBackgroundManagerOld;
+    private final FarBackgroundManager farBackgroundManager;
     private final FactionManager factionManager;
     private final MapDrawer mapDrawer;
+    private final IconSnapshot iconSnapshot;
     private final ShardBuilder shardBuilder;
     private final ItemManager itemManager;
     private final StarPort.Builder starPortBuilder;
@@ -93,14 +107,19 @@ public class SolGame {
     private final MountDetectDrawer mountDetectDrawer;
     private final TutorialManager tutorialManager;
     private final GalaxyFiller galaxyFiller;
+    private final GalaxyStreamer galaxyStreamer;
+    private final GameTimers timers;
+    private final SaveWriter saveWriter;
     private Hero hero;
     private float timeStep;
     private float time;
+    private long tick;
     private boolean paused;
     private float timeFactor;
     private RespawnState respawnState;
     private SortedMap<Integer, List<UpdateAwareSystem>> onPausedUpdateSystems;
     private SortedMap<Integer, List<UpdateAwareSystem>> updateSystems;
+    private float autosaveAwait;
 
     public SolGame(String shipName, boolean tut, boolean isNewGame, CommonDrawer commonDrawer, Context context, WorldConfig worldConfig) {
         solApplication = context.get(SolApplication.class);
@@ -112,7 +131,7 @@ public SolGame(String shipName, boolean tut, boolean isNewGame, CommonDrawer com
         camera = new SolCam();
         gameScreens = new GameScreens(solApplication, context);
         tutorialManager = tut ? new TutorialManager(gameScreens, solApplication.isMobile(), solApplication.getOptions(), this) : null;
-        farBackgroundManagerOld = new FarBackgroundManagerOld();
+        farBackgroundManager = new FarBackgroundManager(solApplication.getOptions().starDensity);
         shipBuilder = new ShipBuilder();
         EffectTypes effectTypes = new EffectTypes();
         specialEffects = new SpecialEffects(effectTypes, gameColors);
@@ -123,25 +142,31 @@ public SolGame(String shipName, boolean tut, boolean isNewGame, CommonDrawer com
         planetManager = new PlanetManager(hullConfigManager, gameColors, itemManager);
         SolContactListener contactListener = new SolContactListener(this);
         factionManager = new FactionManager();
-        objectManager = new ObjectManager(contactListener, factionManager);
+        timers = new GameTimers();
+        objectManager = new ObjectManager(contactListener, factionManager, timers);
+        // iterations adapted to the wall clock would make a replay simulate a different game than the recording
+        objectManager.getPhysicsStepper().setAdaptive(solApplication.getInputRecording() == null);
         gridDrawer = new GridDrawer();
         chunkManager = new ChunkManager();
         partMan = new PartMan();
         asteroidBuilder = new AsteroidBuilder();
         lootBuilder = new LootBuilder();
         mapDrawer = new MapDrawer();
+        iconSnapshot = new IconSnapshot();
         shardBuilder = new ShardBuilder();
         galaxyFiller = new GalaxyFiller(hullConfigManager);
+        galaxyStreamer = new GalaxyStreamer();
         starPortBuilder = new StarPort.Builder();
         drawableDebugger = new DrawableDebugger();
         mountDetectDrawer = new MountDetectDrawer();
         beaconHandler = new BeaconHandler();
+        saveWriter = new SaveWriter();
         timeFactor = 1;
 
         // the ordering of update aware systems is very important, switching them up can cause bugs!
         updateSystems = new TreeMap<Integer, List<UpdateAwareSystem>>();
         List<UpdateAwareSystem> defaultSystems = new ArrayList<UpdateAwareSystem>();
-        defaultSystems.addAll(Arrays.asList(planetManager, camera, chunkManager, mountDetectDrawer, objectManager, mapDrawer, soundManager, beaconHandler, drawableDebugger));
+        defaultSystems.addAll(Arrays.asList(timers, planetManager, camera, chunkManager, galaxyStreamer, mountDetectDrawer, objectManager, mapDrawer, soundManager, beaconHandler, drawableDebugger));
         if (tutorialManager != null) {
             defaultSystems.add(tutorialManager);
         }
@@ -182,23 +207,15 @@ public SolGame(String shipName, boolean tut, boolean isNewGame, CommonDrawer com
         // from this point we're ready!
         respawnState = new RespawnState();
         planetManager.fill(solNames, worldConfig.getNumberOfSystems());
-        createGame(shipName, isNewGame);
+        SaveData saveData = isNewGame || tutorialManager != null ? null : SaveManager.loadWorldState(this);
+        createGame(shipName, isNewGame, saveData);
         if (!isNewGame) {
             createAndSpawnMercenariesFromSave();
         }
         SolMath.checkVectorsTaken(null);
-        Timer.schedule(new Timer.Task() {
-            @Override
-            public void run() {
-                if (!hero.isTranscendent()) {
-                    saveShip();
-//                    Console.getInstance().println("Game saved");
-                }
-            }
-        }, 0, 30);
     }
 
-    private void createGame(String shipName, boolean shouldSpawnOnGalaxySpawnPosition) {
+    private void createGame(String shipName, boolean shouldSpawnOnGalaxySpawnPosition, SaveData saveData) {
         /*
          * shipName will be null on respawn and continue, meaning the old ship will be loaded.
          * If shipName is not null then a new ship has to be created.
@@ -206,13 +223,25 @@ private void createGame(String shipName, boolean shouldSpawnOnGalaxySpawnPositio
         boolean isNewShip = shipName != null;
         ShipConfig shipConfig = readShipFromConfigOrLoadFromSaveIfNull(shipName, isNewShip);
         if (!respawnState.isPlayerRespawned()) {
-            galaxyFiller.fill(this, hullConfigManager, itemManager, shipConfig.hull.getInternalName().split(":")[0]);
+            long start = System.nanoTime();
+            if (saveData != null) {
+                galaxyFiller.restore(this, saveData);
+                galaxyStreamer.restore(saveData);
+                FactionInfo.restoreDisposition(saveData.factionDispositions);
+            } else {
+                galaxyFiller.fill(this, hullConfigManager, itemManager, shipConfig.hull.getInternalName().split(":")[0]);
+                galaxyStreamer.loadAround(this, galaxyFiller.getMainStationPosition());
+            }
+            logger.debug("Filled the galaxy in {} ms", (System.nanoTime() - start) / 1e6f);
         }
+        InputRecording inputRecording = solApplication.getInputRecording();
+        boolean isMouseControl = inputRecording != null ? inputRecording.isMouseControl()
+                : solApplication.getOptions().controlType == GameOptions.ControlType.MOUSE;
         hero = new PlayerCreator().createPlayer(shipConfig,
                 shouldSpawnOnGalaxySpawnPosition,
                 respawnState,
                 this,
-                solApplication.getOptions().controlType == GameOptions.ControlType.MOUSE,
+                isMouseControl,
                 isNewShip);
         hero.initialise(this);
     }
@@ -243,11 +272,15 @@ public void onGameEnd() {
             saveShip();
         }
         saveWorld();
+        saveWriter.shutdown();
         objectManager.dispose();
+        mapDrawer.dispose();
+        farBackgroundManager.dispose();
     }
 
     /**
-     * Saves the world's seed so we can regenerate the same world later
+     * Saves the world's seed so we can regenerate the same world later, along with the state of its ships, planets
+     * and factions
      */
     public void saveWorld() {
         if (tutorialManager != null) {
@@ -255,6 +288,34 @@ public void saveWorld() {
         }
 
         SaveManager.saveWorld(getPlanetManager().getSystems().size());
+        SaveManager.saveWorldState(createSaveData());
+    }
+
+    private SaveData createSaveData() {
+        SaveData saveData = new SaveData();
+        saveData.systems.addAll(planetManager.getSystems());
+        saveData.planets.addAll(planetManager.getPlanets());
+        saveData.mazes.addAll(planetManager.getMazes());
+        saveData.factionDispositions.addAll(FactionInfo.getDisposition());
+        saveData.mainStationHull = galaxyFiller.getMainStationHullConfig();
+        saveData.mainStationPosition.set(galaxyFiller.getMainStationPosition());
+        saveData.populatedSystems.addAll(galaxyStreamer.getPopulatedSystems());
+        saveData.farObjects.addAll(galaxyStreamer.getEvictedShips(this));
+
+        for (SolObject object : objectManager.getObjects()) {
+            if (object instanceof SolShip) {
+                FarShip farShip = ((SolShip) object).toFarObject();
+                if (WorldStateWriter.isPersistent(farShip)) {
+                    saveData.farObjects.add(farShip);
+                }
+            }
+        }
+        for (FarObjData farObjData : objectManager.getFarObjs()) {
+            if (farObjData.fo instanceof FarShip && WorldStateWriter.isPersistent((FarShip) farObjData.fo)) {
+                saveData.farObjects.add(farObjData.fo);
+            }
+        }
+        return saveData;
     }
 
     public void saveShip() {
@@ -285,7 +346,7 @@ public void saveShip() {
             items = respawnState.getRespawnItems();
         }
 
-        SaveManager.writeShips(hull, money, items, hero, hullConfigManager);
+        saveWriter.submit(SaveManager.createShipSnapshot(hull, money, items, hero, hullConfigManager));
     }
 
     public GameScreens getScreens() {
@@ -293,6 +354,7 @@ public GameScreens getScreens() {
     }
 
     public void update() {
+        drawableManager.rememberPoses(objectManager);
         if (paused) {
             onPausedUpdateSystems.keySet().forEach(key -> onPausedUpdateSystems.get(key).forEach(system -> system.update(this, timeStep)));
         } else {
@@ -301,11 +363,30 @@ public void update() {
                     updateSystems.get(key).forEach(
                             system -> system.update(this, timeStep)));
         }
+        updateAutosave();
+    }
+
+    /**
+     * Snapshots the hero's ship every {@link #AUTOSAVE_INTERVAL} seconds. This runs on the game thread at the end of a
+     * tick, so the snapshot is always consistent; the file writing happens on the {@link SaveWriter} thread.
+     */
+    private void updateAutosave() {
+        autosaveAwait -= Const.REAL_TIME_STEP;
+        if (autosaveAwait <= 0) {
+            autosaveAwait = AUTOSAVE_INTERVAL;
+            if (!hero.isTranscendent()) {
+                saveShip();
+            }
+        }
+        if (DebugOptions.MISC_INFO) {
+            DebugCollector.debug("Last save", saveWriter.getLastSaveDuration() + " ms, " + saveWriter.getLastSnapshotSize() + " chars");
+        }
     }
 
     private void updateTime() {
         scaleTimeStep();
         time += timeStep;
+        tick++;
     }
 
     private void scaleTimeStep() {
@@ -321,6 +402,8 @@ private void scaleTimeStep() {
     }
 
     public void draw() {
+        camera.interpolate(solApplication.getInterpolationAlpha());
+        iconSnapshot.build(this);
         drawableManager.draw(this);
     }
 
@@ -404,7 +487,7 @@ public void respawn() {
             setRespawnState();
             objectManager.removeObjDelayed(hero.getShip());
         }
-        createGame(null, true);
+        createGame(null, true, null);
     }
 
     public FactionManager getFactionMan() {
@@ -456,12 +539,24 @@ public MapDrawer getMapDrawer() {
         return mapDrawer;
     }
 
+    public IconSnapshot getIconSnapshot() {
+        return iconSnapshot;
+    }
+
     public ShardBuilder getShardBuilder() {
         return shardBuilder;
     }
 
-    public FarBackgroundManagerOld getFarBackgroundgManagerOld() {
-        return farBackgroundManagerOld;
+    public FarBackgroundManager getFarBackgroundManager() {
+        return farBackgroundManager;
+    }
+
+    public GalaxyStreamer getGalaxyStreamer() {
+        return galaxyStreamer;
+    }
+
+    public GameTimers getTimers() {
+        return timers;
     }
 
     public GalaxyFiller getGalaxyFiller() {
@@ -484,6 +579,15 @@ public float getTime() {
         return time;
     }
 
+    /**
+     * Returns the number of simulation ticks the game has run, not counting the ones during which it was paused.
+     *
+     * @return The number of ticks
+     */
+    public long getTick() {
+        return tick;
+    }
+
     public void drawDebugUi(UiDrawer uiDrawer) {
         drawableDebugger.draw(uiDrawer);
     }
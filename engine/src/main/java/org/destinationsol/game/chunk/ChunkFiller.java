@@ -45,6 +45,7 @@
 import org.destinationsol.game.planet.SystemBelt;
 import org.destinationsol.game.ship.FarShip;
 import org.destinationsol.game.ship.hulls.HullConfig;
+import org.destinationsol.profiling.EngineEvents;
 
 import java.util.ArrayList;
 import java.util.Optional;
@@ -85,6 +86,8 @@ public void fill(SolGame game, Vector2 chunk, RemoveController removeController,
         if (DebugOptions.NO_OBJS) {
             return;
         }
+        EngineEvents.ChunkFill event = EngineEvents.beginChunkFill();
+        long addedBefore = game.getObjectManager().getAddedCount();
 
         // Determine the center of the chunk by multiplying the chunk coordinates with the chunk size and adding half a chunk's size
         Vector2 chunkCenter = new Vector2(chunk);
@@ -108,6 +111,9 @@ public void fill(SolGame game, Vector2 chunk, RemoveController removeController,
             fillDust(game, chunkCenter, removeController);
             config.ifPresent(spaceEnvConfig -> fillJunk(game, removeController, spaceEnvConfig, chunkCenter));
         }
+        if (event != null) {
+            event.commit((int) chunk.x, (int) chunk.y, fillFarBackground, (int) (game.getObjectManager().getAddedCount() - addedBefore));
+        }
     }
 
     private Optional<SpaceEnvConfig> getConfig(SolGame game, Vector2 chunkCenter, float[] densityMultiplier,
@@ -64,6 +64,20 @@ public interface Drawable {
      */
     void prepare(SolObject o);
 
+    /**
+     * Called before a draw of this drawable instead of {@link #prepare(SolObject)} when the frame falls between two
+     * simulation ticks, with the object placed between where it was before the last tick and where it is now.
+     *
+     * By default the drawable is prepared as if the object was at its current position.
+     *
+     * @param o Object against which this drawable is drawn.
+     * @param basePosition Position at which to draw the object
+     * @param baseAngle Angle at which to draw the object
+     */
+    default void prepare(SolObject o, Vector2 basePosition, float baseAngle) {
+        prepare(o);
+    }
+
     /**
      * Returns position of the origin of this drawable.
      *
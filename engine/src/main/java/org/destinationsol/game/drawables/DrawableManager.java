@@ -23,6 +23,7 @@
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.OrderedMap;
 import org.destinationsol.common.DebugCol;
+import org.destinationsol.common.SolMath;
 import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.GameDrawer;
 import org.destinationsol.game.MapDrawer;
@@ -34,14 +35,24 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class DrawableManager {
+    /**
+     * Objects that moved further than this in a single tick are taken to have jumped, and are drawn where they are
+     * rather than somewhere along the way.
+     */
+    private static final float MAX_INTERPOLATED_MOVE = 4f;
+
     private final DrawableLevel[] drawableLevels;
     private final ArrayList<OrderedMap<Texture, List<Drawable>>> drawables;
     private final Set<Drawable> visibleDrawables = new HashSet<>();
     private final GameDrawer drawer;
+    private final Map<SolObject, Pose> previousPoses = new IdentityHashMap<>();
+    private final Vector2 drawPosition = new Vector2();
 
     public DrawableManager(GameDrawer drawer) {
         drawableLevels = DrawableLevel.values();
@@ -66,6 +77,28 @@ public static float radiusFromDrawables(List<Drawable> drawables) {
     public void removeObject(SolObject o) {
         List<Drawable> drawables = o.getDrawables();
         removeAll(drawables);
+        previousPoses.remove(o);
+    }
+
+    /**
+     * Remembers where every object is before a simulation tick, so that frames drawn before the next tick can place
+     * the objects between their old and new positions. Objects added during the tick are drawn where they are until
+     * the tick after.
+     *
+     * @param objectManager The object manager of the game
+     */
+    public void rememberPoses(ObjectManager objectManager) {
+        List<SolObject> objects = objectManager.getObjects();
+        for (int i = 0, size = objects.size(); i < size; i++) {
+            SolObject object = objects.get(i);
+            Pose pose = previousPoses.get(object);
+            if (pose == null) {
+                pose = new Pose();
+                previousPoses.put(object, pose);
+            }
+            pose.position.set(object.getPosition());
+            pose.angle = object.getAngle();
+        }
     }
 
     public void removeAll(List<Drawable> drawables) {
@@ -113,8 +146,9 @@ public void draw(SolGame game) {
         }
 
         SolCam cam = game.getCam();
+        float alpha = game.getSolApplication().getInterpolationAlpha();
         drawer.updateMatrix(game);
-        game.getFarBackgroundgManagerOld().draw(drawer, cam, game);
+        game.getFarBackgroundManager().draw(drawer, cam, game);
         Vector2 camPos = cam.getPosition();
         float viewDistance = cam.getViewDistance();
 
@@ -129,12 +163,20 @@ public void draw(SolGame game) {
                 drawableLevelViewDistance *= drawables.get(0).getLevel().depth;
             }
             boolean isObjectVisible = isVisible(objectPosition, radius, camPos, drawableLevelViewDistance);
+            float drawAngle = object.getAngle();
+            Pose pose = isObjectVisible ? previousPoses.get(object) : null;
+            if (pose != null && pose.position.dst2(objectPosition) < MAX_INTERPOLATED_MOVE * MAX_INTERPOLATED_MOVE) {
+                drawPosition.set(pose.position).lerp(objectPosition, alpha);
+                drawAngle = pose.angle + SolMath.norm(drawAngle - pose.angle) * alpha;
+            } else {
+                drawPosition.set(objectPosition);
+            }
             for (Drawable drawable : drawables) {
                 if (!isObjectVisible || !drawable.isEnabled()) {
                     visibleDrawables.remove(drawable);
                     continue;
                 }
-                drawable.prepare(object);
+                drawable.prepare(object, drawPosition, drawAngle);
                 Vector2 draPos = drawable.getPosition();
                 float rr = drawable.getRadius();
                 boolean draInCam = isVisible(draPos, rr, camPos, drawableLevelViewDistance);
@@ -202,10 +244,25 @@ private boolean isVisible(Vector2 position, float radius, Vector2 camPosition, f
     }
 
 
+    /**
+     * @return The number of drawables found to be in view the last time the game was drawn
+     */
+    public int getVisibleCount() {
+        return visibleDrawables.size();
+    }
+
     public boolean isVisible(Drawable drawable) {
         return visibleDrawables.contains(drawable);
     }
 
+    /**
+     * Position and angle of an object before the last simulation tick.
+     */
+    private static class Pose {
+        private final Vector2 position = new Vector2();
+        private float angle;
+    }
+
     public void collectTextures(Collection<TextureAtlas.AtlasRegion> collector, Vector2 position) {
         for (Drawable drawable : visibleDrawables) {
             if (.5f * drawable.getRadius() < drawable.getPosition().dst(position)) {
@@ -105,8 +105,11 @@ public void update(SolGame game, SolObject o) {
 
     @Override
     public void prepare(SolObject object) {
-        float baseAngle = object.getAngle();
-        Vector2 basePosition = object.getPosition();
+        prepare(object, object.getPosition(), object.getAngle());
+    }
+
+    @Override
+    public void prepare(SolObject object, Vector2 basePosition, float baseAngle) {
         SolMath.toWorld(position, relativePosition, baseAngle, basePosition);
         angle = relativeAngle + baseAngle;
     }
@@ -131,7 +134,7 @@ public void draw(GameDrawer drawer, SolGame game) {
         float x = position.x;
         float y = position.y;
         if (level.depth != 1) {
-            Vector2 camPosition = game.getCam().getPosition();
+            Vector2 camPosition = game.getCam().getDrawPosition();
             x = (x - camPosition.x) / level.depth + camPosition.x;
             y = (y - camPosition.y) / level.depth + camPosition.y;
         }
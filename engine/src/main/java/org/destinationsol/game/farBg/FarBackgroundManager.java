@@ -0,0 +1,239 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.farBg;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.Const;
+import org.destinationsol.assets.Assets;
+import org.destinationsol.common.SolColor;
+import org.destinationsol.common.SolColorUtil;
+import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.GameDrawer;
+import org.destinationsol.game.SolCam;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.planet.Planet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Draws the nebula and the stars behind everything else.
+ * <p>
+ * The stars keep their place on the screen, so they are built once, in units of the view distance around the camera,
+ * into a static mesh. A shader scales them to the view distance, moves them to the camera and turns them with it, which
+ * makes drawing them a single draw call with no work per star. Where the shader cannot be compiled, the stars are
+ * instead moved on the CPU into one vertex array that is drawn in a single sprite batch call.
+ * <p>
+ * The number of stars is {@link #BASE_STAR_COUNT} times the star density from the game options.
+ */
+public class FarBackgroundManager {
+    public static final int BASE_STAR_COUNT = 400;
+    /**
+     * The mesh is indexed with shorts, which limits it to 32767 vertices, 4 for each star.
+     */
+    private static final int MAX_STAR_COUNT = 8000;
+    private static final int VERTEX_FLOATS = 7;
+    private static final int BATCH_VERTEX_FLOATS = 5;
+    private static final float[] CORNERS_X = {-.5f, -.5f, .5f, .5f};
+    private static final float[] CORNERS_Y = {-.5f, .5f, .5f, -.5f};
+    private static final String VERTEX_SHADER = ""
+            + "attribute vec2 a_position;\n"
+            + "attribute vec2 a_corner;\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "uniform vec2 u_camPos;\n"
+            + "uniform float u_viewDist;\n"
+            + "uniform vec2 u_rotation;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    vec2 corner = a_corner * u_viewDist;\n"
+            + "    corner = vec2(corner.x * u_rotation.x - corner.y * u_rotation.y, corner.x * u_rotation.y + corner.y * u_rotation.x);\n"
+            + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "    gl_Position = u_projTrans * vec4(u_camPos + a_position * u_viewDist + corner, 0.0, 1.0);\n"
+            + "}\n";
+    private static final String FRAGMENT_SHADER = ""
+            + "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "void main() {\n"
+            + "    gl_FragColor = v_color * texture2D(u_texture, v_texCoords);\n"
+            + "}\n";
+    private static final Logger logger = LoggerFactory.getLogger(FarBackgroundManager.class);
+
+    private final TextureAtlas.AtlasRegion nebulaTexture;
+    private final TextureAtlas.AtlasRegion starTexture;
+    private final float nebulaAngle;
+    private final Color nebulaTint;
+    private final int starCount;
+    /**
+     * Per vertex: the position of the star and the corner of the vertex, both in view distances, then the packed tint
+     * and the texture coordinates.
+     */
+    private final float[] starVertices;
+    private float[] batchVertices;
+    private Mesh starMesh;
+    private ShaderProgram starShader;
+    private boolean glPrepared;
+
+    public FarBackgroundManager(float starDensity) {
+        nebulaTexture = Assets.getAtlasRegion("engine:farBgNebulae");
+        if (SolRandom.test(.5f)) {
+            nebulaTexture.flip(nebulaTexture.isFlipX(), !nebulaTexture.isFlipY());
+        }
+        starTexture = Assets.getAtlasRegion("engine:farBgBigStar");
+
+        starCount = MathUtils.clamp(Math.round(BASE_STAR_COUNT * starDensity), 0, MAX_STAR_COUNT);
+        starVertices = new float[starCount * 4 * VERTEX_FLOATS];
+        Color tint = new Color();
+        int idx = 0;
+        for (int i = 0; i < starCount; i++) {
+            float shiftX = SolRandom.randomFloat(1);
+            float shiftY = SolRandom.randomFloat(1);
+            boolean small = SolRandom.test(.8f);
+            float szPercentage = (small ? .01f : .04f) * SolRandom.randomFloat(.5f, 1);
+            SolColorUtil.fromHSB(SolRandom.randomFloat(0, 1), .25f, 1, .7f, tint);
+            float color = tint.toFloatBits();
+            for (int corner = 0; corner < 4; corner++) {
+                starVertices[idx++] = shiftX;
+                starVertices[idx++] = shiftY;
+                starVertices[idx++] = CORNERS_X[corner] * szPercentage;
+                starVertices[idx++] = CORNERS_Y[corner] * szPercentage;
+                starVertices[idx++] = color;
+                starVertices[idx++] = CORNERS_X[corner] < 0 ? starTexture.getU() : starTexture.getU2();
+                starVertices[idx++] = CORNERS_Y[corner] < 0 ? starTexture.getV2() : starTexture.getV();
+            }
+        }
+
+        nebulaAngle = SolRandom.randomFloat(180);
+        nebulaTint = SolColor.col(.5f, 1);
+    }
+
+    public void draw(GameDrawer drawer, SolCam cam, SolGame game) {
+        Planet np = game.getPlanetManager().getNearestPlanet();
+        Vector2 camPos = cam.getPosition();
+        float nebPercentage = (camPos.dst(np.getPosition()) - np.getGroundHeight()) / (4 * Const.ATM_HEIGHT);
+        nebPercentage = MathUtils.clamp(nebPercentage, (float) 0, (float) 1);
+        nebulaTint.a = nebPercentage;
+
+        // the background stays with the camera, so it follows it between simulation ticks too
+        Vector2 drawPos = cam.getDrawPosition();
+        float vd = cam.getViewDistance();
+        drawer.draw(nebulaTexture, vd * 2, vd * 2, vd, vd, drawPos.x, drawPos.y, nebulaAngle, nebulaTint);
+        if (starCount == 0) {
+            return;
+        }
+        if (!glPrepared) {
+            prepareGl();
+        }
+        if (starShader != null) {
+            drawWithShader(drawer, cam, vd, drawPos);
+        } else {
+            drawWithBatch(drawer, vd, drawPos, cam.getDrawAngle());
+        }
+    }
+
+    private void prepareGl() {
+        glPrepared = true;
+        ShaderProgram shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            logger.warn("Could not compile the star shader, falling back to the sprite batch: {}", shader.getLog());
+            shader.dispose();
+            return;
+        }
+        starShader = shader;
+        starMesh = new Mesh(true, starCount * 4, starCount * 6,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, "a_position"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 2, "a_corner"),
+                VertexAttribute.ColorPacked(),
+                VertexAttribute.TexCoords(0));
+        starMesh.setVertices(starVertices);
+        short[] indices = new short[starCount * 6];
+        for (int i = 0; i < starCount; i++) {
+            short first = (short) (i * 4);
+            int idx = i * 6;
+            indices[idx] = first;
+            indices[idx + 1] = (short) (first + 1);
+            indices[idx + 2] = (short) (first + 2);
+            indices[idx + 3] = (short) (first + 2);
+            indices[idx + 4] = (short) (first + 3);
+            indices[idx + 5] = first;
+        }
+        starMesh.setIndices(indices);
+    }
+
+    private void drawWithShader(GameDrawer drawer, SolCam cam, float vd, Vector2 camPos) {
+        drawer.end();
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+        starTexture.getTexture().bind(0);
+        starShader.begin();
+        starShader.setUniformMatrix("u_projTrans", cam.getMtx());
+        starShader.setUniformf("u_camPos", camPos);
+        starShader.setUniformf("u_viewDist", vd);
+        starShader.setUniformf("u_rotation", MathUtils.cosDeg(cam.getDrawAngle()), MathUtils.sinDeg(cam.getDrawAngle()));
+        starShader.setUniformi("u_texture", 0);
+        starMesh.render(starShader, GL20.GL_TRIANGLES);
+        starShader.end();
+        drawer.begin();
+    }
+
+    private void drawWithBatch(GameDrawer drawer, float vd, Vector2 camPos, float camAngle) {
+        if (batchVertices == null) {
+            batchVertices = new float[starCount * 4 * BATCH_VERTEX_FLOATS];
+        }
+        float cos = MathUtils.cosDeg(camAngle);
+        float sin = MathUtils.sinDeg(camAngle);
+        int vertexCount = starCount * 4;
+        for (int i = 0; i < vertexCount; i++) {
+            int from = i * VERTEX_FLOATS;
+            int to = i * BATCH_VERTEX_FLOATS;
+            float cornerX = starVertices[from + 2] * vd;
+            float cornerY = starVertices[from + 3] * vd;
+            batchVertices[to] = camPos.x + starVertices[from] * vd + cornerX * cos - cornerY * sin;
+            batchVertices[to + 1] = camPos.y + starVertices[from + 1] * vd + cornerX * sin + cornerY * cos;
+            batchVertices[to + 2] = starVertices[from + 4];
+            batchVertices[to + 3] = starVertices[from + 5];
+            batchVertices[to + 4] = starVertices[from + 6];
+        }
+        drawer.drawAdditive(starTexture.getTexture(), batchVertices, batchVertices.length);
+    }
+
+    public void dispose() {
+        if (starMesh != null) {
+            starMesh.dispose();
+            starMesh = null;
+        }
+        if (starShader != null) {
+            starShader.dispose();
+            starShader = null;
+        }
+        glPrepared = false;
+    }
+}
@@ -104,6 +104,9 @@ public void setGun(SolGame game, SolObject o, Gun gun, boolean underShip, int sl
             drawables.addAll(dras1);
             game.getDrawableManager().addAll(dras1);
         }
+        if (o instanceof SolShip) {
+            ((SolShip) o).onEquipmentChanged();
+        }
     }
 
     public boolean isFixed() {
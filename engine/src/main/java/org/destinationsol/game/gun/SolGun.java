@@ -30,6 +30,7 @@
 import org.destinationsol.game.item.Clip;
 import org.destinationsol.game.item.Gun;
 import org.destinationsol.game.item.ItemContainer;
+import org.destinationsol.game.particle.EmitterTrigger;
 import org.destinationsol.game.particle.LightSource;
 import org.destinationsol.game.planet.Planet;
 import org.destinationsol.game.projectile.Projectile;
@@ -135,7 +136,7 @@ public void update(ItemContainer itemContainer, SolGame game, float gunAngle, So
         }
 
         boolean shot = shouldShoot && myCoolDown <= 0 && myItem.ammo > 0;
-        game.getPartMan().updateAllHullEmittersOfType(ship, "shoot", shot);
+        game.getPartMan().updateAllHullEmittersOfType(ship, EmitterTrigger.SHOOT, shot);
         if (shot) {
             Vector2 gunVelocity = creator.getVelocity();
             shoot(gunVelocity, game, gunAngle, muzzlePos, faction, creator, ship);
@@ -226,8 +226,12 @@ public String getMapHint() {
         return myMapHint;
     }
 
+    public MoveDestProvider getDestProvider() {
+        return myDestProvider;
+    }
+
     @Override
-    public void updateFar(SolGame game, FarShip farShip) {
+    public void updateFar(SolGame game, FarShip farShip, float timeStep) {
         Vector2 shipPos = farShip.getPosition();
         HullConfig hullConfig = farShip.getHullConfig();
         float maxIdleDist = getMaxIdleDist(hullConfig);
@@ -237,11 +241,10 @@ public void updateFar(SolGame game, FarShip farShip) {
         Vector2 velocity = farShip.getVelocity();
         float angle = farShip.getAngle();
         Engine engine = farShip.getEngine();
-        float ts = game.getTimeStep();
         if (dest == null || engine == null) {
             if (myPlanetBind == null) {
                 if (myBindAwait > 0) {
-                    myBindAwait -= ts;
+                    myBindAwait -= timeStep;
                 } else {
                     myPlanetBind = PlanetBind.tryBind(game, shipPos, angle);
                     myBindAwait = MAX_BIND_AWAIT;
@@ -249,7 +252,7 @@ public void updateFar(SolGame game, FarShip farShip) {
             }
             if (myPlanetBind != null) {
                 myPlanetBind.setDiff(velocity, shipPos, false);
-                velocity.scl(1 / ts);
+                velocity.scl(1 / timeStep);
                 angle = myPlanetBind.getDesiredAngle();
             }
         } else {
@@ -265,21 +268,25 @@ public void updateFar(SolGame game, FarShip farShip) {
                     desiredAngle = myMover.getBigObjAvoider().avoid(game, shipPos, dest, desiredAngle);
                 }
                 float desiredSpeed = myDestProvider.getDesiredSpeed();
-                float speedDiff = engine.getAcceleration() * ts;
+                float speedDiff = engine.getAcceleration() * timeStep;
                 float speed = SolMath.approach(velocity.len(), desiredSpeed, speedDiff);
                 if (toDestLen < speed) {
                     speed = toDestLen;
                 }
+                // with the long time steps of distant ships, make sure not to fly past the destination
+                if (toDestLen < speed * timeStep) {
+                    speed = toDestLen / timeStep;
+                }
                 SolMath.fromAl(velocity, desiredAngle, speed);
             }
-            angle = SolMath.approachAngle(angle, desiredAngle, engine.getMaxRotationSpeed() * ts);
+            angle = SolMath.approachAngle(angle, desiredAngle, engine.getMaxRotationSpeed() * timeStep);
         }
 
         farShip.setVelocity(velocity);
         farShip.setAngle(angle);
 
         Vector2 newPos = SolMath.getVec(velocity);
-        newPos.scl(ts);
+        newPos.scl(timeStep);
         newPos.add(shipPos);
         farShip.setPos(newPos);
         SolMath.free(newPos);
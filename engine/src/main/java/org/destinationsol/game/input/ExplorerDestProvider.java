@@ -42,6 +42,7 @@ public class ExplorerDestProvider implements MoveDestProvider {
     private Vector2 relativeDestination;
     private Planet planet;
     private float awaitOnPlanet;
+    private float lastUpdateTime = -1;
     private boolean landInDestination;
     private Vector2 destinationVelocity;
 
@@ -100,9 +101,13 @@ public boolean shouldStopNearDestination() {
 
     @Override
     public void update(SolGame game, Vector2 shipPos, float maxIdleDist, HullConfig hullConfig, SolShip nearestEnemy) {
+        // distant far ships are not updated every frame, so count the time that has actually passed
+        float time = game.getTime();
+        float elapsed = lastUpdateTime < 0 ? game.getTimeStep() : time - lastUpdateTime;
+        lastUpdateTime = time;
         if (destination.dst(shipPos) < maxIdleDist) {
             if (awaitOnPlanet > 0) {
-                awaitOnPlanet -= game.getTimeStep();
+                awaitOnPlanet -= elapsed;
             } else {
                 ArrayList<Planet> planets = system.getPlanets();
                 int planetIndex = SolRandom.randomInt(allowedSize());
@@ -142,4 +147,12 @@ public boolean shouldAvoidBigObjects() {
     public float getDesiredSpeed() {
         return desiredSpeed;
     }
+
+    public SolSystem getSystem() {
+        return system;
+    }
+
+    public boolean isAggressive() {
+        return isAggressive;
+    }
 }
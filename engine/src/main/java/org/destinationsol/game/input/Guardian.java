@@ -157,4 +157,8 @@ public Vector2 getDestinationVelocity() {
     public float getRelAngle() {
         return myRelAngle;
     }
+
+    public Pilot getTargetPilot() {
+        return myTargetPilot;
+    }
 }
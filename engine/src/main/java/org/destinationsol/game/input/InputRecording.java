@@ -0,0 +1,253 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.input;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The controls of the hero's ship over a game, recorded tick by tick, for playing the same game again.
+ * <p>
+ * Besides the inputs, a recording holds what a new game needs to start out the same way: the world seed, the number
+ * of systems, the starting ship, the control type and the seed of the game thread's unseeded random stream, which
+ * guns, loot, chunk filling and AI draw from (see {@link org.destinationsol.common.SolRandom#setRandomSeed(long)}).
+ * The simulation only advances in fixed ticks, and while a recording is made or played back the physics solver
+ * iterations stay at their configured maximum instead of following the measured step cost (see
+ * {@link org.destinationsol.game.PhysicsStepper#setAdaptive(boolean)}), so how loaded the machine is does not change
+ * the game. This makes it possible to profile the same heavy session before and after a change. The inputs are stored
+ * as the ticks at which they changed, so a recording of a long game stays small.
+ * <p>
+ * Playback is only as repeatable as the simulation is. Randomness drawn on other threads, the order of hash based
+ * collections and floating point results that differ between machines are not captured, so a replay of a long game
+ * on another machine or build may drift apart from the recording.
+ * <p>
+ * A recording is made by wrapping the pilot of the hero in a {@link RecordedPilot}, see
+ * {@link org.destinationsol.game.DebugOptions#RECORD_INPUT} and {@link org.destinationsol.game.DebugOptions#REPLAY_INPUT}.
+ * Only what the pilot does is recorded: actions taken through other screens, such as buying items or pausing, are not
+ * played back.
+ */
+public class InputRecording {
+    public static final int UP = 1;
+    public static final int LEFT = 1 << 1;
+    public static final int RIGHT = 1 << 2;
+    public static final int SHOOT = 1 << 3;
+    public static final int SHOOT2 = 1 << 4;
+    public static final int ABILITY = 1 << 5;
+    private static final int MAGIC = 0x44534952; // "DSIR"
+    private static final int VERSION = 2;
+
+    private final long seed;
+    private final long randomSeed;
+    private final int numberOfSystems;
+    private final String shipName;
+    private final boolean mouseControl;
+    private final boolean replay;
+    private long[] ticks;
+    private int[] inputs;
+    private int size;
+    private long endTick;
+    private int cursor;
+
+    /**
+     * Starts an empty recording of a new game.
+     *
+     * @param seed The seed of the world
+     * @param randomSeed The seed the unseeded random stream of the game thread is started from
+     * @param numberOfSystems The number of systems in the world
+     * @param shipName The name of the ship the hero starts with
+     * @param mouseControl Whether the ship is controlled with the mouse, in which case the hero has an AI pilot
+     */
+    public InputRecording(long seed, long randomSeed, int numberOfSystems, String shipName, boolean mouseControl) {
+        this(seed, randomSeed, numberOfSystems, shipName, mouseControl, false, 64);
+    }
+
+    private InputRecording(long seed, long randomSeed, int numberOfSystems, String shipName, boolean mouseControl,
+                           boolean replay, int capacity) {
+        this.seed = seed;
+        this.randomSeed = randomSeed;
+        this.numberOfSystems = numberOfSystems;
+        this.shipName = shipName;
+        this.mouseControl = mouseControl;
+        this.replay = replay;
+        ticks = new long[Math.max(capacity, 1)];
+        inputs = new int[Math.max(capacity, 1)];
+        endTick = -1;
+    }
+
+    /**
+     * Reads a recording to play back.
+     *
+     * @param fileName The file to read
+     * @return The recording
+     * @throws IOException If the file could not be read or is not a recording
+     */
+    public static InputRecording read(String fileName) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(fileName + " is not an input recording");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported input recording version " + version);
+            }
+            long seed = in.readLong();
+            long randomSeed = in.readLong();
+            int numberOfSystems = in.readInt();
+            String shipName = in.readUTF();
+            boolean mouseControl = in.readBoolean();
+            long endTick = in.readLong();
+            int size = in.readInt();
+            InputRecording recording = new InputRecording(seed, randomSeed, numberOfSystems, shipName, mouseControl, true, size);
+            for (int i = 0; i < size; i++) {
+                recording.ticks[i] = in.readLong();
+                recording.inputs[i] = in.readInt();
+            }
+            recording.size = size;
+            recording.endTick = endTick;
+            return recording;
+        }
+    }
+
+    /**
+     * Writes the recording.
+     *
+     * @param fileName The file to write
+     * @throws IOException If the file could not be written
+     */
+    public void write(String fileName) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeLong(randomSeed);
+            out.writeInt(numberOfSystems);
+            out.writeUTF(shipName);
+            out.writeBoolean(mouseControl);
+            out.writeLong(endTick);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(ticks[i]);
+                out.writeInt(inputs[i]);
+            }
+        }
+    }
+
+    /**
+     * Records the inputs of a tick. Ticks have to be recorded in order.
+     *
+     * @param tick The tick, see {@link org.destinationsol.game.SolGame#getTick()}
+     * @param tickInputs The inputs, a combination of {@link #UP}, {@link #LEFT}, {@link #RIGHT}, {@link #SHOOT},
+     *                   {@link #SHOOT2} and {@link #ABILITY}
+     */
+    public void record(long tick, int tickInputs) {
+        if (replay) {
+            throw new IllegalStateException("Recording into a recording that is being played back");
+        }
+        if (tick < endTick) {
+            throw new IllegalArgumentException("Tick " + tick + " recorded after tick " + endTick);
+        }
+        endTick = tick;
+        if (size > 0 && inputs[size - 1] == tickInputs) {
+            return;
+        }
+        if (size == ticks.length) {
+            ticks = Arrays.copyOf(ticks, size * 2);
+            inputs = Arrays.copyOf(inputs, size * 2);
+        }
+        ticks[size] = tick;
+        inputs[size] = tickInputs;
+        size++;
+    }
+
+    /**
+     * Returns the inputs recorded for a tick, which are the ones of the last tick recorded at or before it. Looking up
+     * ticks in order takes constant time.
+     *
+     * @param tick The tick
+     * @return The inputs, or 0 if nothing was recorded up to the tick
+     */
+    public int getInputs(long tick) {
+        if (size == 0 || tick < ticks[0]) {
+            return 0;
+        }
+        if (tick < ticks[cursor]) {
+            cursor = 0;
+        }
+        while (cursor + 1 < size && ticks[cursor + 1] <= tick) {
+            cursor++;
+        }
+        return inputs[cursor];
+    }
+
+    /**
+     * Combines the inputs of a pilot into the form they are recorded in.
+     *
+     * @param pilot The pilot
+     * @return The inputs
+     */
+    public static int toInputs(Pilot pilot) {
+        return (pilot.isUp() ? UP : 0) | (pilot.isLeft() ? LEFT : 0) | (pilot.isRight() ? RIGHT : 0)
+                | (pilot.isShoot() ? SHOOT : 0) | (pilot.isShoot2() ? SHOOT2 : 0) | (pilot.isAbility() ? ABILITY : 0);
+    }
+
+    /**
+     * @return Whether the recording was read to be played back, rather than being recorded
+     */
+    public boolean isReplay() {
+        return replay;
+    }
+
+    /**
+     * @param tick The current tick
+     * @return Whether a recording being played back has no more inputs after the given tick
+     */
+    public boolean isFinished(long tick) {
+        return replay && tick > endTick;
+    }
+
+    /**
+     * @return The last tick recorded, or -1 if none was
+     */
+    public long getEndTick() {
+        return endTick;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public int getNumberOfSystems() {
+        return numberOfSystems;
+    }
+
+    public String getShipName() {
+        return shipName;
+    }
+
+    public boolean isMouseControl() {
+        return mouseControl;
+    }
+}
@@ -78,4 +78,16 @@ public Boolean shouldManeuver(boolean canShoot, SolShip nearestEnemy, boolean ne
     public Vector2 getDestinationVelocity() {
         return Vector2.Zero;
     }
+
+    public Planet getPlanet() {
+        return myPlanet;
+    }
+
+    public float getHeight() {
+        return myHeight;
+    }
+
+    public boolean isClockwise() {
+        return myCw;
+    }
 }
@@ -48,7 +48,15 @@ public interface Pilot {
 
     String getMapHint();
 
-    void updateFar(SolGame game, FarShip farShip);
+    /**
+     * Moves a far ship. Far ships that are well away from the camera are updated less often than once a frame, see
+     * {@link org.destinationsol.game.ObjectManager}.
+     *
+     * @param game The game
+     * @param farShip The ship to move
+     * @param timeStep The time since the ship was last updated
+     */
+    void updateFar(SolGame game, FarShip farShip, float timeStep);
 
     String toDebugString();
 
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.input;
+
+import org.destinationsol.game.Faction;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.ship.FarShip;
+import org.destinationsol.game.ship.SolShip;
+
+/**
+ * A pilot that records the controls of another pilot into an {@link InputRecording} or, when the recording is being
+ * played back, ignores the other pilot's controls and steers by the recording instead.
+ * <p>
+ * The controls are taken once per tick, when the ship updates its pilot, so that everything that reads them during
+ * the tick sees the same values whether they are being recorded or played back.
+ */
+public class RecordedPilot implements Pilot {
+    private final Pilot pilot;
+    private final InputRecording recording;
+    private int inputs;
+
+    public RecordedPilot(Pilot pilot, InputRecording recording) {
+        this.pilot = pilot;
+        this.recording = recording;
+    }
+
+    @Override
+    public void update(SolGame game, SolShip ship, SolShip nearestEnemy) {
+        if (recording.isReplay()) {
+            inputs = recording.getInputs(game.getTick());
+        } else {
+            pilot.update(game, ship, nearestEnemy);
+            inputs = InputRecording.toInputs(pilot);
+            recording.record(game.getTick(), inputs);
+        }
+    }
+
+    @Override
+    public boolean isUp() {
+        return (inputs & InputRecording.UP) != 0;
+    }
+
+    @Override
+    public boolean isLeft() {
+        return (inputs & InputRecording.LEFT) != 0;
+    }
+
+    @Override
+    public boolean isRight() {
+        return (inputs & InputRecording.RIGHT) != 0;
+    }
+
+    @Override
+    public boolean isShoot() {
+        return (inputs & InputRecording.SHOOT) != 0;
+    }
+
+    @Override
+    public boolean isShoot2() {
+        return (inputs & InputRecording.SHOOT2) != 0;
+    }
+
+    @Override
+    public boolean collectsItems() {
+        return pilot.collectsItems();
+    }
+
+    @Override
+    public boolean isAbility() {
+        return (inputs & InputRecording.ABILITY) != 0;
+    }
+
+    @Override
+    public Faction getFaction() {
+        return pilot.getFaction();
+    }
+
+    @Override
+    public void stringToFaction(String faction) {
+        pilot.stringToFaction(faction);
+    }
+
+    @Override
+    public boolean shootsAtObstacles() {
+        return pilot.shootsAtObstacles();
+    }
+
+    @Override
+    public float getDetectionDist() {
+        return pilot.getDetectionDist();
+    }
+
+    @Override
+    public String getMapHint() {
+        return pilot.getMapHint();
+    }
+
+    @Override
+    public void updateFar(SolGame game, FarShip farShip, float timeStep) {
+        pilot.updateFar(game, farShip, timeStep);
+    }
+
+    @Override
+    public String toDebugString() {
+        return pilot.toDebugString();
+    }
+
+    @Override
+    public boolean isPlayer() {
+        return pilot.isPlayer();
+    }
+}
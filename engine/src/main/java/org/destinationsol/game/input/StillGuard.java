@@ -32,9 +32,13 @@ public class StillGuard implements MoveDestProvider {
     private Vector2 myDestVelocity;
 
     public StillGuard(Vector2 target, SolGame game, ShipConfig sc) {
+        this(target, game, sc.hull);
+    }
+
+    public StillGuard(Vector2 target, SolGame game, HullConfig hullConfig) {
         myDest = new Vector2(target);
         myPlanetBind = PlanetBind.tryBind(game, myDest, 0);
-        myDesiredSpeed = sc.hull.getType() == HullConfig.Type.BIG ? Const.BIG_AI_SPD : Const.DEFAULT_AI_SPD;
+        myDesiredSpeed = hullConfig.getType() == HullConfig.Type.BIG ? Const.BIG_AI_SPD : Const.DEFAULT_AI_SPD;
         myDestVelocity = new Vector2();
     }
 
@@ -96,7 +96,7 @@ public String getMapHint() {
     }
 
     @Override
-    public void updateFar(SolGame game, FarShip farShip) {
+    public void updateFar(SolGame game, FarShip farShip, float timeStep) {
     }
 
     @Override
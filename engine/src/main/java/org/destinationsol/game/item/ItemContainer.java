@@ -32,6 +32,7 @@ public class ItemContainer implements Iterable<List<SolItem>> {
 
     private List<List<SolItem>> groups;
     private Set<List<SolItem>> newGroups;
+    private int version;
 
     public ItemContainer() {
         groups = new ArrayList<>();
@@ -79,6 +80,7 @@ public void add(SolItem addedItem) {
             if (item.isSame(addedItem)) {
                 if ((group.size() < MAX_STACK_SIZE)) {
                     group.add(addedItem);
+                    version++;
                 }
                 return;
             }
@@ -89,6 +91,7 @@ public void add(SolItem addedItem) {
         group.add(addedItem);
         groups.add(0, group);
         newGroups.add(group);
+        version++;
     }
 
     @Override
@@ -117,6 +120,7 @@ public void remove(SolItem item) {
                 remGroup = group;
             }
             if (removed) {
+                version++;
                 break;
             }
         }
@@ -169,9 +173,20 @@ public List<SolItem> getGroup(int groupIdx) {
         return groups.get(groupIdx);
     }
 
+    /**
+     * Returns a number that changes whenever an item is added to or removed from the container, for telling whether
+     * something derived from its contents has to be worked out again.
+     *
+     * @return The version of the contents
+     */
+    public int getVersion() {
+        return version;
+    }
+
     public void clear() {
         groups.clear();
         newGroups.clear();
+        version++;
     }
 
     private class ItemContainerIterator implements Iterator<List<SolItem>> {
@@ -65,7 +65,10 @@ public ItemManager(OggSoundManager soundManager, EffectTypes effectTypes, GameCo
     }
 
     public void fillContainer(ItemContainer itemContainer, String items) {
-        List<ItemConfig> list = parseItems(items);
+        fillContainer(itemContainer, parseItems(items));
+    }
+
+    public void fillContainer(ItemContainer itemContainer, List<ItemConfig> list) {
         for (ItemConfig itemConfig : list) {
             for (int i = 0; i < itemConfig.amount; i++) {
                 if (SolRandom.test(itemConfig.chance)) {
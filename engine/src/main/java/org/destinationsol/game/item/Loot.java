@@ -22,6 +22,7 @@
 import org.destinationsol.common.SolMath;
 import org.destinationsol.game.DmgType;
 import org.destinationsol.game.FarObject;
+import org.destinationsol.game.GameTimers;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.SolObject;
 import org.destinationsol.game.drawables.Drawable;
@@ -47,18 +48,19 @@ public class Loot implements SolObject {
     private final float mass;
 
     private SolShip owner;
-    private float ownerAwait;
     private int life;
     private float angle;
 
-    Loot(SolItem item, Body body, int life, List<Drawable> drawables, LightSource ls, SolShip owner) {
+    Loot(SolItem item, Body body, int life, List<Drawable> drawables, LightSource ls, SolShip owner, GameTimers timers) {
         this.body = body;
         this.life = life;
         this.item = item;
         this.drawables = drawables;
         lightSource = ls;
         this.owner = owner;
-        ownerAwait = MAX_OWNER_AWAIT;
+        if (owner != null) {
+            timers.schedule(MAX_OWNER_AWAIT, () -> this.owner = null);
+        }
         position = new Vector2();
         mass = this.body.getMass();
         setParamsFromBody();
@@ -68,12 +70,6 @@ public class Loot implements SolObject {
     public void update(SolGame game) {
         setParamsFromBody();
         lightSource.update(true, angle, game);
-        if (ownerAwait > 0) {
-            ownerAwait -= game.getTimeStep();
-            if (ownerAwait <= 0) {
-                owner = null;
-            }
-        }
         SolShip puller = null;
         float minDist = Float.MAX_VALUE;
         List<SolObject> objs = game.getObjectManager().getObjects();
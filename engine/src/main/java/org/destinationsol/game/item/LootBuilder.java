@@ -51,7 +51,7 @@ public Loot build(SolGame game, Vector2 position, SolItem item, Vector2 velocity
         Color col = item.getItemType().color;
         LightSource ls = new LightSource(sz + .18f, false, .5f, new Vector2(), col);
         ls.collectDrawables(drawables);
-        Loot loot = new Loot(item, b, life, drawables, ls, owner);
+        Loot loot = new Loot(item, b, life, drawables, ls, owner, game.getTimers());
         b.setUserData(loot);
         return loot;
     }
@@ -16,30 +16,41 @@
 
 package org.destinationsol.game.item;
 
-import org.destinationsol.game.SolGame;
+import org.destinationsol.game.GameTimers;
 
+import java.lang.ref.WeakReference;
 import java.util.List;
 
+/**
+ * The goods a trader has for sale. They are restocked every {@link #MAX_AWAIT} seconds of game time by an action on
+ * the {@link GameTimers}, so traders do not need to be updated in between.
+ */
 public class TradeContainer {
     private static final float MAX_AWAIT = 180f;
 
     private final TradeConfig config;
     private final ItemContainer myItems;
 
-    private float myAwait;
-
-    public TradeContainer(TradeConfig config) {
+    public TradeContainer(TradeConfig config, GameTimers timers) {
         this.config = config;
         myItems = new ItemContainer();
+        restock();
+        scheduleRestock(timers, this);
     }
 
-    public void update(SolGame game) {
-        if (0 < myAwait) {
-            myAwait -= game.getTimeStep();
-            return;
-        }
+    // the action only keeps a weak reference, so that the timers do not keep traders that are gone from the game alive
+    private static void scheduleRestock(GameTimers timers, TradeContainer container) {
+        WeakReference<TradeContainer> reference = new WeakReference<>(container);
+        timers.schedule(MAX_AWAIT, () -> {
+            TradeContainer restocked = reference.get();
+            if (restocked != null) {
+                restocked.restock();
+                scheduleRestock(timers, restocked);
+            }
+        });
+    }
 
-        myAwait = MAX_AWAIT;
+    private void restock() {
         myItems.clear();
         List<ItemConfig> items = config.items;
         for (ItemConfig i : items) {
@@ -53,6 +64,10 @@ public void update(SolGame game) {
         }
     }
 
+    public TradeConfig getConfig() {
+        return config;
+    }
+
     public ItemContainer getItems() {
         return myItems;
     }
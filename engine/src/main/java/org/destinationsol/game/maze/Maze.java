@@ -18,16 +18,21 @@
 
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.Const;
+import org.destinationsol.common.RandomStream;
+import org.destinationsol.common.SolRandom;
 import org.destinationsol.game.HardnessCalc;
 import org.destinationsol.game.SolCam;
 import org.destinationsol.game.SolGame;
 
 public class Maze {
+    private static final long MAZE_STREAM = 0x4D415A45L;
+
     private final MazeConfig config;
     private final Vector2 position;
     private final float radius;
     private final float damagePerSecond;
     private boolean areObjectsCreated;
+    private boolean areEnemiesRestored;
 
     public Maze(MazeConfig config, Vector2 position, float radius) {
         this.config = config;
@@ -40,11 +45,31 @@ public void update(SolGame game) {
         SolCam cam = game.getCam();
         Vector2 camPos = cam.getPosition();
         if (!areObjectsCreated && camPos.dst(position) < radius + Const.CAM_VIEW_DIST_JOURNEY * 2) {
-            new MazeBuilder().build(game, this);
+            // the same walls have to come out when the maze of a loaded world is built again
+            int mazeIndex = game.getPlanetManager().getMazes().indexOf(this);
+            RandomStream random = SolRandom.getWorldStream().derive(MAZE_STREAM, mazeIndex);
+            SolRandom.withSeededRandom(random, () -> {
+                new MazeBuilder().build(game, this, !areEnemiesRestored);
+                return null;
+            });
             areObjectsCreated = true;
         }
     }
 
+    public boolean areObjectsCreated() {
+        return areObjectsCreated;
+    }
+
+    /**
+     * Restores the maze from a saved world. The walls are built again when the hero approaches, but if they had
+     * already been built when the world was saved, the maze's enemies are part of the saved world and are not.
+     *
+     * @param objectsCreated Whether the maze's objects had been created when the world was saved
+     */
+    public void restoreState(boolean objectsCreated) {
+        areEnemiesRestored = objectsCreated;
+    }
+
     public MazeConfig getConfig() {
         return config;
     }
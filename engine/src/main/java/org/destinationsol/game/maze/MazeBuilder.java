@@ -29,6 +29,7 @@
 import org.destinationsol.game.input.StillGuard;
 import org.destinationsol.game.ship.FarShip;
 import org.destinationsol.game.ship.ShipBuilder;
+import org.destinationsol.profiling.EngineEvents;
 
 import java.util.ArrayList;
 
@@ -40,14 +41,21 @@ public class MazeBuilder {
     private float mazeAngle;
     private float innerRadius;
 
-    public void build(SolGame game, Maze maze) {
+    public void build(SolGame game, Maze maze, boolean buildEnemies) {
+        EngineEvents.Population event = EngineEvents.beginPopulation();
+        long addedBefore = game.getObjectManager().getAddedCount();
         innerRadius = maze.getRadius() - BORDER;
         size = (int) (innerRadius * 2 / TILE_SZ);
         mazePosition = maze.getPos();
         mazeAngle = SolRandom.seededRandomFloat(180);
 
         MazeLayout layout = buildMaze(game, maze);
-        buildEnemies(game, maze, layout);
+        if (buildEnemies) {
+            buildEnemies(game, maze, layout);
+        }
+        if (event != null) {
+            event.commit("maze", "", mazePosition.x, mazePosition.y, (int) (game.getObjectManager().getAddedCount() - addedBefore));
+        }
     }
 
     private MazeLayout buildMaze(SolGame game, Maze maze) {
@@ -43,8 +43,8 @@ public MazeLayout build() {
                 boolean inner = inners[col][row];
                 boolean rInner = col < size - 1 && inners[col + 1][row];
                 boolean dInner = row < size - 1 && inners[col][row + 1];
-                right[col][row] = (inner || rInner) && SolRandom.test(WALL_PERCENTAGE);
-                down[col][row] = (inner || dInner) && SolRandom.test(WALL_PERCENTAGE);
+                right[col][row] = (inner || rInner) && SolRandom.seededTest(WALL_PERCENTAGE);
+                down[col][row] = (inner || dInner) && SolRandom.seededTest(WALL_PERCENTAGE);
             }
         }
         makeAllAccessible();
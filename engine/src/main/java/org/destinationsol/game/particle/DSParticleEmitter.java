@@ -49,6 +49,7 @@ public class DSParticleEmitter {
 
     private Vector2 position;
     private String trigger;
+    private EmitterTrigger triggerType;
     private float angleOffset;
     private boolean hasLight;
     private EffectConfig config;
@@ -77,6 +78,7 @@ public DSParticleEmitter(@NotNull Vector2 position, @NotNull String trigger, flo
         Preconditions.checkNotNull(position, "position cannot be null");
         this.position = new Vector2(position);
         this.trigger = Preconditions.checkNotNull(trigger, "trigger cannot be null");
+        this.triggerType = EmitterTrigger.forName(trigger);
         this.angleOffset = angleOffset;
         this.hasLight = hasLight;
         this.config = EffectConfig.load(effectConfigNode, new EffectTypes(), new GameColors());
@@ -96,6 +98,7 @@ public DSParticleEmitter(SolGame game, DSParticleEmitter particleEmitter, SolShi
         this.angleOffset = particleEmitter.getAngleOffset();
         this.hasLight = particleEmitter.getHasLight();
         this.trigger = particleEmitter.getTrigger();
+        this.triggerType = particleEmitter.getTriggerType();
         this.position = particleEmitter.getPosition();
         this.config = particleEmitter.getEffectConfig();
         if (!particleEmitter.getWorkSounds().isEmpty()) {
@@ -258,6 +261,21 @@ public void setWorking(boolean working, SolShip ship) {
         }
     }
 
+    /**
+     * Returns whether calling {@link #setWorking(boolean, SolShip)} with the given state would have no visible effect.
+     * This is the case when the state does not change, there is no looped work sound to keep playing and the light,
+     * if any, is neither flickering nor fading out.
+     *
+     * @param working the state the emitter would be set to
+     * @return true if the call can safely be skipped
+     */
+    public boolean isSteady(boolean working) {
+        if (this.working != working || workSoundSet != null) {
+            return false;
+        }
+        return !hasLight || !working && light.isFinished();
+    }
+
     private void setVelocity(Vector2 velocity) {
         ParticleEmitter.ScaledNumericValue wind = particleEmitter.getWind();
         wind.setActive(true);
@@ -288,6 +306,15 @@ public String getTrigger() {
         return trigger;
     }
 
+    /**
+     * Returns the trigger set on the Particle Emitter, resolved to one of the known trigger types
+     *
+     * @return The trigger type of the Particle Emitter, or null if the trigger is not a known one
+     */
+    public EmitterTrigger getTriggerType() {
+        return triggerType;
+    }
+
     /**
      * Returns the angle offset set on the Particle Emitter
      *
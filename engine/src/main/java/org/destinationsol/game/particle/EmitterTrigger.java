@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.particle;
+
+/**
+ * The events that can switch a hull particle emitter on and off, as named by the {@code trigger} field of a hull config.
+ */
+public enum EmitterTrigger {
+    NONE("none"),
+    ENGINE("engine"),
+    SHOOT("shoot"),
+    COLLISION("collision");
+
+    private final String name;
+
+    EmitterTrigger(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the trigger with the given config name.
+     *
+     * @param name name of the trigger, as used in hull configs
+     * @return the matching trigger, or null if no trigger has that name
+     */
+    public static EmitterTrigger forName(String name) {
+        for (EmitterTrigger t : EmitterTrigger.values()) {
+            if (t.name.equals(name)) {
+                return t;
+            }
+        }
+
+        return null;
+    }
+}
@@ -30,6 +30,7 @@
 import org.destinationsol.game.ship.hulls.Hull;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class PartMan {
     public static final float EXPL_LIGHT_MAX_SZ = .4f;
@@ -93,15 +94,18 @@ public RectSprite blip(SolGame game, Vector2 position, float angle, float size,
     }
 
     /**
-     * This method updates all of the particle emitters on a Hull with the specified trigger
+     * This method updates all of the particle emitters on a Hull with the specified trigger.
+     * Emitters already in the requested state are skipped, see {@link DSParticleEmitter#isSteady(boolean)}.
      *
      * @param ship Ship with the {@code Hull} containing the particle emitters
      * @param triggerType trigger type of the particle emitters
      * @param on boolean where true turns the particle emitters on and false turns it off
      */
-    public void updateAllHullEmittersOfType(SolShip ship, String triggerType, boolean on) {
-        for (DSParticleEmitter particleEmitter : ship.getHull().getParticleEmitters()) {
-            if (triggerType.equals(particleEmitter.getTrigger())) {
+    public void updateAllHullEmittersOfType(SolShip ship, EmitterTrigger triggerType, boolean on) {
+        List<DSParticleEmitter> particleEmitters = ship.getHull().getParticleEmitters(triggerType);
+        for (int i = 0, size = particleEmitters.size(); i < size; i++) {
+            DSParticleEmitter particleEmitter = particleEmitters.get(i);
+            if (!particleEmitter.isSteady(on)) {
                 particleEmitter.setWorking(on, ship);
             }
         }
@@ -40,6 +40,7 @@ public class Planet {
     private final float groundDamagePerSecond;
     private final float atmosphereDamagePerSecond;
     private boolean areObjectsCreated;
+    private boolean areShipsRestored;
 
     private float angleInSystem;
     private float angle;
@@ -61,7 +62,7 @@ public Planet(SolSystem sys, float angleToSys, float dist, float angle, float to
         areObjectsCreated = objsCreated;
         position = new Vector2();
         velocity = new Vector2();
-        float grav = SolRandom.randomFloat(config.minGrav, config.maxGrav);
+        float grav = SolRandom.seededRandomFloat(config.minGrav, config.maxGrav);
         gravitationConstant = grav * this.groundHeight * this.groundHeight;
         groundDamagePerSecond = HardnessCalc.getGroundDps(config, grav);
         atmosphereDamagePerSecond = HardnessCalc.getAtmDps(config);
@@ -76,7 +77,7 @@ public void update(SolGame game, float timeStep) {
         setSecondaryParams();
         Vector2 camPos = game.getCam().getPosition();
         if (!areObjectsCreated && camPos.dst(position) < getGroundHeight() + Const.MAX_SKY_HEIGHT_FROM_GROUND) {
-            minGroundHeight = new PlanetObjectsBuilder().createPlanetObjs(game, this);
+            minGroundHeight = new PlanetObjectsBuilder().createPlanetObjs(game, this, !areShipsRestored);
             fillLangingPlaces(game);
             areObjectsCreated = true;
         }
@@ -164,6 +165,24 @@ public boolean areObjectsCreated() {
         return areObjectsCreated;
     }
 
+    /**
+     * Restores the orbital position of the planet from a saved world.
+     * <p>
+     * The ground, sky and decorations are not saved and are built again when the hero approaches. If the planet's
+     * objects were already created when the world was saved, its ships are part of the saved world, so they are not
+     * built again.
+     *
+     * @param angleInSystem Saved angle of the planet around its system
+     * @param angle Saved rotation of the planet
+     * @param objectsCreated Whether the planet's objects had been created when the world was saved
+     */
+    public void restoreState(float angleInSystem, float angle, boolean objectsCreated) {
+        this.angleInSystem = angleInSystem;
+        this.angle = angle;
+        areShipsRestored = objectsCreated;
+        setSecondaryParams();
+    }
+
     public List<Vector2> getLandingPlaces() {
         return landingPlaces;
     }
@@ -21,6 +21,7 @@
 import org.destinationsol.Const;
 import org.destinationsol.common.SolColor;
 import org.destinationsol.common.SolMath;
+import org.destinationsol.common.SpatialGrid;
 import org.destinationsol.files.HullConfigManager;
 import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.GameColors;
@@ -51,6 +52,9 @@ public class PlanetManager implements UpdateAwareSystem {
     private final SunSingleton sunSingleton;
     private final SysConfigs sysConfigs;
     private final PlanetCoreSingleton planetCoreSingleton;
+    private final SpatialGrid<SolSystem> systemGrid;
+    private final SpatialGrid<Maze> mazeGrid;
+    private final List<SolSystem> nearSystems;
     private Planet nearestPlanet;
 
     public PlanetManager(HullConfigManager hullConfigs, GameColors cols,
@@ -66,10 +70,21 @@ public PlanetManager(HullConfigManager hullConfigs, GameColors cols,
         flatPlaceFinder = new FlatPlaceFinder();
         sunSingleton = new SunSingleton();
         planetCoreSingleton = new PlanetCoreSingleton();
+        systemGrid = new SpatialGrid<>(SystemsBuilder.GRID_CELL_SIZE);
+        mazeGrid = new SpatialGrid<>(SystemsBuilder.GRID_CELL_SIZE);
+        nearSystems = new ArrayList<>();
     }
 
     public void fill(SolNames names, int numberOfSystems) {
         new SystemsBuilder().build(systems, planets, belts, planetConfigs, mazeConfigs, mazes, sysConfigs, names, numberOfSystems);
+        systemGrid.clear();
+        for (SolSystem system : systems) {
+            systemGrid.add(system, system.getPosition(), system.getRadius());
+        }
+        mazeGrid.clear();
+        for (Maze maze : mazes) {
+            mazeGrid.add(maze, maze.getPos(), maze.getRadius());
+        }
     }
 
     @Override
@@ -88,14 +103,29 @@ public void update(SolGame game, float timeStep) {
         applyGrav(game, nearestSys);
     }
 
+    /**
+     * Finds the planet nearest to a position.
+     * <p>
+     * Planets move, so they are not indexed themselves. Instead, only the planets of the systems that can hold a planet
+     * closer than the farthest planet of the nearest system are checked.
+     */
     public Planet getNearestPlanet(Vector2 position) {
+        SolSystem nearestSystem = getNearestSystem(position);
+        if (nearestSystem == null) {
+            return null;
+        }
+        float searchDist = position.dst(nearestSystem.getPosition()) + nearestSystem.getRadius() + systemGrid.getMaxRadius();
+        nearSystems.clear();
+        systemGrid.getNear(position, searchDist, nearSystems);
         float minDst = Float.MAX_VALUE;
         Planet res = null;
-        for (Planet planet : planets) {
-            float dst = position.dst(planet.getPosition());
-            if (dst < minDst) {
-                minDst = dst;
-                res = planet;
+        for (int i = 0, size = nearSystems.size(); i < size; i++) {
+            for (Planet planet : nearSystems.get(i).getPlanets()) {
+                float dst = position.dst(planet.getPosition());
+                if (dst < minDst) {
+                    minDst = dst;
+                    res = planet;
+                }
             }
         }
         return res;
@@ -230,29 +260,11 @@ public ArrayList<Maze> getMazes() {
     }
 
     public SolSystem getNearestSystem(Vector2 position) {
-        float minDst = Float.MAX_VALUE;
-        SolSystem res = null;
-        for (SolSystem system : systems) {
-            float dst = position.dst(system.getPosition());
-            if (dst < minDst) {
-                minDst = dst;
-                res = system;
-            }
-        }
-        return res;
+        return systemGrid.getNearest(position);
     }
 
     public Maze getNearestMaze(Vector2 position) {
-        float minDst = Float.MAX_VALUE;
-        Maze res = null;
-        for (Maze maze : mazes) {
-            float dst = position.dst(maze.getPos());
-            if (dst < minDst) {
-                minDst = dst;
-                res = maze;
-            }
-        }
-        return res;
+        return mazeGrid.getNearest(position);
     }
 
     public void drawSunHack(SolGame game, GameDrawer drawer) {
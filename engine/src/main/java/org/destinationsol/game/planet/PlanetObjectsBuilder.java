@@ -38,6 +38,7 @@
 import org.destinationsol.game.item.TradeConfig;
 import org.destinationsol.game.ship.FarShip;
 import org.destinationsol.game.ship.hulls.HullConfig;
+import org.destinationsol.profiling.EngineEvents;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -58,10 +59,12 @@ public class PlanetObjectsBuilder {
     private static final float DECO_PACK_SZ = 5f;
     private static final float DECO_PACK_ANGULAR_WIDTH = 360 * DECO_PACK_SZ / (2 * MathUtils.PI * Const.MAX_GROUND_HEIGHT);
 
-    public float createPlanetObjs(SolGame game, Planet planet) {
+    public float createPlanetObjs(SolGame game, Planet planet, boolean createShips) {
         if (DebugOptions.NO_OBJS) {
             return 0;
         }
+        EngineEvents.Population event = EngineEvents.beginPopulation();
+        long addedBefore = game.getObjectManager().getAddedCount();
         float minRadius = createGround(game, planet);
         createClouds(game, planet);
         createDecorations(game, planet);
@@ -69,7 +72,13 @@ public float createPlanetObjs(SolGame game, Planet planet) {
             Sky sky = new Sky(game, planet);
             game.getObjectManager().addObjDelayed(sky);
         }
-        createShips(game, planet);
+        if (createShips) {
+            createShips(game, planet);
+        }
+        if (event != null) {
+            Vector2 position = planet.getPosition();
+            event.commit("planet", planet.getName(), position.x, position.y, (int) (game.getObjectManager().getAddedCount() - addedBefore));
+        }
         return minRadius;
     }
 
@@ -17,8 +17,10 @@
 
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.Const;
+import org.destinationsol.common.RandomStream;
 import org.destinationsol.common.SolMath;
 import org.destinationsol.common.SolRandom;
+import org.destinationsol.common.SpatialGrid;
 import org.destinationsol.game.DebugOptions;
 import org.destinationsol.game.SolNames;
 import org.destinationsol.game.maze.Maze;
@@ -27,6 +29,8 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public class SystemsBuilder {
     public static final int DEFAULT_SYSTEM_COUNT = 2;
@@ -36,33 +40,76 @@ public class SystemsBuilder {
     private static final float MAX_MAZE_RADIUS = 40f;
     private static final float MAZE_GAP = 10f;
     private static final float BELT_HALF_WIDTH = 20f;
+    private static final long SYSTEM_CONTENTS_STREAM = 0x53595354454DL;
+    /**
+     * Upper bound of the radius of a system, with every planet as big as it can be.
+     */
+    public static final float MAX_SYSTEM_RADIUS = Const.SUN_RADIUS
+            + PLANET_COUNT * 2 * (Const.PLANET_GAP + Const.ATM_HEIGHT + Const.MAX_GROUND_HEIGHT);
+    /**
+     * Cell size of the grids used to place and look up systems and mazes, about the diameter of a big system.
+     */
+    public static final float GRID_CELL_SIZE = 2 * MAX_SYSTEM_RADIUS;
 
     public List<SolSystem> build(List<SolSystem> systems, List<Planet> planets, ArrayList<SystemBelt> belts, PlanetConfigs planetConfigs,
                                  MazeConfigs mazeConfigs, ArrayList<Maze> mazes, SysConfigs sysConfigs, SolNames names, int systemCount) {
-        
+        return build(systems, planets, belts, planetConfigs, mazeConfigs, mazes, sysConfigs, names, systemCount, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds the systems and mazes of the galaxy.
+     * <p>
+     * The layout is decided first, one body after another, from the shared seeded sequence, since every body has to be
+     * placed clear of the ones before it. The contents of each system - its config, name, planets and belts - are then
+     * generated on the given pool, each from its own stream derived from the seed and the index of the system, so the
+     * galaxy comes out the same however many threads the pool has.
+     */
+    public List<SolSystem> build(List<SolSystem> systems, List<Planet> planets, ArrayList<SystemBelt> belts, PlanetConfigs planetConfigs,
+                                 MazeConfigs mazeConfigs, ArrayList<Maze> mazes, SysConfigs sysConfigs, SolNames names, int systemCount,
+                                 ForkJoinPool pool) {
+        SpatialGrid<Object> bodyGrid = new SpatialGrid<>(GRID_CELL_SIZE);
+        for (SolSystem system : systems) {
+            bodyGrid.add(system, system.getPosition(), system.getRadius());
+        }
+        for (Maze maze : mazes) {
+            bodyGrid.add(maze, maze.getPos(), maze.getRadius());
+        }
+
+        List<ForkJoinTask<SolSystem>> systemTasks = new ArrayList<>();
         int sysLeft = systemCount;
         int mazesLeft = systemCount * 2;
         while (sysLeft > 0 || mazesLeft > 0) {
             boolean createSys = sysLeft > 0;
-            if (createSys && mazesLeft > 0 && !systems.isEmpty()) {
+            if (createSys && mazesLeft > 0 && !(systems.isEmpty() && systemTasks.isEmpty())) {
                 createSys = SolRandom.seededTest(.5f);
             }
             if (createSys) {
                 List<Float> ghs = generatePlanetGhs();
                 float sysRadius = calcSysRadius(ghs);
-                Vector2 position = getBodyPos(systems, mazes, sysRadius);
-                SolSystem s = createSystem(ghs, position, planets, belts, planetConfigs, sysRadius, sysConfigs, names, systems.isEmpty());
-                systems.add(s);
+                Vector2 position = getBodyPos(bodyGrid, sysRadius);
+                bodyGrid.add(position, position, sysRadius);
+                boolean firstSys = systems.isEmpty() && systemTasks.isEmpty();
+                RandomStream random = SolRandom.getWorldStream().derive(SYSTEM_CONTENTS_STREAM, systems.size() + systemTasks.size());
+                systemTasks.add(pool.submit(() -> SolRandom.withSeededRandom(random,
+                        () -> createSystem(ghs, position, planetConfigs, sysRadius, sysConfigs, names, firstSys))));
                 sysLeft--;
             } else {
                 MazeConfig mc = SolRandom.seededRandomElement(mazeConfigs.configs);
                 float mazeRadius = SolRandom.seededRandomFloat(.7f, 1) * MAX_MAZE_RADIUS;
-                Vector2 position = getBodyPos(systems, mazes, mazeRadius + MAZE_GAP);
+                Vector2 position = getBodyPos(bodyGrid, mazeRadius + MAZE_GAP);
                 Maze m = new Maze(mc, position, mazeRadius);
                 mazes.add(m);
+                bodyGrid.add(m, m.getPos(), m.getRadius());
                 mazesLeft--;
             }
         }
+
+        for (ForkJoinTask<SolSystem> systemTask : systemTasks) {
+            SolSystem system = systemTask.join();
+            systems.add(system);
+            planets.addAll(system.getPlanets());
+            belts.addAll(system.getBelts());
+        }
         return systems;
     }
 
@@ -102,26 +149,14 @@ private float calcSysRadius(List<Float> ghs) {
         return r;
     }
 
-    private Vector2 getBodyPos(List<SolSystem> systems, ArrayList<Maze> mazes, float bodyRadius) {
+    private Vector2 getBodyPos(SpatialGrid<Object> bodyGrid, float bodyRadius) {
         Vector2 res = new Vector2();
         float dist = 0;
         while (true) {
             for (int i = 0; i < 20; i++) {
                 float angle = SolRandom.seededRandomFloat(180);
                 SolMath.fromAl(res, angle, dist);
-                boolean good = true;
-                for (SolSystem system : systems) {
-                    if (system.getPosition().dst(res) < system.getRadius() + bodyRadius) {
-                        good = false;
-                        break;
-                    }
-                }
-                for (Maze maze : mazes) {
-                    if (maze.getPos().dst(res) < maze.getRadius() + bodyRadius) {
-                        good = false;
-                        break;
-                    }
-                }
+                boolean good = !bodyGrid.overlaps(res, bodyRadius);
                 if (good) {
                     return res;
                 }
@@ -130,9 +165,7 @@ private Vector2 getBodyPos(List<SolSystem> systems, ArrayList<Maze> mazes, float
         }
     }
 
-    private SolSystem createSystem(List<Float> groundHeights, Vector2 systemPosition, List<Planet> planets, ArrayList<SystemBelt> belts,
-                                   PlanetConfigs planetConfigs,
-                                   float systemRadius, SysConfigs sysConfigs, SolNames names, boolean firstSys) {
+    private SolSystem createSystem(List<Float> groundHeights, Vector2 systemPosition, PlanetConfigs planetConfigs, float systemRadius, SysConfigs sysConfigs, SolNames names, boolean firstSys) {
         boolean hard = !firstSys;
         String systemType = DebugOptions.FORCE_SYSTEM_TYPE;
         SysConfig sysConfig;
@@ -162,12 +195,10 @@ private SolSystem createSystem(List<Float> groundHeights, Vector2 systemPosition
                     planetConfig = planetConfigs.getConfig(pt);
                 }
                 Planet planet = createPlanet(planetDist, system, groundHeight, planetConfig, names);
-                planets.add(planet);
                 system.getPlanets().add(planet);
             } else {
                 SysConfig beltConfig = sysConfigs.getRandomBelt(hard);
                 SystemBelt belt = new SystemBelt(-groundHeight, planetDist, system, beltConfig);
-                belts.add(belt);
                 system.addBelt(belt);
             }
             planetDist += reserved;
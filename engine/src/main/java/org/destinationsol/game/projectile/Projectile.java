@@ -299,11 +299,13 @@ private static class ProjectileDrawable implements Drawable {
         private final Projectile projectile;
         private final TextureAtlas.AtlasRegion texture;
         private final float width;
+        private final Vector2 drawPosition;
 
         ProjectileDrawable(Projectile projectile, TextureAtlas.AtlasRegion texture, float width) {
             this.projectile = projectile;
             this.texture = texture;
             this.width = width;
+            drawPosition = new Vector2();
         }
 
         @Override
@@ -322,6 +324,12 @@ public void update(SolGame game, SolObject o) {
 
         @Override
         public void prepare(SolObject o) {
+            drawPosition.set(projectile.getPosition());
+        }
+
+        @Override
+        public void prepare(SolObject o, Vector2 basePosition, float baseAngle) {
+            drawPosition.set(basePosition);
         }
 
         @Override
@@ -346,7 +354,7 @@ public void draw(GameDrawer drawer, SolGame game) {
             if (h < minH) {
                 h = minH;
             }
-            Vector2 position = projectile.getPosition();
+            Vector2 position = drawPosition;
             float w = projectile.getVelocity().len() * game.getTimeStep();
             if (w < 4 * h) {
                 w = 4 * h;
@@ -27,10 +27,10 @@
 import org.destinationsol.game.FactionManager;
 import org.destinationsol.game.HardnessCalc;
 import org.destinationsol.game.Hero;
+import org.destinationsol.game.IconSnapshot;
 import org.destinationsol.game.MapDrawer;
 import org.destinationsol.game.SolCam;
 import org.destinationsol.game.SolGame;
-import org.destinationsol.game.SolObject;
 import org.destinationsol.game.StarPort;
 import org.destinationsol.game.planet.Planet;
 import org.destinationsol.game.planet.PlanetManager;
@@ -42,14 +42,13 @@
 import org.destinationsol.ui.UiDrawer;
 
 import java.util.ArrayList;
-import java.util.List;
 
 public class BorderDrawer {
     private DisplayDimensions displayDimensions;
 
     public static final float PLANET_PROXIMITY_INDICATOR_SIZE = .02f;
     private static final float BORDER_ICON_SZ = .12f;
-    private static final float MAX_ICON_DIST = Const.ATM_HEIGHT;
+    private static final float MAX_ICON_DIST = IconSnapshot.MAX_BORDER_ICON_DIST;
     private static final float MAX_DRAW_DIST = (Const.MAX_GROUND_HEIGHT + Const.ATM_HEIGHT) * 2;
     private final ArrayList<PlanetProximityIndicator> planetProximityIndicators;
     private final Vector2 myTmpVec = new Vector2();
@@ -93,32 +92,26 @@ public void draw(UiDrawer drawer, SolApplication application) {
         FactionManager factionManager = game.getFactionMan();
         float heroDamageCap = hero.isTranscendent() ? Float.MAX_VALUE : HardnessCalc.getShipDmgCap(hero.getShip());
 
-        List<SolObject> objects = game.getObjectManager().getObjects();
-        for (SolObject object : objects) {
-            if ((object instanceof SolShip)) {
-                SolShip ship = (SolShip) object;
-                Vector2 shipPosition = ship.getPosition();
-                Faction shipFaction = ship.getPilot().getFaction();
-                float shipSize = ship.getHull().config.getSize();
-                float shipAngle = ship.getAngle();
-                maybeDrawIcon(drawer, shipPosition, cam, shipSize, shipAngle, mapDrawer, factionManager, hero, shipFaction, object, heroDamageCap, ship.getHull().config.getIcon());
-            }
-            if ((object instanceof StarPort)) {
-                StarPort starPort = (StarPort) object;
-                maybeDrawIcon(drawer, starPort.getPosition(), cam, StarPort.SIZE, starPort.getAngle(), mapDrawer, null, null, null, null, -1, mapDrawer.getStarPortTex());
-            }
+        IconSnapshot icons = game.getIconSnapshot();
+        for (SolShip ship : icons.getShips()) {
+            Vector2 shipPosition = ship.getPosition();
+            Faction shipFaction = ship.getPilot().getFaction();
+            float shipSize = ship.getHull().config.getSize();
+            float shipAngle = ship.getAngle();
+            maybeDrawIcon(drawer, shipPosition, cam, shipSize, shipAngle, mapDrawer, factionManager, hero, shipFaction, ship, heroDamageCap, ship.getHull().config.getIcon());
+        }
+        for (StarPort starPort : icons.getStarPorts()) {
+            maybeDrawIcon(drawer, starPort.getPosition(), cam, StarPort.SIZE, starPort.getAngle(), mapDrawer, null, null, null, null, -1, mapDrawer.getStarPortTex());
         }
 
-        List<FarShip> farShips = game.getObjectManager().getFarShips();
-        for (FarShip ship : farShips) {
+        for (FarShip ship : icons.getFarShips()) {
             Vector2 shipPos = ship.getPosition();
             Faction shipFaction = ship.getPilot().getFaction();
             float shipSize = ship.getHullConfig().getSize();
             float shipAngle = ship.getAngle();
             maybeDrawIcon(drawer, shipPos, cam, shipSize, shipAngle, mapDrawer, factionManager, hero, shipFaction, ship, heroDamageCap, ship.getHullConfig().getIcon());
         }
-        List<StarPort.FarStarPort> farPorts = game.getObjectManager().getFarPorts();
-        for (StarPort.FarStarPort starPort : farPorts) {
+        for (StarPort.FarStarPort starPort : icons.getFarPorts()) {
             maybeDrawIcon(drawer, starPort.getPosition(), cam, StarPort.SIZE, starPort.getAngle(), mapDrawer, null, null, null, null, -1, mapDrawer.getStarPortTex());
         }
     }
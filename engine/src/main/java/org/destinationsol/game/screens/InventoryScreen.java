@@ -15,7 +15,6 @@
  */
 package org.destinationsol.game.screens;
 
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.Const;
@@ -70,6 +69,7 @@ public class InventoryScreen extends SolUiBaseScreen {
     private final Rectangle myItemCtrlArea;
     private final Vector2 myDetailHeaderPos;
     private final Vector2 myListHeaderPos;
+    private final ItemListPage myListPage;
 
     private int myPage;
     private List<SolItem> mySelected;
@@ -111,6 +111,7 @@ public InventoryScreen(GameOptions gameOptions) {
             row += itemRowH + SMALL_GAP;
         }
         myListArea = new Rectangle(col0, row, contentW, row - SMALL_GAP - listRow0);
+        myListPage = new ItemListPage();
         row += bigGap;
 
         // detail header & area
@@ -196,15 +197,16 @@ public void updateCustom(SolApplication solApplication, SolInputManager.InputPoi
         int selIdx = -1;
         int offset = myPage * Const.ITEM_GROUPS_PER_PAGE;
         boolean hNew = showingHeroItems(solApplication);
+        myListPage.update(solApplication.getGame(), itemContainer, myPage, myOperations);
         for (int i = 0; i < itemControls.length; i++) {
             SolUiControl itemCtrl = itemControls[i];
             int groupIdx = offset + i;
-            boolean ctrlEnabled = groupIdx < groupCount;
+            boolean ctrlEnabled = i < myListPage.getRowCount();
             itemCtrl.setEnabled(ctrlEnabled);
             if (!ctrlEnabled) {
                 continue;
             }
-            List<SolItem> group = itemContainer.getGroup(groupIdx);
+            List<SolItem> group = myListPage.getGroup(i);
             if (hNew && itemContainer.isNew(group)) {
                 itemCtrl.enableWarn();
             }
@@ -269,20 +271,13 @@ public void drawImages(UiDrawer uiDrawer, SolApplication solApplication) {
         float imgSz = imgColW < rowH ? imgColW : rowH;
 
         uiDrawer.draw(myDetailArea, SolColor.UI_INACTIVE);
-        for (int i = 0; i < itemControls.length; i++) {
-            int groupIdx = myPage * Const.ITEM_GROUPS_PER_PAGE + i;
-            int groupCount = itemContainer.groupCount();
-            if (groupCount <= groupIdx) {
-                continue;
-            }
-            SolUiControl itemCtrl = itemControls[i];
-            List<SolItem> group = itemContainer.getGroup(groupIdx);
-            SolItem item = group.get(0);
-            TextureAtlas.AtlasRegion tex = item.getIcon(game);
-            Rectangle rect = itemCtrl.getScreenArea();
+        // the screen can be drawn before its first update, so the page is checked here as well
+        myListPage.update(game, itemContainer, myPage, myOperations);
+        for (int i = 0; i < myListPage.getRowCount(); i++) {
+            Rectangle rect = itemControls[i].getScreenArea();
             float rowCenterY = rect.y + rect.height / 2;
-            uiDrawer.draw(uiDrawer.whiteTexture, imgSz, imgSz, imgSz / 2, imgSz / 2, rect.x + imgColW / 2, rowCenterY, 0, item.getItemType().uiColor);
-            uiDrawer.draw(tex, imgSz, imgSz, imgSz / 2, imgSz / 2, rect.x + imgColW / 2, rowCenterY, 0, SolColor.WHITE);
+            uiDrawer.draw(uiDrawer.whiteTexture, imgSz, imgSz, imgSz / 2, imgSz / 2, rect.x + imgColW / 2, rowCenterY, 0, myListPage.getIconBackground(i));
+            uiDrawer.draw(myListPage.getIcon(i), imgSz, imgSz, imgSz / 2, imgSz / 2, rect.x + imgColW / 2, rowCenterY, 0, SolColor.WHITE);
         }
     }
 
@@ -299,30 +294,24 @@ public void drawText(UiDrawer uiDrawer, SolApplication solApplication) {
         float priceWidth = myListArea.width * PRICE_COL_PERC;
         float amtWidth = myListArea.width * AMT_COL_PERC;
         float nameWidth = myListArea.width - imgColW - equiColW - priceWidth - amtWidth;
-        for (int i = 0; i < itemControls.length; i++) {
-            int groupIdx = myPage * Const.ITEM_GROUPS_PER_PAGE + i;
-            int groupCount = itemContainer.groupCount();
-            if (groupCount <= groupIdx) {
-                continue;
-            }
-            SolUiControl itemCtrl = itemControls[i];
-            List<SolItem> group = itemContainer.getGroup(groupIdx);
-            SolItem item = group.get(0);
-            Rectangle rect = itemCtrl.getScreenArea();
+        myListPage.update(game, itemContainer, myPage, myOperations);
+        for (int i = 0; i < myListPage.getRowCount(); i++) {
+            SolItem item = myListPage.getItem(i);
+            Rectangle rect = itemControls[i].getScreenArea();
             float rowCenterY = rect.y + rect.height / 2;
+            // what is equipped can change without the items changing, so this is not cached
             if (myOperations.isUsing(game, item)) {
                 uiDrawer.drawString("using", rect.x + imgColW + equiColW / 2, rowCenterY, FontSize.WINDOW, true, SolColor.WHITE);
             }
             uiDrawer.drawString(item.getDisplayName(), rect.x + equiColW + imgColW + nameWidth / 2, rowCenterY, FontSize.WINDOW, true,
-                    mySelected == group ? SolColor.WHITE : SolColor.G);
-            int count = itemContainer.getCount(groupIdx);
-            if (count > 1) {
-                uiDrawer.drawString("x" + count, rect.x + rect.width - amtWidth / 2, rowCenterY, FontSize.WINDOW, true, SolColor.WHITE);
+                    mySelected == myListPage.getGroup(i) ? SolColor.WHITE : SolColor.G);
+            String amount = myListPage.getAmount(i);
+            if (amount != null) {
+                uiDrawer.drawString(amount, rect.x + rect.width - amtWidth / 2, rowCenterY, FontSize.WINDOW, true, SolColor.WHITE);
             }
-            float mul = myOperations.getPriceMul();
-            if (mul > 0) {
-                float price = item.getPrice() * mul;
-                uiDrawer.drawString("$" + (int) price, rect.x + rect.width - amtWidth - priceWidth / 2, rowCenterY, FontSize.WINDOW, true, SolColor.LG);
+            String price = myListPage.getPrice(i);
+            if (price != null) {
+                uiDrawer.drawString(price, rect.x + rect.width - amtWidth - priceWidth / 2, rowCenterY, FontSize.WINDOW, true, SolColor.LG);
             }
         }
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.screens;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import org.destinationsol.Const;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.item.ItemContainer;
+import org.destinationsol.game.item.SolItem;
+
+import java.util.List;
+
+/**
+ * The rows of the page of an item list that is on screen, ready to be drawn.
+ * <p>
+ * Only the groups of the visible page are looked at. What is shown for each of them - icon, name, amount and price - is
+ * worked out when the container, the page or the operations change, not every frame, so that turning the pages of a big
+ * station stock costs no more than a look at the first one.
+ */
+class ItemListPage {
+    private final List<SolItem>[] groups;
+    private final SolItem[] items;
+    private final TextureAtlas.AtlasRegion[] icons;
+    private final Color[] iconBackgrounds;
+    private final String[] amounts;
+    private final String[] prices;
+    private int rowCount;
+
+    private ItemContainer container;
+    private int containerVersion;
+    private int page = -1;
+    private InventoryOperationsScreen operations;
+
+    @SuppressWarnings("unchecked")
+    ItemListPage() {
+        groups = new List[Const.ITEM_GROUPS_PER_PAGE];
+        items = new SolItem[Const.ITEM_GROUPS_PER_PAGE];
+        icons = new TextureAtlas.AtlasRegion[Const.ITEM_GROUPS_PER_PAGE];
+        iconBackgrounds = new Color[Const.ITEM_GROUPS_PER_PAGE];
+        amounts = new String[Const.ITEM_GROUPS_PER_PAGE];
+        prices = new String[Const.ITEM_GROUPS_PER_PAGE];
+    }
+
+    /**
+     * Lays out the rows of the given page again if anything they are made from has changed since the last call.
+     *
+     * @param game The game
+     * @param container The items listed
+     * @param page The page on screen
+     * @param operations The screen the items are listed for, which sets the prices
+     */
+    void update(SolGame game, ItemContainer container, int page, InventoryOperationsScreen operations) {
+        if (container == this.container && container.getVersion() == containerVersion && page == this.page
+                && operations == this.operations) {
+            return;
+        }
+        this.container = container;
+        containerVersion = container.getVersion();
+        this.page = page;
+        this.operations = operations;
+
+        int offset = page * Const.ITEM_GROUPS_PER_PAGE;
+        rowCount = Math.max(Math.min(container.groupCount() - offset, Const.ITEM_GROUPS_PER_PAGE), 0);
+        float priceMul = operations.getPriceMul();
+        for (int i = 0; i < Const.ITEM_GROUPS_PER_PAGE; i++) {
+            if (i >= rowCount) {
+                groups[i] = null;
+                items[i] = null;
+                icons[i] = null;
+                continue;
+            }
+            List<SolItem> group = container.getGroup(offset + i);
+            SolItem item = group.get(0);
+            groups[i] = group;
+            items[i] = item;
+            icons[i] = item.getIcon(game);
+            iconBackgrounds[i] = item.getItemType().uiColor;
+            amounts[i] = group.size() > 1 ? "x" + group.size() : null;
+            prices[i] = priceMul > 0 ? "$" + (int) (item.getPrice() * priceMul) : null;
+        }
+    }
+
+    /**
+     * @return The number of rows on the page, which is less than {@link Const#ITEM_GROUPS_PER_PAGE} on the last page
+     */
+    int getRowCount() {
+        return rowCount;
+    }
+
+    List<SolItem> getGroup(int row) {
+        return groups[row];
+    }
+
+    SolItem getItem(int row) {
+        return items[row];
+    }
+
+    TextureAtlas.AtlasRegion getIcon(int row) {
+        return icons[row];
+    }
+
+    Color getIconBackground(int row) {
+        return iconBackgrounds[row];
+    }
+
+    /**
+     * @return The amount text of the row, or null if there is only one item in the group
+     */
+    String getAmount(int row) {
+        return amounts[row];
+    }
+
+    /**
+     * @return The price text of the row, or null if the list shows no prices
+     */
+    String getPrice(int row) {
+        return prices[row];
+    }
+}
@@ -386,7 +386,7 @@ private void drawBar(UiDrawer uiDrawer, float x, float y, float curr, float max,
         uiDrawer.draw(uiDrawer.whiteTexture, BAR_SZ, ICON_SZ, 0, 0, x, y, 0, SolColor.UI_DARK);
         uiDrawer.draw(uiDrawer.whiteTexture, BAR_SZ * perc, ICON_SZ, 0, 0, x, y, 0, SolColor.UI_LIGHT);
         if (tp != null && max > 1 && curr > 0) {
-            tp.text = (int) curr + "/" + (int) max;
+            tp.setFraction((int) curr, (int) max);
             tp.position.set(x + BAR_SZ / 2, y + ICON_SZ / 2);
         }
     }
@@ -400,12 +400,12 @@ private void drawIcons(UiDrawer uiDrawer, float x, float y, int count, TextureAt
             x += ICON_SZ + H_PAD;
         }
         if (excess > 0) {
-            updateTextPlace(x, y, "+" + excess, textPlace);
+            updateTextPlace(x, y, excess, textPlace);
         }
     }
 
-    private void updateTextPlace(float x, float y, String text, TextPlace textPlace) {
-        textPlace.text = text;
+    private void updateTextPlace(float x, float y, int excess, TextPlace textPlace) {
+        textPlace.setNumber("+", excess);
         textPlace.position.set(x + ICON_SZ / 2, y + ICON_SZ / 2);
     }
 
@@ -470,7 +470,7 @@ public void drawImages(UiDrawer uiDrawer, SolApplication solApplication) {
                 row += ICON_SZ + V_PAD;
             }
             uiDrawer.draw(game.getItemMan().moneyIcon, ICON_SZ, ICON_SZ, 0, 0, col0, row, 0, SolColor.WHITE);
-            myMoneyExcessTp.text = Integer.toString(Math.round(hero.getMoney()));
+            myMoneyExcessTp.setNumber("", Math.round(hero.getMoney()));
             myMoneyExcessTp.position.set(col1, row + ICON_SZ / 2);
             //updateTextPlace(col1, row, (int) hero.getMoney() + "", myMoneyExcessTp);
         }
@@ -595,15 +595,44 @@ public boolean hasWarnDrawer(WarnDrawer drawer) {
         return warnDrawers.contains(drawer);
     }
 
+    /**
+     * A HUD text. Numbers shown in it are only turned into a new string when they change, so that the text drawn for
+     * values that stay the same for many frames, like money and ammo counts, is the same string and keeps its cached
+     * layout.
+     */
     public static class TextPlace {
+        private static final int NO_MAX = Integer.MIN_VALUE;
+
         public final Color color;
         public String text;
         public Vector2 position = new Vector2();
+        private String shownPrefix;
+        private int shownValue;
+        private int shownMax;
+        private String shownText;
 
         TextPlace(Color col) {
             color = new Color(col);
         }
 
+        public void setNumber(String prefix, int value) {
+            setText(prefix, value, NO_MAX);
+        }
+
+        public void setFraction(int value, int max) {
+            setText("", value, max);
+        }
+
+        private void setText(String prefix, int value, int max) {
+            if (shownText == null || value != shownValue || max != shownMax || !prefix.equals(shownPrefix)) {
+                shownText = max == NO_MAX ? prefix + value : prefix + value + "/" + max;
+                shownPrefix = prefix;
+                shownValue = value;
+                shownMax = max;
+            }
+            text = shownText;
+        }
+
         public void draw(UiDrawer uiDrawer) {
             uiDrawer.drawString(text, position.x, position.y, FontSize.HUD, true, color);
         }
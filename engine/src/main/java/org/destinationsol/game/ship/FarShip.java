@@ -18,6 +18,7 @@
 
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.game.FarObject;
+import org.destinationsol.game.HardnessCalc;
 import org.destinationsol.game.RemoveController;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.input.Pilot;
@@ -29,21 +30,33 @@
 import org.destinationsol.game.item.Shield;
 import org.destinationsol.game.item.TradeContainer;
 import org.destinationsol.game.ship.hulls.HullConfig;
-
+import org.destinationsol.profiling.EngineEvents;
+
+/**
+ * A ship that is far from the hero, so it has no body and is only moved by its pilot.
+ * <p>
+ * NPC ships are built without their items: they only keep a reference to the {@link ShipLoadout} shared by all ships
+ * of the same kind, and the items are rolled by {@link #inflate(SolGame)} once they are needed, usually when the ship
+ * comes close to the hero. Until then {@link #getIc()}, {@link #getGun(boolean)}, {@link #getShield()} and
+ * {@link #getArmor()} return null, and the damage figures are the expected ones of the loadout.
+ */
 public class FarShip implements FarObject {
     private final Vector2 position;
     private final Vector2 velocity;
-    private final Shield shield;
-    private final Armor armor;
     private final float rotationSpeed;
     private final Pilot pilot;
-    private final ItemContainer container;
     private final HullConfig hullConfig;
-    private final Gun gun1;
-    private final Gun gun2;
     private final RemoveController removeController;
-    private final Engine engine;
     private final TradeContainer tradeContainer;
+    private ShipLoadout loadout;
+    private Shield shield;
+    private Armor armor;
+    private ItemContainer container;
+    private Gun gun1;
+    private Gun gun2;
+    private Engine engine;
+    private float dps;
+    private float dmgCap;
     private float angle;
     private float life;
     private ShipRepairer repairer;
@@ -72,6 +85,8 @@ public FarShip(Vector2 position, Vector2 velocity, float angle, float rotationSp
         this.tradeContainer = tradeContainer;
         this.shield = shield;
         this.armor = armor;
+        dps = HardnessCalc.getGunsDps(gun1, gun2);
+        dmgCap = HardnessCalc.getDmgCap(hullConfig, armor, shield);
 
         if (this.pilot.isPlayer()) {
             if (this.shield != null) {
@@ -89,6 +104,57 @@ public FarShip(Vector2 position, Vector2 velocity, float angle, float rotationSp
         }
     }
 
+    public FarShip(Vector2 position, Vector2 velocity, float angle, float rotationSpeed, Pilot pilot, ShipLoadout loadout,
+                   float life, RemoveController removeController, ShipRepairer repairer, float money,
+                   TradeContainer tradeContainer) {
+        this.position = position;
+        this.velocity = velocity;
+        this.angle = angle;
+        this.rotationSpeed = rotationSpeed;
+        this.pilot = pilot;
+        this.loadout = loadout;
+        hullConfig = loadout.getHullConfig();
+        this.life = life;
+        this.removeController = removeController;
+        this.repairer = repairer;
+        this.money = money;
+        this.tradeContainer = tradeContainer;
+        dps = loadout.getDps();
+        dmgCap = loadout.getDmgCap();
+    }
+
+    /**
+     * Rolls the items of a ship built from a {@link ShipLoadout}. Does nothing if the ship already has its items.
+     *
+     * @param game The game
+     */
+    public void inflate(SolGame game) {
+        if (loadout != null) {
+            game.getShipBuilder().inflate(game, this, loadout);
+        }
+    }
+
+    void setEquipment(ItemContainer container, Gun gun1, Gun gun2, Shield shield, Armor armor, Engine engine) {
+        this.container = container;
+        this.gun1 = gun1;
+        this.gun2 = gun2;
+        this.shield = shield;
+        this.armor = armor;
+        this.engine = engine;
+        dps = HardnessCalc.getGunsDps(gun1, gun2);
+        dmgCap = HardnessCalc.getDmgCap(hullConfig, armor, shield);
+        loadout = null;
+    }
+
+    /**
+     * Returns the loadout the ship was built from, as long as its items have not been rolled.
+     *
+     * @return The loadout, or null if the ship has its items
+     */
+    public ShipLoadout getLoadout() {
+        return loadout;
+    }
+
     @Override
     public boolean shouldBeRemoved(SolGame game) {
         return removeController != null && removeController.shouldRemove(position);
@@ -96,22 +162,37 @@ public boolean shouldBeRemoved(SolGame game) {
 
     @Override
     public SolShip toObject(SolGame game) {
+        EngineEvents.ShipMaterialisation event = EngineEvents.beginShipMaterialisation();
+        inflate(game);
         SolShip ship = game.getShipBuilder().build(game, position, velocity, angle, rotationSpeed, pilot, container, hullConfig, life, gun1,
                 gun2, removeController, engine, repairer, money, tradeContainer, shield, armor);
         if (isMerc) {
             ship.setMerc(mercItem);
         }
+        if (event != null) {
+            event.commit(hullConfig.getInternalName(), position.x, position.y);
+        }
         return ship;
     }
 
     @Override
     public void update(SolGame game) {
-        pilot.updateFar(game, this);
-        if (tradeContainer != null) {
-            tradeContainer.update(game);
-        }
-        if (repairer != null) {
-            life += repairer.tryRepair(game, container, life, hullConfig);
+        update(game, game.getTimeStep());
+    }
+
+    /**
+     * Updates the ship for all the time that has passed since its last update, which for ships far away from the
+     * camera can be much longer than a frame.
+     *
+     * @param game The game
+     * @param timeStep The time since the last update
+     */
+    public void update(SolGame game, float timeStep) {
+        pilot.updateFar(game, this, timeStep);
+        if (repairer != null && life < hullConfig.getMaxLife()) {
+            // repairing takes repair kits from the items
+            inflate(game);
+            life += repairer.tryRepair(game, container, life, hullConfig, timeStep);
         }
     }
 
@@ -163,8 +244,12 @@ public void setVelocity(Vector2 velocity) {
         this.velocity.set(velocity);
     }
 
+    /**
+     * Returns the engine of the ship. Until the items are rolled, this is the example engine of the hull, which must
+     * only be read from.
+     */
     public Engine getEngine() {
-        return engine;
+        return loadout == null ? engine : loadout.getEngine();
     }
 
     public Gun getGun(boolean secondary) {
@@ -179,10 +264,34 @@ public Armor getArmor() {
         return armor;
     }
 
+    public float getDps() {
+        return dps;
+    }
+
+    public float getDmgCap() {
+        return dmgCap;
+    }
+
     public float getLife() {
         return life;
     }
 
+    public float getRotationSpeed() {
+        return rotationSpeed;
+    }
+
+    public RemoveController getRemoveController() {
+        return removeController;
+    }
+
+    public ShipRepairer getRepairer() {
+        return repairer;
+    }
+
+    public TradeContainer getTradeContainer() {
+        return tradeContainer;
+    }
+
     public boolean mountCanFix(boolean sec) {
         final int slotNr = (sec) ? 1 : 0;
 
@@ -49,6 +49,7 @@
 import org.destinationsol.game.item.Engine;
 import org.destinationsol.game.item.Gun;
 import org.destinationsol.game.item.ItemContainer;
+import org.destinationsol.game.item.ItemManager;
 import org.destinationsol.game.item.Shield;
 import org.destinationsol.game.item.SolItem;
 import org.destinationsol.game.item.TradeConfig;
@@ -58,17 +59,22 @@
 import org.destinationsol.game.ship.hulls.HullConfig;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ShipBuilder {
     public static final float SHIP_DENSITY = 3f;
     public static final float AVG_BATTLE_TIME = 30f;
     public static final float AVG_ALLY_LIFE_TIME = 75f;
+    private static final String NO_AMMO_PREFIX = "noAmmo:";
 
     private final CollisionMeshLoader myCollisionMeshLoader;
+    private final Map<HullConfig, Map<String, ShipLoadout>> myLoadouts;
 
     public ShipBuilder() {
         myCollisionMeshLoader = new CollisionMeshLoader();
+        myLoadouts = new HashMap<>();
     }
 
     private static Fixture getBase(boolean hasBase, Body body) {
@@ -105,11 +111,20 @@ public FarShip buildNewFar(SolGame game, Vector2 position, Vector2 velocity, flo
         if (velocity == null) {
             velocity = new Vector2();
         }
+        TradeContainer tc = tradeConfig == null ? null : new TradeContainer(tradeConfig, game.getTimers());
+        ShipRepairer repairer = hasRepairer ? new ShipRepairer() : null;
+
+        if (!pilot.isPlayer()) {
+            // NPC items are only rolled once they are needed, see FarShip#inflate
+            ShipLoadout loadout = getLoadout(game.getItemMan(), items, hullConfig, giveAmmo);
+            return new FarShip(new Vector2(position), new Vector2(velocity), angle, rotationSpeed, pilot, loadout, hullConfig.getMaxLife(),
+                    removeController, repairer, money, tc);
+        }
+
         ItemContainer itemContainer = new ItemContainer();
         game.getItemMan().fillContainer(itemContainer, items);
         Engine.Config ec = hullConfig.getEngineConfig();
         Engine ei = ec == null ? null : ec.exampleEngine.copy();
-        TradeContainer tc = tradeConfig == null ? null : new TradeContainer(tradeConfig);
 
         Gun g1 = null;
         Gun g2 = null;
@@ -117,64 +132,37 @@ public FarShip buildNewFar(SolGame game, Vector2 position, Vector2 velocity, flo
         Armor armor = null;
 
         // For the player use new logic that better respects what was explicitly equipped
-        if (pilot.isPlayer()) {
-            for (List<SolItem> group : itemContainer) {
-                for (SolItem i : group) {
-                    if (i instanceof Shield) {
-                        if (i.isEquipped() > 0) {
-                            shield = (Shield) i;
-                            continue;
-                        }
-                    }
-                    if (i instanceof Armor) {
-                        if (i.isEquipped() > 0) {
-                            armor = (Armor) i;
-                            continue;
-                        }
-                    }
-                    if (i instanceof Gun) {
-                        Gun g = (Gun) i;
-                        if (i.isEquipped() > 0) {
-                            int slot = i.isEquipped();
-                            if (g1 == null && hullConfig.getGunSlot(0).allowsRotation() != g.config.fixed && slot == 1) {
-                                g1 = g;
-                                continue;
-                            }
-                            if (hullConfig.getNrOfGunSlots() > 1 && g2 == null && hullConfig.getGunSlot(1).allowsRotation() != g.config.fixed && slot == 2) {
-                                g2 = g;
-                            }
-                            if (g1 != g && g2 != g) {
-                                i.setEquipped(0); // The gun couldn't fit in either slot
-                            }
-                        }
-                    }
-                }
-            }
-        } else {
-            // For NPCs use the old logic that just equips whatever
-            for (List<SolItem> group : itemContainer) {
-                for (SolItem i : group) {
-                    if (i instanceof Shield) {
+        for (List<SolItem> group : itemContainer) {
+            for (SolItem i : group) {
+                if (i instanceof Shield) {
+                    if (i.isEquipped() > 0) {
                         shield = (Shield) i;
                         continue;
                     }
-                    if (i instanceof Armor) {
+                }
+                if (i instanceof Armor) {
+                    if (i.isEquipped() > 0) {
                         armor = (Armor) i;
                         continue;
                     }
-                    if (i instanceof Gun) {
-                        Gun g = (Gun) i;
-                        if (g1 == null && hullConfig.getGunSlot(0).allowsRotation() != g.config.fixed) {
+                }
+                if (i instanceof Gun) {
+                    Gun g = (Gun) i;
+                    if (i.isEquipped() > 0) {
+                        int slot = i.isEquipped();
+                        if (g1 == null && hullConfig.getGunSlot(0).allowsRotation() != g.config.fixed && slot == 1) {
                             g1 = g;
                             continue;
                         }
-                        if (hullConfig.getNrOfGunSlots() > 1 && g2 == null && hullConfig.getGunSlot(1).allowsRotation() != g.config.fixed) {
+                        if (hullConfig.getNrOfGunSlots() > 1 && g2 == null && hullConfig.getGunSlot(1).allowsRotation() != g.config.fixed && slot == 2) {
                             g2 = g;
                         }
+                        if (g1 != g && g2 != g) {
+                            i.setEquipped(0); // The gun couldn't fit in either slot
+                        }
                     }
                 }
             }
-
         }
 
         if (giveAmmo) {
@@ -183,7 +171,75 @@ public FarShip buildNewFar(SolGame game, Vector2 position, Vector2 velocity, flo
             addAmmo(itemContainer, g2, pilot);
         }
         return new FarShip(new Vector2(position), new Vector2(velocity), angle, rotationSpeed, pilot, itemContainer, hullConfig, hullConfig.getMaxLife(),
-                g1, g2, removeController, ei, hasRepairer ? new ShipRepairer() : null, money, tc, shield, armor);
+                g1, g2, removeController, ei, repairer, money, tc, shield, armor);
+    }
+
+    /**
+     * Returns the shared loadout for ships built with the given items and hull.
+     *
+     * @param itemManager The item manager to parse the items with
+     * @param items The items string, as in {@link org.destinationsol.game.ShipConfig#items}
+     * @param hullConfig The hull of the ships
+     * @param giveAmmo Whether the ships get ammo and ability charges for their equipment
+     * @return The loadout
+     */
+    public ShipLoadout getLoadout(ItemManager itemManager, String items, HullConfig hullConfig, boolean giveAmmo) {
+        Map<String, ShipLoadout> hullLoadouts = myLoadouts.computeIfAbsent(hullConfig, h -> new HashMap<>());
+        String key = giveAmmo ? items : NO_AMMO_PREFIX + items;
+        ShipLoadout loadout = hullLoadouts.get(key);
+        if (loadout == null) {
+            loadout = new ShipLoadout(itemManager, items, hullConfig, giveAmmo);
+            hullLoadouts.put(key, loadout);
+        }
+        return loadout;
+    }
+
+    /**
+     * Rolls the items of a far ship from its loadout and equips them, the same way a ship built with all its items
+     * straight away would have been equipped.
+     */
+    void inflate(SolGame game, FarShip ship, ShipLoadout loadout) {
+        HullConfig hullConfig = loadout.getHullConfig();
+        Pilot pilot = ship.getPilot();
+        ItemContainer itemContainer = new ItemContainer();
+        game.getItemMan().fillContainer(itemContainer, loadout.getItemConfigs());
+        Engine ei = loadout.getEngine() == null ? null : loadout.getEngine().copy();
+
+        Gun g1 = null;
+        Gun g2 = null;
+        Shield shield = null;
+        Armor armor = null;
+
+        // For NPCs use the old logic that just equips whatever
+        for (List<SolItem> group : itemContainer) {
+            for (SolItem i : group) {
+                if (i instanceof Shield) {
+                    shield = (Shield) i;
+                    continue;
+                }
+                if (i instanceof Armor) {
+                    armor = (Armor) i;
+                    continue;
+                }
+                if (i instanceof Gun) {
+                    Gun g = (Gun) i;
+                    if (g1 == null && hullConfig.getGunSlot(0).allowsRotation() != g.config.fixed) {
+                        g1 = g;
+                        continue;
+                    }
+                    if (hullConfig.getNrOfGunSlots() > 1 && g2 == null && hullConfig.getGunSlot(1).allowsRotation() != g.config.fixed) {
+                        g2 = g;
+                    }
+                }
+            }
+        }
+
+        if (loadout.givesAmmo()) {
+            addAbilityCharges(itemContainer, hullConfig, pilot);
+            addAmmo(itemContainer, g1, pilot);
+            addAmmo(itemContainer, g2, pilot);
+        }
+        ship.setEquipment(itemContainer, g1, g2, shield, armor, ei);
     }
 
     private void addAmmo(ItemContainer ic, Gun g, Pilot pilot) {
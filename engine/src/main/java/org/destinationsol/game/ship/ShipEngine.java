@@ -22,6 +22,7 @@
 import org.destinationsol.common.SolMath;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.input.Pilot;
+import org.destinationsol.game.particle.EmitterTrigger;
 import org.destinationsol.game.item.Engine;
 
 public class ShipEngine {
@@ -40,7 +41,7 @@ public void update(float angle, SolGame game, Pilot provider, Body body, Vector2
                        float mass, SolShip ship) {
 
         boolean working = applyInput(game, angle, provider, body, velocity, controlsEnabled, mass);
-        game.getPartMan().updateAllHullEmittersOfType(ship, "engine", working);
+        game.getPartMan().updateAllHullEmittersOfType(ship, EmitterTrigger.ENGINE, working);
     }
 
     private boolean applyInput(SolGame cmp, float shipAngle, Pilot provider, Body body, Vector2 velocity,
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.ship;
+
+import org.destinationsol.game.HardnessCalc;
+import org.destinationsol.game.item.Engine;
+import org.destinationsol.game.item.ItemConfig;
+import org.destinationsol.game.item.ItemManager;
+import org.destinationsol.game.ship.hulls.HullConfig;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The equipment a ship is built with, as described by the items string of its {@link org.destinationsol.game.ShipConfig},
+ * before any of it is rolled into actual items.
+ * <p>
+ * Loadouts are immutable and shared by all the far ships built from the same items and hull (see
+ * {@link ShipBuilder#getLoadout(ItemManager, String, HullConfig, boolean)}). A far ship only keeps a reference to its
+ * loadout until it needs its items, which for most ships is only when they come close to the hero and turn into a
+ * {@link SolShip}.
+ */
+public class ShipLoadout {
+    private final String items;
+    private final HullConfig hullConfig;
+    private final boolean giveAmmo;
+    private final List<ItemConfig> itemConfigs;
+    private final Engine engine;
+    private final float dps;
+    private final float dmgCap;
+
+    ShipLoadout(ItemManager itemManager, String items, HullConfig hullConfig, boolean giveAmmo) {
+        this.items = items;
+        this.hullConfig = hullConfig;
+        this.giveAmmo = giveAmmo;
+        itemConfigs = Collections.unmodifiableList(itemManager.parseItems(items));
+        Engine.Config engineConfig = hullConfig.getEngineConfig();
+        engine = engineConfig == null ? null : engineConfig.exampleEngine;
+        dps = HardnessCalc.getItemsDps(itemConfigs, hullConfig);
+        dmgCap = HardnessCalc.getItemsDmgCap(itemConfigs, hullConfig);
+    }
+
+    public String getItems() {
+        return items;
+    }
+
+    public HullConfig getHullConfig() {
+        return hullConfig;
+    }
+
+    /**
+     * @return Whether ammo and ability charges are added when the items are rolled
+     */
+    public boolean givesAmmo() {
+        return giveAmmo;
+    }
+
+    public List<ItemConfig> getItemConfigs() {
+        return itemConfigs;
+    }
+
+    /**
+     * Returns the example engine of the hull. It is shared, so it must only be read from.
+     *
+     * @return The engine, or null if the hull has none
+     */
+    public Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * @return The expected damage per second of a ship with this loadout
+     */
+    public float getDps() {
+        return dps;
+    }
+
+    /**
+     * @return The expected damage capacity of a ship with this loadout
+     */
+    public float getDmgCap() {
+        return dmgCap;
+    }
+}
@@ -30,18 +30,17 @@ public class ShipRepairer {
     public ShipRepairer() {
     }
 
-    public float tryRepair(SolGame game, ItemContainer ic, float life, HullConfig config) {
+    public float tryRepair(SolGame game, ItemContainer ic, float life, HullConfig config, float timeStep) {
         // Don't attempt to repair if already at full health
         if (life == config.getMaxLife()) {
             return 0;
         }
 
-        float ts = game.getTimeStep();
         if (myRepairPoints <= 0 && ic.tryConsumeItem(game.getItemMan().getRepairExample())) {
             myRepairPoints = RepairItem.LIFE_AMT;
         }
         if (myRepairPoints > 0 && life < config.getMaxLife()) {
-            float inc = REPAIR_SPD * ts;
+            float inc = REPAIR_SPD * timeStep;
             if (myRepairPoints < inc) {
                 inc = myRepairPoints;
             }
@@ -28,6 +28,7 @@
 import org.destinationsol.game.AbilityCommonConfig;
 import org.destinationsol.game.DmgType;
 import org.destinationsol.game.FactionInfo;
+import org.destinationsol.game.HardnessCalc;
 import org.destinationsol.game.RemoveController;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.SolObject;
@@ -46,6 +47,7 @@
 import org.destinationsol.game.item.SolItem;
 import org.destinationsol.game.item.TradeContainer;
 import org.destinationsol.game.particle.DSParticleEmitter;
+import org.destinationsol.game.particle.EmitterTrigger;
 import org.destinationsol.game.ship.hulls.Hull;
 import org.destinationsol.game.ship.hulls.HullConfig;
 
@@ -84,6 +86,9 @@ public class SolShip implements SolObject {
     private float myControlEnableAwait;
     private MercItem mercItem;
     private boolean isMerc;
+    private boolean isHardnessValid;
+    private float dps;
+    private float dmgCap;
 
     public SolShip(SolGame game, Pilot pilot, Hull hull, RemoveController removeController, List<Drawable> drawables,
                    ItemContainer container, ShipRepairer repairer, float money, TradeContainer tradeContainer, Shield shield,
@@ -237,7 +242,7 @@ public void update(SolGame game) {
         SolShip nearestEnemy = game.getFactionMan().getNearestEnemy(game, this);
         myPilot.update(game, this, nearestEnemy);
         myHull.update(game, myItemContainer, myPilot, this, nearestEnemy);
-        game.getPartMan().updateAllHullEmittersOfType(this, "collision", colliding);
+        game.getPartMan().updateAllHullEmittersOfType(this, EmitterTrigger.COLLISION, colliding);
 
         updateAbility(game);
         updateIdleTime(game);
@@ -251,13 +256,11 @@ public void update(SolGame game) {
 
         if (myArmor != null && !myItemContainer.contains(myArmor)) {
             myArmor = null;
-        }
-        if (myTradeContainer != null) {
-            myTradeContainer.update(game);
+            onEquipmentChanged();
         }
 
         if (isControlsEnabled() && myRepairer != null && myIdleTime > ShipRepairer.REPAIR_AWAIT) {
-            myHull.life += myRepairer.tryRepair(game, myItemContainer, myHull.life, myHull.config);
+            myHull.life += myRepairer.tryRepair(game, myItemContainer, myHull.life, myHull.config, game.getTimeStep());
         }
 
         float ts = game.getTimeStep();
@@ -320,6 +323,7 @@ private void updateShield(SolGame game) {
                 myShield.update(game, this);
             } else {
                 myShield = null;
+                onEquipmentChanged();
             }
         }
     }
@@ -554,6 +558,7 @@ public boolean maybeEquip(SolGame game, SolItem item, boolean secondarySlot, boo
                     maybeUnequip(game, myShield, false, true);
                     myShield = shield;
                     myShield.setEquipped(1);
+                    onEquipmentChanged();
                 }
                 return true;
             }
@@ -563,6 +568,7 @@ public boolean maybeEquip(SolGame game, SolItem item, boolean secondarySlot, boo
                     maybeUnequip(game, myArmor, false, true);
                     myArmor = armor;
                     myArmor.setEquipped(1);
+                    onEquipmentChanged();
                 }
                 return true;
             }
@@ -603,6 +609,7 @@ public boolean maybeUnequip(SolGame game, SolItem item, boolean secondarySlot, b
                 if (unequip && myShield != null) {
                     myShield.setEquipped(0);
                     myShield = null;
+                    onEquipmentChanged();
                 }
                 return true;
             }
@@ -610,6 +617,7 @@ public boolean maybeUnequip(SolGame game, SolItem item, boolean secondarySlot, b
                 if (unequip && myArmor != null) {
                     myArmor.setEquipped(0);
                     myArmor = null;
+                    onEquipmentChanged();
                 }
                 return true;
             }
@@ -640,6 +648,43 @@ public TradeContainer getTradeContainer() {
         return myTradeContainer;
     }
 
+    /**
+     * Invalidates the memoised combat values of this ship. Must be called whenever a gun, armor or shield is equipped
+     * or unequipped.
+     */
+    public void onEquipmentChanged() {
+        isHardnessValid = false;
+    }
+
+    /**
+     * Returns the damage per second of the guns of this ship.
+     *
+     * @return The damage per second, recalculated only after the equipment changed
+     */
+    public float getDps() {
+        validateHardness();
+        return dps;
+    }
+
+    /**
+     * Returns the amount of damage this ship can take when undamaged, considering its armor and shield.
+     *
+     * @return The damage capacity, recalculated only after the equipment changed
+     */
+    public float getDmgCap() {
+        validateHardness();
+        return dmgCap;
+    }
+
+    private void validateHardness() {
+        if (isHardnessValid) {
+            return;
+        }
+        dps = HardnessCalc.getGunsDps(myHull.getGun(false), myHull.getGun(true));
+        dmgCap = HardnessCalc.getDmgCap(myHull.config, myArmor, myShield);
+        isHardnessValid = true;
+    }
+
     public Shield getShield() {
         return myShield;
     }
@@ -31,6 +31,7 @@
 import org.destinationsol.game.item.Gun;
 import org.destinationsol.game.item.ItemContainer;
 import org.destinationsol.game.particle.DSParticleEmitter;
+import org.destinationsol.game.particle.EmitterTrigger;
 import org.destinationsol.game.particle.LightSource;
 import org.destinationsol.game.planet.PlanetBind;
 import org.destinationsol.game.ship.Door;
@@ -39,7 +40,10 @@
 import org.destinationsol.game.ship.SolShip;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 public class Hull {
 
@@ -61,6 +65,7 @@ public class Hull {
     private float rotationSpeed;
     private ShipEngine engine;
     private List<DSParticleEmitter> particleEmitters;
+    private final Map<EmitterTrigger, List<DSParticleEmitter>> particleEmittersByTrigger;
 
     public Hull(SolGame game, HullConfig hullConfig, Body body, GunMount gunMount1, GunMount gunMount2, Fixture base,
                 List<LightSource> lightSources, float life, ArrayList<ForceBeacon> forceBeacons,
@@ -84,6 +89,7 @@ public Hull(SolGame game, HullConfig hullConfig, Body body, GunMount gunMount1,
         planetBind = config.getType() == HullConfig.Type.STATION ? PlanetBind.tryBind(game, position, angle) : null;
 
         particleEmitters = new ArrayList<>();
+        particleEmittersByTrigger = new EnumMap<>(EmitterTrigger.class);
     }
 
     public Body getBody() {
@@ -143,7 +149,7 @@ public void update(SolGame game, ItemContainer container, Pilot provider, SolShi
             body.setAngularVelocity(angleDiff * MathUtils.degRad * fps);
         }
 
-        game.getPartMan().updateAllHullEmittersOfType(ship, "none", true);
+        game.getPartMan().updateAllHullEmittersOfType(ship, EmitterTrigger.NONE, true);
     }
 
     private void setParamsFromBody() {
@@ -175,9 +181,16 @@ public void setParticleEmitters(SolGame game, SolShip ship) {
             drawables.removeAll(particleEmitterDrawables);
             game.getDrawableManager().removeAll(particleEmitterDrawables);
             particleEmitters.clear();
+            particleEmittersByTrigger.clear();
         }
         // Add the new particle emitters and their associated drawables
         config.getParticleEmitters().forEach(pes -> particleEmitters.add(new DSParticleEmitter(game, pes, ship)));
+        for (DSParticleEmitter particleEmitter : particleEmitters) {
+            EmitterTrigger trigger = particleEmitter.getTriggerType();
+            if (trigger != null) {
+                particleEmittersByTrigger.computeIfAbsent(trigger, t -> new ArrayList<>()).add(particleEmitter);
+            }
+        }
         List<Drawable> particleEmitterDrawables = new ArrayList<>();
         particleEmitters.forEach(pe -> particleEmitterDrawables.addAll(pe.getDrawables()));
         drawables.addAll(particleEmitterDrawables);
@@ -223,4 +236,14 @@ public HullConfig getHullConfig() {
     public List<DSParticleEmitter> getParticleEmitters() {
         return particleEmitters;
     }
+
+    /**
+     * Returns the particle emitters of this hull that are switched by the given trigger.
+     *
+     * @param trigger trigger of the particle emitters
+     * @return the matching particle emitters, possibly empty
+     */
+    public List<DSParticleEmitter> getParticleEmitters(EmitterTrigger trigger) {
+        return particleEmittersByTrigger.getOrDefault(trigger, Collections.emptyList());
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.destinationsol.AssetLoad")
+@Label("Asset Load")
+@Category("Destination Sol")
+@Description("Getting an asset, loading it if it is not loaded yet")
+class AssetLoadEvent extends Event implements EngineEvents.AssetLoad {
+    @Label("Urn")
+    String urn;
+    @Label("Type")
+    String type;
+    @Label("Found")
+    boolean found;
+
+    AssetLoadEvent() {
+        begin();
+    }
+
+    @Override
+    public void commit(String urn, String type, boolean found) {
+        this.urn = urn;
+        this.type = type;
+        this.found = found;
+        commit();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.destinationsol.ChunkFill")
+@Label("Chunk Fill")
+@Category("Destination Sol")
+@Description("Filling a chunk with asteroids, junk, dust and enemies")
+class ChunkFillEvent extends Event implements EngineEvents.ChunkFill {
+    @Label("Chunk X")
+    int chunkX;
+    @Label("Chunk Y")
+    int chunkY;
+    @Label("Far Background")
+    boolean farBackground;
+    @Label("Objects")
+    int objectCount;
+
+    ChunkFillEvent() {
+        begin();
+    }
+
+    @Override
+    public void commit(int chunkX, int chunkY, boolean farBackground, int objectCount) {
+        this.chunkX = chunkX;
+        this.chunkY = chunkY;
+        this.farBackground = farBackground;
+        this.objectCount = objectCount;
+        commit();
+    }
+}
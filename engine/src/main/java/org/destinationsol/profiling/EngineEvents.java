@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.profiling;
+
+/**
+ * Reports what the engine is doing to Java Flight Recorder, so that the work behind a hitch shows up in a recording as
+ * a chunk being filled or a ship being built rather than as anonymous CPU time.
+ * <p>
+ * Each kind of event is started with one of the {@code begin} methods and finished with the {@code commit} method of
+ * what it returned, which records the time in between together with the given details:
+ * <pre>
+ * EngineEvents.ChunkFill event = EngineEvents.beginChunkFill();
+ * ...
+ * if (event != null) {
+ *     event.commit(x, y, farBackground, objectCount);
+ * }
+ * </pre>
+ * While no recording is running, or where there is no flight recorder at all (Java 8 before update 262, Android), the
+ * {@code begin} methods return null after reading a single flag, so instrumented code costs next to nothing. The
+ * recorder itself decides which kinds of events a running recording keeps and over what duration; the events are
+ * named {@code org.destinationsol.*} and shown in the "Destination Sol" category.
+ */
+public final class EngineEvents {
+    private static volatile boolean recording;
+
+    static {
+        try {
+            JfrEvents.listen();
+        } catch (LinkageError | SecurityException e) {
+            // no flight recorder to report to
+        }
+    }
+
+    private EngineEvents() {
+    }
+
+    public interface ChunkFill {
+        /**
+         * @param chunkX The x coordinate of the chunk, in chunks
+         * @param chunkY The y coordinate of the chunk, in chunks
+         * @param farBackground Whether the far background layers of the chunk were filled
+         * @param objectCount The number of objects added to the chunk
+         */
+        void commit(int chunkX, int chunkY, boolean farBackground, int objectCount);
+    }
+
+    public interface Population {
+        /**
+         * @param kind What was populated, such as "planet" or "maze"
+         * @param name The name of the planet or maze, or an empty string if it has none
+         * @param x The x coordinate of its centre
+         * @param y The y coordinate of its centre
+         * @param objectCount The number of objects and far objects added
+         */
+        void commit(String kind, String name, float x, float y, int objectCount);
+    }
+
+    public interface ShipMaterialisation {
+        /**
+         * @param hull The internal name of the hull of the ship
+         * @param x The x coordinate of the ship
+         * @param y The y coordinate of the ship
+         */
+        void commit(String hull, float x, float y);
+    }
+
+    public interface FarNearTransitions {
+        /**
+         * @param toFar The number of objects turned into far objects
+         * @param toNear The number of far objects turned into objects
+         * @param farObjectCount The number of far objects afterwards
+         */
+        void commit(int toFar, int toNear, int farObjectCount);
+    }
+
+    public interface Save {
+        /**
+         * @param kind What was saved, such as "ship" or "world state"
+         * @param size The size of what was written, in characters or bytes
+         */
+        void commit(String kind, long size);
+    }
+
+    public interface AssetLoad {
+        /**
+         * @param urn The urn of the asset
+         * @param type The simple name of the type of the asset
+         * @param found Whether the asset was found
+         */
+        void commit(String urn, String type, boolean found);
+    }
+
+    /**
+     * @return The event, or null if no recording is running
+     */
+    public static ChunkFill beginChunkFill() {
+        return recording ? new ChunkFillEvent() : null;
+    }
+
+    /**
+     * @return The event, or null if no recording is running
+     */
+    public static Population beginPopulation() {
+        return recording ? new PopulationEvent() : null;
+    }
+
+    /**
+     * @return The event, or null if no recording is running
+     */
+    public static ShipMaterialisation beginShipMaterialisation() {
+        return recording ? new ShipMaterialisationEvent() : null;
+    }
+
+    /**
+     * @return The event, or null if no recording is running
+     */
+    public static FarNearTransitions beginFarNearTransitions() {
+        return recording ? new FarNearTransitionsEvent() : null;
+    }
+
+    /**
+     * @return The event, or null if no recording is running
+     */
+    public static Save beginSave() {
+        return recording ? new SaveEvent() : null;
+    }
+
+    /**
+     * @return The event, or null if no recording is running
+     */
+    public static AssetLoad beginAssetLoad() {
+        return recording ? new AssetLoadEvent() : null;
+    }
+
+    static void setRecording(boolean recording) {
+        EngineEvents.recording = recording;
+    }
+}
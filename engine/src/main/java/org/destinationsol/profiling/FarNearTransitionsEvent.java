@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.destinationsol.FarNearTransitions")
+@Label("Far/Near Transitions")
+@Category("Destination Sol")
+@Description("Turning objects into far objects and back in an update of the object manager")
+class FarNearTransitionsEvent extends Event implements EngineEvents.FarNearTransitions {
+    @Label("To Far")
+    int toFar;
+    @Label("To Near")
+    int toNear;
+    @Label("Far Objects")
+    int farObjectCount;
+
+    FarNearTransitionsEvent() {
+        begin();
+    }
+
+    @Override
+    public void commit(int toFar, int toNear, int farObjectCount) {
+        this.toFar = toFar;
+        this.toNear = toNear;
+        this.farObjectCount = farObjectCount;
+        commit();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.profiling;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps {@link EngineEvents} informed of whether any flight recording is running. All use of the recorder API outside
+ * of the event classes is kept here, so that the rest of the engine loads without it.
+ */
+final class JfrEvents {
+    private static final Set<Long> running = new HashSet<>();
+
+    private JfrEvents() {
+    }
+
+    static void listen() {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                update(recording);
+            }
+        });
+        // recordings started from the command line are already running by now
+        if (FlightRecorder.isInitialized()) {
+            for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+                update(recording);
+            }
+        }
+    }
+
+    private static synchronized void update(Recording recording) {
+        if (recording.getState() == RecordingState.RUNNING) {
+            running.add(recording.getId());
+        } else {
+            running.remove(recording.getId());
+        }
+        EngineEvents.setRecording(!running.isEmpty());
+    }
+}
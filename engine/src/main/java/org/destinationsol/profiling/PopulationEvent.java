@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.destinationsol.Population")
+@Label("Population")
+@Category("Destination Sol")
+@Description("Creating the objects of a planet or maze")
+class PopulationEvent extends Event implements EngineEvents.Population {
+    @Label("Kind")
+    String kind;
+    @Label("Name")
+    String name;
+    @Label("X")
+    float x;
+    @Label("Y")
+    float y;
+    @Label("Objects")
+    int objectCount;
+
+    PopulationEvent() {
+        begin();
+    }
+
+    @Override
+    public void commit(String kind, String name, float x, float y, int objectCount) {
+        this.kind = kind;
+        this.name = name;
+        this.x = x;
+        this.y = y;
+        this.objectCount = objectCount;
+        commit();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.destinationsol.Save")
+@Label("Save")
+@Category("Destination Sol")
+@Description("Writing a save file")
+class SaveEvent extends Event implements EngineEvents.Save {
+    @Label("Kind")
+    String kind;
+    @Label("Size")
+    long size;
+
+    SaveEvent() {
+        begin();
+    }
+
+    @Override
+    public void commit(String kind, long size) {
+        this.kind = kind;
+        this.size = size;
+        commit();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.destinationsol.ShipMaterialisation")
+@Label("Ship Materialisation")
+@Category("Destination Sol")
+@Description("Building a ship from a far ship that came close to the camera")
+class ShipMaterialisationEvent extends Event implements EngineEvents.ShipMaterialisation {
+    @Label("Hull")
+    String hull;
+    @Label("X")
+    float x;
+    @Label("Y")
+    float y;
+
+    ShipMaterialisationEvent() {
+        begin();
+    }
+
+    @Override
+    public void commit(String hull, float x, float y) {
+        this.hull = hull;
+        this.x = x;
+        this.y = y;
+        commit();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.save;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.common.SpatialGrid;
+import org.destinationsol.game.item.TradeConfig;
+import org.destinationsol.game.maze.Maze;
+import org.destinationsol.game.planet.Planet;
+import org.destinationsol.game.planet.SolSystem;
+import org.destinationsol.game.planet.SystemsBuilder;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Indices of the systems, planets and mazes of a {@link SaveData}, and of the trade configs they hold, so that the
+ * writer can refer to them without searching the lists for every ship.
+ */
+class GalaxyIndex {
+    private final int systemCount;
+    private final int planetCount;
+    private final int mazeCount;
+    private final Map<SolSystem, Integer> systemIndices;
+    private final Map<Planet, Integer> planetIndices;
+    private final Map<Maze, Integer> mazeIndices;
+    private final Map<TradeConfig, Integer> systemTrades;
+    private final Map<TradeConfig, Integer> planetTrades;
+    private final SpatialGrid<Integer> systemGrid;
+
+    GalaxyIndex(SaveData data) {
+        systemCount = data.systems.size();
+        planetCount = data.planets.size();
+        mazeCount = data.mazes.size();
+        systemIndices = new IdentityHashMap<>();
+        planetIndices = new IdentityHashMap<>();
+        mazeIndices = new IdentityHashMap<>();
+        systemTrades = new IdentityHashMap<>();
+        planetTrades = new IdentityHashMap<>();
+        systemGrid = new SpatialGrid<>(SystemsBuilder.GRID_CELL_SIZE);
+        for (int i = 0; i < systemCount; i++) {
+            SolSystem system = data.systems.get(i);
+            systemIndices.putIfAbsent(system, i);
+            systemGrid.add(i, system.getPosition(), system.getRadius());
+            TradeConfig tradeConfig = system.getConfig().tradeConfig;
+            if (tradeConfig != null) {
+                systemTrades.putIfAbsent(tradeConfig, i);
+            }
+        }
+        for (int i = 0; i < planetCount; i++) {
+            Planet planet = data.planets.get(i);
+            planetIndices.putIfAbsent(planet, i);
+            TradeConfig tradeConfig = planet.getConfig().tradeConfig;
+            if (tradeConfig != null) {
+                planetTrades.putIfAbsent(tradeConfig, i);
+            }
+        }
+        for (int i = 0; i < mazeCount; i++) {
+            mazeIndices.putIfAbsent(data.mazes.get(i), i);
+        }
+    }
+
+    /**
+     * Checks whether the index still matches the lists of a save, which are only ever filled, never reordered.
+     */
+    boolean matches(SaveData data) {
+        return systemCount == data.systems.size() && planetCount == data.planets.size() && mazeCount == data.mazes.size();
+    }
+
+    int getSystemIndex(SolSystem system) {
+        return getIndex(systemIndices, system);
+    }
+
+    int getPlanetIndex(Planet planet) {
+        return getIndex(planetIndices, planet);
+    }
+
+    int getMazeIndex(Maze maze) {
+        return getIndex(mazeIndices, maze);
+    }
+
+    /**
+     * @return The index of the first system with the given trade config, or -1 if there is none
+     */
+    int getSystemTradeIndex(TradeConfig tradeConfig) {
+        return getIndex(systemTrades, tradeConfig);
+    }
+
+    /**
+     * @return The index of the first planet with the given trade config, or -1 if there is none
+     */
+    int getPlanetTradeIndex(TradeConfig tradeConfig) {
+        return getIndex(planetTrades, tradeConfig);
+    }
+
+    /**
+     * @return The index of the system nearest to the position, or 0 if there are no systems
+     */
+    int getNearestSystem(Vector2 position) {
+        Integer nearest = systemGrid.getNearest(position);
+        return nearest == null ? 0 : nearest;
+    }
+
+    private static <T> int getIndex(Map<T, Integer> indices, T item) {
+        Integer index = indices.get(item);
+        return index == null ? -1 : index;
+    }
+}
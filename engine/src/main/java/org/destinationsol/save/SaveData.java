@@ -16,21 +16,56 @@
 
 package org.destinationsol.save;
 
+import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.game.FarObject;
+import org.destinationsol.game.maze.Maze;
 import org.destinationsol.game.planet.Planet;
 import org.destinationsol.game.planet.SolSystem;
+import org.destinationsol.game.ship.hulls.HullConfig;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * The state of a world, as written to and read from a world save by {@link WorldStateWriter} and
+ * {@link WorldStateReader}.
+ * <p>
+ * The systems, planets and mazes themselves are regenerated from the world seed; only their changing state is saved.
+ */
 public class SaveData {
     public final List<FarObject> farObjects;
     public final List<SolSystem> systems;
     public final List<Planet> planets;
+    public final List<Maze> mazes;
+    public final List<Integer> factionDispositions;
+    /**
+     * The systems that have been filled with their ships. The others are filled when the hero first approaches them.
+     */
+    public final Set<SolSystem> populatedSystems;
+    public final Vector2 mainStationPosition;
+    public HullConfig mainStationHull;
+    private GalaxyIndex index;
 
     public SaveData() {
         farObjects = new ArrayList<>();
         planets = new ArrayList<>();
         systems = new ArrayList<>();
+        mazes = new ArrayList<>();
+        factionDispositions = new ArrayList<>();
+        populatedSystems = new HashSet<>();
+        mainStationPosition = new Vector2();
+    }
+
+    /**
+     * Returns the indices of the systems, planets and mazes, built the first time they are needed and again whenever
+     * the lists have grown since.
+     */
+    GalaxyIndex getIndex() {
+        if (index == null || !index.matches(this)) {
+            index = new GalaxyIndex(this);
+        }
+        return index;
     }
 }
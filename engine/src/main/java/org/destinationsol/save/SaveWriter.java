@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.destinationsol.save;
+
+import org.destinationsol.game.SaveManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes {@link ShipSaveSnapshot}s to disk on a dedicated background thread.
+ * <p>
+ * Only the newest snapshot matters, so if a new one is submitted while an older one is still waiting to be written,
+ * the older one is dropped.
+ */
+public class SaveWriter {
+    private static final Logger logger = LoggerFactory.getLogger(SaveWriter.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ExecutorService executor;
+    private final AtomicReference<ShipSaveSnapshot> pending;
+    private volatile float lastSaveDuration;
+    private volatile int lastSnapshotSize;
+    private volatile int savesWritten;
+
+    public SaveWriter() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SaveWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pending = new AtomicReference<>();
+    }
+
+    /**
+     * Queues the snapshot to be written. Returns immediately.
+     *
+     * @param snapshot The snapshot to write
+     */
+    public void submit(ShipSaveSnapshot snapshot) {
+        if (pending.getAndSet(snapshot) == null) {
+            executor.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        ShipSaveSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        SaveManager.writeShipSnapshot(snapshot);
+        lastSaveDuration = (System.nanoTime() - start) / 1e6f;
+        lastSnapshotSize = snapshot.getSize();
+        savesWritten++;
+        logger.debug("Saved ship in {} ms ({} characters)", lastSaveDuration, lastSnapshotSize);
+    }
+
+    /**
+     * Writes any pending snapshot and stops the writer thread, waiting for it to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.error("Timed out waiting for the game to be saved");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The time the last save took to write, in milliseconds
+     */
+    public float getLastSaveDuration() {
+        return lastSaveDuration;
+    }
+
+    /**
+     * @return The size of the last written snapshot, in characters
+     */
+    public int getLastSnapshotSize() {
+        return lastSnapshotSize;
+    }
+
+    /**
+     * @return The number of snapshots written so far
+     */
+    public int getSavesWritten() {
+        return savesWritten;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.destinationsol.save;
+
+import org.destinationsol.common.Immutable;
+
+/**
+ * The serialised state of the hero's ship and mercenaries at one tick, ready to be written to disk from any thread.
+ * <p>
+ * Everything that needs live game objects is done while the snapshot is created on the game thread, so writing it
+ * never reads state that the game thread may be changing at the same time.
+ */
+@Immutable
+public class ShipSaveSnapshot {
+    private final String shipContents;
+    private final String mercenaryContents;
+
+    public ShipSaveSnapshot(String shipContents, String mercenaryContents) {
+        this.shipContents = shipContents;
+        this.mercenaryContents = mercenaryContents;
+    }
+
+    /**
+     * @return The contents of the ship save file, in ini format
+     */
+    public String getShipContents() {
+        return shipContents;
+    }
+
+    /**
+     * @return The contents of the mercenary save file, in JSON format
+     */
+    public String getMercenaryContents() {
+        return mercenaryContents;
+    }
+
+    /**
+     * @return The total number of characters in the snapshot
+     */
+    public int getSize() {
+        return shipContents.length() + mercenaryContents.length();
+    }
+}
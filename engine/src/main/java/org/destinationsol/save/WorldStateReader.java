@@ -0,0 +1,429 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.destinationsol.save;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.files.HullConfigManager;
+import org.destinationsol.game.Faction;
+import org.destinationsol.game.FarObject;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.input.AiPilot;
+import org.destinationsol.game.input.ExplorerDestProvider;
+import org.destinationsol.game.input.Guardian;
+import org.destinationsol.game.input.MoveDestProvider;
+import org.destinationsol.game.input.NoDestProvider;
+import org.destinationsol.game.input.OrbiterDestProvider;
+import org.destinationsol.game.input.StillGuard;
+import org.destinationsol.game.item.Armor;
+import org.destinationsol.game.item.Engine;
+import org.destinationsol.game.item.Gun;
+import org.destinationsol.game.item.ItemContainer;
+import org.destinationsol.game.item.ItemManager;
+import org.destinationsol.game.item.Shield;
+import org.destinationsol.game.item.SolItem;
+import org.destinationsol.game.item.TradeContainer;
+import org.destinationsol.game.maze.Maze;
+import org.destinationsol.game.planet.Planet;
+import org.destinationsol.game.planet.PlanetManager;
+import org.destinationsol.game.planet.SolSystem;
+import org.destinationsol.game.ship.FarShip;
+import org.destinationsol.game.ship.ShipLoadout;
+import org.destinationsol.game.ship.ShipRepairer;
+import org.destinationsol.game.ship.hulls.HullConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a world save written by {@link WorldStateWriter} back into a {@link SaveData}.
+ * <p>
+ * The galaxy has to be regenerated from the saved seed before reading. The saved state of its planets and mazes is
+ * applied to it directly, while the saved ships are rebuilt into {@link SaveData#farObjects}, ready to be added to the
+ * object manager.
+ * <p>
+ * A save that does not fit the current game, for example one that refers to a hull of a module that is no longer
+ * loaded, is rejected with an {@link IOException} before anything in the galaxy is changed.
+ */
+public class WorldStateReader {
+    private static final Faction[] FACTIONS = Faction.values();
+
+    private final SolGame game;
+    private final HullConfigManager hullConfigManager;
+    private final ItemManager itemManager;
+    private final PlanetManager planetManager;
+    private final Map<Integer, FarShip> shipsById;
+    private final List<GuardianRecord> guardians;
+    private final List<Runnable> stateRestorers;
+    private String[] strings;
+    private int version;
+
+    public WorldStateReader(SolGame game) {
+        this.game = game;
+        hullConfigManager = game.getHullConfigManager();
+        itemManager = game.getItemMan();
+        planetManager = game.getPlanetManager();
+        shipsById = new HashMap<>();
+        guardians = new ArrayList<>();
+        stateRestorers = new ArrayList<>();
+    }
+
+    /**
+     * Reads the world state.
+     *
+     * @param seed The seed the current galaxy was generated from
+     * @param in The stream to read from
+     * @return The read world state
+     * @throws IOException if the stream could not be read, or the save does not match the current galaxy
+     */
+    public SaveData read(long seed, DataInputStream in) throws IOException {
+        if (in.readInt() != WorldStateWriter.MAGIC) {
+            throw new IOException("Not a world save");
+        }
+        version = in.readShort();
+        if (version > WorldStateWriter.VERSION) {
+            throw new IOException("Unsupported world save version " + version);
+        }
+        if (version < WorldStateWriter.MIN_VERSION) {
+            throw new IOException("World save is for a galaxy generated by an older version");
+        }
+        if (in.readLong() != seed) {
+            throw new IOException("World save is for a different seed");
+        }
+        SaveData data = new SaveData();
+        data.systems.addAll(planetManager.getSystems());
+        data.planets.addAll(planetManager.getPlanets());
+        data.mazes.addAll(planetManager.getMazes());
+        if (in.readInt() != data.systems.size() || in.readInt() != data.planets.size() || in.readInt() != data.mazes.size()) {
+            throw new IOException("World save does not match the generated galaxy");
+        }
+
+        int factionCount = in.readShort();
+        for (int i = 0; i < factionCount; i++) {
+            data.factionDispositions.add(in.readInt());
+        }
+        if (in.readBoolean()) {
+            data.mainStationHull = readHull(in.readUTF());
+            data.mainStationPosition.set(in.readFloat(), in.readFloat());
+        }
+        readStrings(in);
+
+        for (int i = 0; i < data.systems.size(); i++) {
+            SolSystem system = get(data.systems, in.readInt(), "system");
+            int chunkLength = in.readInt();
+            if (chunkLength < 0) {
+                throw new IOException("Negative chunk length " + chunkLength);
+            }
+            byte[] chunk = new byte[chunkLength];
+            in.readFully(chunk);
+            readSystem(data, system, new DataInputStream(new ByteArrayInputStream(chunk)));
+        }
+
+        // guardians are built last, as the ships they guard may be in a later chunk
+        buildGuardians(data.farObjects);
+        // the galaxy is only touched once the whole save has been read, so that a broken save can be regenerated
+        for (Runnable stateRestorer : stateRestorers) {
+            stateRestorer.run();
+        }
+        return data;
+    }
+
+    /**
+     * Reads a record written by {@link WorldStateWriter#writeShips(SaveData, List)}.
+     *
+     * @param data The world the ships are in, used to look up the systems and planets they refer to
+     * @param record The record to read
+     * @return The rebuilt ships
+     * @throws IOException if the record could not be read
+     */
+    public List<FarObject> readShips(SaveData data, byte[] record) throws IOException {
+        shipsById.clear();
+        guardians.clear();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        version = WorldStateWriter.VERSION;
+        readStrings(in);
+        int shipCount = readCount(in.readInt());
+        List<FarObject> ships = new ArrayList<>(shipCount);
+        for (int i = 0; i < shipCount; i++) {
+            readShip(data, in, ships);
+        }
+        buildGuardians(ships);
+        return ships;
+    }
+
+    private void readStrings(DataInputStream in) throws IOException {
+        strings = new String[in.readUnsignedShort()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readUTF();
+        }
+    }
+
+    private void buildGuardians(List<FarObject> ships) {
+        for (GuardianRecord guardian : guardians) {
+            ships.add(guardian.build());
+        }
+    }
+
+    private void readSystem(SaveData data, SolSystem system, DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            data.populatedSystems.add(system);
+        }
+        List<Planet> planets = system.getPlanets();
+        if (in.readShort() != planets.size()) {
+            throw new IOException("World save does not match the generated galaxy");
+        }
+        for (Planet planet : planets) {
+            float angleInSystem = in.readFloat();
+            float angle = in.readFloat();
+            boolean objectsCreated = in.readBoolean();
+            stateRestorers.add(() -> planet.restoreState(angleInSystem, angle, objectsCreated));
+        }
+
+        int mazeCount = in.readShort();
+        for (int i = 0; i < mazeCount; i++) {
+            Maze maze = get(data.mazes, in.readInt(), "maze");
+            boolean objectsCreated = in.readBoolean();
+            stateRestorers.add(() -> maze.restoreState(objectsCreated));
+        }
+
+        int shipCount = readCount(in.readInt());
+        for (int i = 0; i < shipCount; i++) {
+            readShip(data, in, data.farObjects);
+        }
+    }
+
+    private void readShip(SaveData data, DataInputStream in, List<FarObject> ships) throws IOException {
+        ShipRecord ship = new ShipRecord();
+        int id = in.readInt();
+        ship.hullConfig = readHull(readString(in));
+        ship.position = readVector(in);
+        ship.velocity = readVector(in);
+        ship.angle = in.readFloat();
+        ship.rotationSpeed = in.readFloat();
+        ship.life = in.readFloat();
+        ship.money = in.readFloat();
+        ship.hasRepairer = in.readBoolean();
+
+        ship.faction = get(FACTIONS, in.readByte(), "faction");
+        ship.collectsItems = in.readBoolean();
+        ship.shootsAtObstacles = in.readBoolean();
+        ship.detectionDist = in.readFloat();
+        ship.mapHint = readNullableString(in);
+
+        MoveDestProvider destProvider = null;
+        GuardianRecord guardian = null;
+        byte pilotType = in.readByte();
+        switch (pilotType) {
+            case WorldStateWriter.PILOT_STATION:
+                destProvider = new NoDestProvider();
+                break;
+            case WorldStateWriter.PILOT_EXPLORER:
+                SolSystem system = get(data.systems, in.readInt(), "system");
+                destProvider = new ExplorerDestProvider(ship.position, in.readBoolean(), ship.hullConfig, system);
+                break;
+            case WorldStateWriter.PILOT_GUARDIAN:
+                guardian = new GuardianRecord(ship, in.readInt(), in.readFloat());
+                break;
+            case WorldStateWriter.PILOT_ORBITER:
+                Planet planet = get(data.planets, in.readInt(), "planet");
+                destProvider = new OrbiterDestProvider(planet, in.readFloat(), in.readBoolean());
+                break;
+            case WorldStateWriter.PILOT_STILL_GUARD:
+                destProvider = new StillGuard(readVector(in), game, ship.hullConfig);
+                break;
+            default:
+                throw new IOException("Unknown pilot type " + pilotType);
+        }
+
+        byte tradeType = in.readByte();
+        if (tradeType == WorldStateWriter.TRADE_SYSTEM) {
+            ship.tradeContainer = new TradeContainer(get(data.systems, in.readInt(), "system").getConfig().tradeConfig, game.getTimers());
+        } else if (tradeType == WorldStateWriter.TRADE_PLANET) {
+            ship.tradeContainer = new TradeContainer(get(data.planets, in.readInt(), "planet").getConfig().tradeConfig, game.getTimers());
+        } else if (tradeType != WorldStateWriter.TRADE_NONE) {
+            throw new IOException("Unknown trade type " + tradeType);
+        }
+
+        if (version >= 4 && in.readBoolean()) {
+            ship.loadout = readLoadout(readString(in), ship.hullConfig, in.readBoolean());
+            addShip(ship, id, destProvider, guardian, ships);
+            return;
+        }
+        int itemCount = readCount(in.readShort());
+        ship.items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            SolItem example = itemManager.getExample(readString(in));
+            if (example != null) {
+                ship.items.add(example.copy());
+            }
+        }
+        ship.gun1 = readNullableString(in);
+        ship.gun2 = readNullableString(in);
+        ship.armor = readNullableString(in);
+        ship.shield = readNullableString(in);
+        addShip(ship, id, destProvider, guardian, ships);
+    }
+
+    private void addShip(ShipRecord ship, int id, MoveDestProvider destProvider, GuardianRecord guardian, List<FarObject> ships) {
+        if (guardian != null) {
+            guardians.add(guardian);
+            return;
+        }
+        FarShip farShip = ship.build(destProvider);
+        shipsById.put(id, farShip);
+        ships.add(farShip);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int index = in.readUnsignedShort();
+        if (index >= strings.length) {
+            throw new IOException("String " + index + " is not in the string table of " + strings.length);
+        }
+        return strings[index];
+    }
+
+    private HullConfig readHull(String name) throws IOException {
+        try {
+            return hullConfigManager.getConfig(name);
+        } catch (RuntimeException e) {
+            throw new IOException("Unknown hull " + name, e);
+        }
+    }
+
+    private ShipLoadout readLoadout(String items, HullConfig hullConfig, boolean giveAmmo) throws IOException {
+        try {
+            return game.getShipBuilder().getLoadout(itemManager, items, hullConfig, giveAmmo);
+        } catch (RuntimeException e) {
+            throw new IOException("Unknown items in " + items, e);
+        }
+    }
+
+    private static <T> T get(T[] array, int index, String what) throws IOException {
+        if (index < 0 || index >= array.length) {
+            throw new IOException("There is no " + what + " " + index);
+        }
+        return array[index];
+    }
+
+    private static <T> T get(List<T> list, int index, String what) throws IOException {
+        if (index < 0 || index >= list.size()) {
+            throw new IOException("There is no " + what + " " + index + " in the generated galaxy");
+        }
+        return list.get(index);
+    }
+
+    private static int readCount(int count) throws IOException {
+        if (count < 0) {
+            throw new IOException("Negative count " + count);
+        }
+        return count;
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Vector2 readVector(DataInputStream in) throws IOException {
+        return new Vector2(in.readFloat(), in.readFloat());
+    }
+
+    private static <T extends SolItem> T takeItem(List<SolItem> items, Class<T> type, String code, List<SolItem> taken) {
+        if (code == null) {
+            return null;
+        }
+        for (SolItem item : items) {
+            if (type.isInstance(item) && code.equals(item.getCode()) && !taken.contains(item)) {
+                taken.add(item);
+                return type.cast(item);
+            }
+        }
+        return null;
+    }
+
+    private static class ShipRecord {
+        ShipLoadout loadout;
+        HullConfig hullConfig;
+        Vector2 position;
+        Vector2 velocity;
+        float angle;
+        float rotationSpeed;
+        float life;
+        float money;
+        boolean hasRepairer;
+        Faction faction;
+        boolean collectsItems;
+        boolean shootsAtObstacles;
+        float detectionDist;
+        String mapHint;
+        TradeContainer tradeContainer;
+        List<SolItem> items;
+        String gun1;
+        String gun2;
+        String armor;
+        String shield;
+
+        FarShip build(MoveDestProvider destProvider) {
+            AiPilot pilot = new AiPilot(destProvider, collectsItems, faction, shootsAtObstacles, mapHint, detectionDist);
+            ShipRepairer repairer = hasRepairer ? new ShipRepairer() : null;
+            if (loadout != null) {
+                return new FarShip(position, velocity, angle, rotationSpeed, pilot, loadout, life, null, repairer, money, tradeContainer);
+            }
+            ItemContainer container = new ItemContainer();
+            for (SolItem item : items) {
+                container.add(item);
+            }
+            List<SolItem> taken = new ArrayList<>();
+            Gun g1 = takeItem(items, Gun.class, gun1, taken);
+            Gun g2 = takeItem(items, Gun.class, gun2, taken);
+            Armor a = takeItem(items, Armor.class, armor, taken);
+            Shield s = takeItem(items, Shield.class, shield, taken);
+            Engine.Config engineConfig = hullConfig.getEngineConfig();
+            Engine engine = engineConfig == null ? null : engineConfig.exampleEngine.copy();
+            return new FarShip(position, velocity, angle, rotationSpeed, pilot, container, hullConfig, life, g1, g2,
+                    null, engine, repairer, money, tradeContainer, s, a);
+        }
+    }
+
+    private class GuardianRecord {
+        private final ShipRecord ship;
+        private final int targetId;
+        private final float relAngle;
+
+        GuardianRecord(ShipRecord ship, int targetId, float relAngle) {
+            this.ship = ship;
+            this.targetId = targetId;
+            this.relAngle = relAngle;
+        }
+
+        FarShip build() {
+            FarShip target = shipsById.get(targetId);
+            MoveDestProvider destProvider;
+            if (target == null) {
+                // the guarded ship is gone, so just hold the position
+                destProvider = new StillGuard(ship.position, game, ship.hullConfig);
+            } else {
+                destProvider = new Guardian(game, ship.hullConfig, target.getPilot(), target.getPosition(),
+                        target.getHullConfig(), relAngle);
+            }
+            return ship.build(destProvider);
+        }
+    }
+}
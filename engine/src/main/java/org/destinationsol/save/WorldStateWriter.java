@@ -0,0 +1,375 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.destinationsol.save;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.game.FarObject;
+import org.destinationsol.game.input.AiPilot;
+import org.destinationsol.game.input.ExplorerDestProvider;
+import org.destinationsol.game.input.Guardian;
+import org.destinationsol.game.input.MoveDestProvider;
+import org.destinationsol.game.input.NoDestProvider;
+import org.destinationsol.game.input.OrbiterDestProvider;
+import org.destinationsol.game.input.Pilot;
+import org.destinationsol.game.input.StillGuard;
+import org.destinationsol.game.item.Armor;
+import org.destinationsol.game.item.Gun;
+import org.destinationsol.game.item.Shield;
+import org.destinationsol.game.item.SolItem;
+import org.destinationsol.game.item.TradeConfig;
+import org.destinationsol.game.item.TradeContainer;
+import org.destinationsol.game.maze.Maze;
+import org.destinationsol.game.planet.Planet;
+import org.destinationsol.game.planet.SolSystem;
+import org.destinationsol.game.ship.FarShip;
+import org.destinationsol.game.ship.ShipLoadout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link SaveData} in the binary world save format.
+ * <p>
+ * The file starts with a header (format version, world seed, the sizes of the generated galaxy, faction dispositions,
+ * the main station and a table of the strings used by the rest of the file), followed by one length-prefixed chunk per
+ * system. A chunk holds whether the system has been populated with ships yet and the state of the system's planets
+ * and of the mazes and ships closest to it, so a reader can skip systems it does not need yet. Hull and item names are
+ * written as indices into the string table.
+ * <p>
+ * Ships can also be written on their own, as a self-contained record, with {@link #writeShips(SaveData, List)}.
+ */
+public class WorldStateWriter {
+    public static final int MAGIC = 0x44535753; // "DSWS"
+    /**
+     * Version 4 writes the loadout of ships whose items have not been rolled yet instead of their items.
+     */
+    public static final int VERSION = 4;
+    /**
+     * Version 3 marks saves of galaxies whose systems were generated from per-system random sequences. Older saves
+     * describe a different galaxy for the same seed, so they cannot be read.
+     */
+    public static final int MIN_VERSION = 3;
+
+    static final byte PILOT_STATION = 0;
+    static final byte PILOT_EXPLORER = 1;
+    static final byte PILOT_GUARDIAN = 2;
+    static final byte PILOT_ORBITER = 3;
+    static final byte PILOT_STILL_GUARD = 4;
+
+    static final byte TRADE_NONE = 0;
+    static final byte TRADE_SYSTEM = 1;
+    static final byte TRADE_PLANET = 2;
+
+    private final List<String> strings;
+    private final Map<String, Integer> stringIndices;
+
+    public WorldStateWriter() {
+        strings = new ArrayList<>();
+        stringIndices = new HashMap<>();
+    }
+
+    /**
+     * Checks whether a ship belongs in the world save. The hero and mercenaries are saved with the hero's ship, and
+     * ships with a remove controller are spawned around the hero on the fly, so none of them are.
+     *
+     * @param ship The ship to check
+     * @return true if the ship should be written to the world save
+     */
+    public static boolean isPersistent(FarShip ship) {
+        Pilot pilot = ship.getPilot();
+        if (!(pilot instanceof AiPilot) || ship.isMerc() || ship.getRemoveController() != null) {
+            return false;
+        }
+        return getPilotType(((AiPilot) pilot).getDestProvider()) >= 0;
+    }
+
+    private static int getPilotType(MoveDestProvider destProvider) {
+        if (destProvider instanceof NoDestProvider) {
+            return PILOT_STATION;
+        }
+        if (destProvider instanceof ExplorerDestProvider) {
+            return PILOT_EXPLORER;
+        }
+        if (destProvider instanceof Guardian) {
+            return PILOT_GUARDIAN;
+        }
+        if (destProvider instanceof OrbiterDestProvider) {
+            return PILOT_ORBITER;
+        }
+        if (destProvider instanceof StillGuard) {
+            return PILOT_STILL_GUARD;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the world state.
+     *
+     * @param data The world state to write. Its far objects should only contain ships accepted by {@link #isPersistent(FarShip)}.
+     * @param seed The seed the world was generated from
+     * @param out The stream to write to
+     * @throws IOException if the stream could not be written to
+     */
+    public void write(SaveData data, long seed, DataOutputStream out) throws IOException {
+        List<FarShip> ships = new ArrayList<>();
+        Map<Pilot, Integer> shipIds = new HashMap<>();
+        for (FarObject farObject : data.farObjects) {
+            if (farObject instanceof FarShip) {
+                FarShip ship = (FarShip) farObject;
+                shipIds.put(ship.getPilot(), ships.size());
+                ships.add(ship);
+            }
+        }
+
+        List<List<FarShip>> shipsBySystem = new ArrayList<>();
+        List<List<Maze>> mazesBySystem = new ArrayList<>();
+        for (int i = 0; i < data.systems.size(); i++) {
+            shipsBySystem.add(new ArrayList<>());
+            mazesBySystem.add(new ArrayList<>());
+        }
+        GalaxyIndex index = data.getIndex();
+        for (FarShip ship : ships) {
+            shipsBySystem.get(index.getNearestSystem(ship.getPosition())).add(ship);
+        }
+        for (Maze maze : data.mazes) {
+            mazesBySystem.get(index.getNearestSystem(maze.getPos())).add(maze);
+        }
+
+        // chunks are encoded first, so that the string table they fill can be written in the header
+        List<byte[]> chunks = new ArrayList<>();
+        for (int i = 0; i < data.systems.size(); i++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream chunk = new DataOutputStream(bytes);
+            writeSystem(data, data.systems.get(i), mazesBySystem.get(i), shipsBySystem.get(i), shipIds, chunk);
+            chunk.flush();
+            chunks.add(bytes.toByteArray());
+        }
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(seed);
+        out.writeInt(data.systems.size());
+        out.writeInt(data.planets.size());
+        out.writeInt(data.mazes.size());
+        out.writeShort(data.factionDispositions.size());
+        for (int disposition : data.factionDispositions) {
+            out.writeInt(disposition);
+        }
+        out.writeBoolean(data.mainStationHull != null);
+        if (data.mainStationHull != null) {
+            out.writeUTF(data.mainStationHull.getInternalName());
+            out.writeFloat(data.mainStationPosition.x);
+            out.writeFloat(data.mainStationPosition.y);
+        }
+        writeStrings(out);
+
+        for (int i = 0; i < chunks.size(); i++) {
+            byte[] chunk = chunks.get(i);
+            out.writeInt(i);
+            out.writeInt(chunk.length);
+            out.write(chunk);
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes ships as a self-contained record, with its own string table. A writer should only be used for one record.
+     *
+     * @param data The world the ships are in, used to look up the systems and planets they refer to
+     * @param ships The ships to write, all accepted by {@link #isPersistent(FarShip)}
+     * @return The record, to be read by {@link WorldStateReader#readShips(SaveData, byte[])}
+     * @throws IOException if the ships could not be written
+     */
+    public byte[] writeShips(SaveData data, List<FarShip> ships) throws IOException {
+        Map<Pilot, Integer> shipIds = new HashMap<>();
+        for (FarShip ship : ships) {
+            shipIds.put(ship.getPilot(), shipIds.size());
+        }
+        ByteArrayOutputStream shipBytes = new ByteArrayOutputStream();
+        DataOutputStream shipOut = new DataOutputStream(shipBytes);
+        for (FarShip ship : ships) {
+            writeShip(data, ship, shipIds, shipOut);
+        }
+        shipOut.flush();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeStrings(out);
+        out.writeInt(ships.size());
+        shipBytes.writeTo(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void writeStrings(DataOutputStream out) throws IOException {
+        out.writeShort(strings.size());
+        for (String string : strings) {
+            out.writeUTF(string);
+        }
+    }
+
+    private void writeSystem(SaveData data, SolSystem system, List<Maze> mazes, List<FarShip> ships,
+                             Map<Pilot, Integer> shipIds, DataOutputStream out) throws IOException {
+        out.writeBoolean(data.populatedSystems.contains(system));
+        List<Planet> planets = system.getPlanets();
+        out.writeShort(planets.size());
+        for (Planet planet : planets) {
+            out.writeFloat(planet.getAngleInSystem());
+            out.writeFloat(planet.getAngle());
+            out.writeBoolean(planet.areObjectsCreated());
+        }
+
+        out.writeShort(mazes.size());
+        for (Maze maze : mazes) {
+            out.writeInt(data.getIndex().getMazeIndex(maze));
+            out.writeBoolean(maze.areObjectsCreated());
+        }
+
+        out.writeInt(ships.size());
+        for (FarShip ship : ships) {
+            writeShip(data, ship, shipIds, out);
+        }
+    }
+
+    private void writeShip(SaveData data, FarShip ship, Map<Pilot, Integer> shipIds, DataOutputStream out) throws IOException {
+        AiPilot pilot = (AiPilot) ship.getPilot();
+        out.writeInt(shipIds.get(pilot));
+        out.writeShort(getStringIndex(ship.getHullConfig().getInternalName()));
+        writeVector(ship.getPosition(), out);
+        writeVector(ship.getVelocity(), out);
+        out.writeFloat(ship.getAngle());
+        out.writeFloat(ship.getRotationSpeed());
+        out.writeFloat(ship.getLife());
+        out.writeFloat(ship.getMoney());
+        out.writeBoolean(ship.getRepairer() != null);
+
+        out.writeByte(pilot.getFaction().ordinal());
+        out.writeBoolean(pilot.collectsItems());
+        out.writeBoolean(pilot.shootsAtObstacles());
+        out.writeFloat(pilot.getDetectionDist());
+        writeNullableString(pilot.getMapHint(), out);
+        writeDestProvider(data, pilot.getDestProvider(), shipIds, out);
+
+        writeTrade(data, ship.getTradeContainer(), out);
+
+        ShipLoadout loadout = ship.getLoadout();
+        out.writeBoolean(loadout != null);
+        if (loadout != null) {
+            out.writeShort(getStringIndex(loadout.getItems()));
+            out.writeBoolean(loadout.givesAmmo());
+            return;
+        }
+        List<SolItem> items = new ArrayList<>();
+        for (List<SolItem> group : ship.getIc()) {
+            for (SolItem item : group) {
+                if (item.getCode() != null) {
+                    items.add(item);
+                }
+            }
+        }
+        out.writeShort(items.size());
+        for (SolItem item : items) {
+            out.writeShort(getStringIndex(item.getCode()));
+        }
+        Gun gun1 = ship.getGun(false);
+        Gun gun2 = ship.getGun(true);
+        Armor armor = ship.getArmor();
+        Shield shield = ship.getShield();
+        writeNullableString(gun1 == null ? null : gun1.getCode(), out);
+        writeNullableString(gun2 == null ? null : gun2.getCode(), out);
+        writeNullableString(armor == null ? null : armor.getCode(), out);
+        writeNullableString(shield == null ? null : shield.getCode(), out);
+    }
+
+    private void writeDestProvider(SaveData data, MoveDestProvider destProvider, Map<Pilot, Integer> shipIds,
+                                   DataOutputStream out) throws IOException {
+        int type = getPilotType(destProvider);
+        out.writeByte(type);
+        switch (type) {
+            case PILOT_EXPLORER:
+                ExplorerDestProvider explorer = (ExplorerDestProvider) destProvider;
+                out.writeInt(data.getIndex().getSystemIndex(explorer.getSystem()));
+                out.writeBoolean(explorer.isAggressive());
+                break;
+            case PILOT_GUARDIAN:
+                Guardian guardian = (Guardian) destProvider;
+                Integer targetId = shipIds.get(guardian.getTargetPilot());
+                out.writeInt(targetId == null ? -1 : targetId);
+                out.writeFloat(guardian.getRelAngle());
+                break;
+            case PILOT_ORBITER:
+                OrbiterDestProvider orbiter = (OrbiterDestProvider) destProvider;
+                out.writeInt(data.getIndex().getPlanetIndex(orbiter.getPlanet()));
+                out.writeFloat(orbiter.getHeight());
+                out.writeBoolean(orbiter.isClockwise());
+                break;
+            case PILOT_STILL_GUARD:
+                writeVector(destProvider.getDestination(), out);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void writeTrade(SaveData data, TradeContainer tradeContainer, DataOutputStream out) throws IOException {
+        if (tradeContainer == null) {
+            out.writeByte(TRADE_NONE);
+            return;
+        }
+        TradeConfig tradeConfig = tradeContainer.getConfig();
+        int systemIndex = data.getIndex().getSystemTradeIndex(tradeConfig);
+        if (systemIndex >= 0) {
+            out.writeByte(TRADE_SYSTEM);
+            out.writeInt(systemIndex);
+            return;
+        }
+        int planetIndex = data.getIndex().getPlanetTradeIndex(tradeConfig);
+        if (planetIndex >= 0) {
+            out.writeByte(TRADE_PLANET);
+            out.writeInt(planetIndex);
+            return;
+        }
+        out.writeByte(TRADE_NONE);
+    }
+
+    private int getStringIndex(String string) {
+        Integer index = stringIndices.get(string);
+        if (index == null) {
+            index = strings.size();
+            strings.add(string);
+            stringIndices.put(string, index);
+        }
+        return index;
+    }
+
+    private static void writeNullableString(String string, DataOutputStream out) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static void writeVector(Vector2 vector, DataOutputStream out) throws IOException {
+        out.writeFloat(vector.x);
+        out.writeFloat(vector.y);
+    }
+}
@@ -16,12 +16,12 @@
 package org.destinationsol.ui;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Cursor;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import org.destinationsol.Const;
 import org.destinationsol.GameOptions;
@@ -34,7 +34,9 @@
 import org.destinationsol.game.SolGame;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.badlogic.gdx.graphics.Pixmap.Format.RGBA8888;
 
@@ -49,6 +51,7 @@ public class SolInputManager {
     private final List<SolUiScreen> screens = new ArrayList<>();
     private final List<SolUiScreen> screenToRemove = new ArrayList<>();
     private final List<SolUiScreen> screensToAdd = new ArrayList<>();
+    private final Map<SolUiScreen, UiControlIndex> controlIndices = new IdentityHashMap<>();
     private final InputPointer[] inputPointers;
     private final InputPointer flashInputPointer;
     private final Vector2 mousePos;
@@ -184,18 +187,28 @@ public void update(SolApplication solApplication) {
         boolean consumed = false;
         mouseOnUi = false;
         boolean clickOutsideReacted = false;
+        // any control can be bound to a held key, otherwise only controls under a pointer or with state to update change
+        boolean anyKeyPressed = Gdx.input.isKeyPressed(Input.Keys.ANY_KEY);
         for (SolUiScreen screen : screens) {
             boolean consumedNow = false;
             List<SolUiControl> controls = screen.getControls();
-            for (SolUiControl control : controls) {
+            UiControlIndex controlIndex = getControlIndex(screen);
+            controlIndex.update(controls);
+            for (InputPointer inputPointer : inputPointers) {
+                controlIndex.markHits(inputPointer.x, inputPointer.y);
+            }
+            for (int i = 0, size = controls.size(); i < size; i++) {
+                SolUiControl control = controls.get(i);
+                if (!anyKeyPressed && !controlIndex.isHit(i) && !control.needsUpdate()) {
+                    continue;
+                }
                 control.update(inputPointers, currCursor != null, !consumed, this, solApplication);
                 if (control.isOn() || control.isJustOff()) {
                     consumedNow = true;
                 }
-                Rectangle area = control.getScreenArea();
-                if (area != null && area.contains(mousePos)) {
-                    mouseOnUi = true;
-                }
+            }
+            if (controlIndex.isOnControl(mousePos.x, mousePos.y)) {
+                mouseOnUi = true;
             }
             if (consumedNow) {
                 consumed = true;
@@ -244,17 +257,33 @@ private void updateWarnPerc() {
         warnColor.a = warnPercentage * .5f;
     }
 
+    private UiControlIndex getControlIndex(SolUiScreen screen) {
+        UiControlIndex controlIndex = controlIndices.get(screen);
+        if (controlIndex == null) {
+            controlIndex = new UiControlIndex();
+            controlIndices.put(screen, controlIndex);
+        }
+        return controlIndex;
+    }
+
     private void addRemoveScreens() {
-        screens.removeAll(screenToRemove);
-        screenToRemove.clear();
+        if (!screenToRemove.isEmpty()) {
+            for (SolUiScreen screen : screenToRemove) {
+                screens.remove(screen);
+                controlIndices.remove(screen);
+            }
+            screenToRemove.clear();
+        }
 
-        for (SolUiScreen screen : screensToAdd) {
-            if (isScreenOn(screen)) {
-                continue;
+        if (!screensToAdd.isEmpty()) {
+            for (SolUiScreen screen : screensToAdd) {
+                if (isScreenOn(screen)) {
+                    continue;
+                }
+                screens.add(0, screen);
             }
-            screens.add(0, screen);
+            screensToAdd.clear();
         }
-        screensToAdd.clear();
     }
 
     private void updateCursor(SolApplication solApplication) {
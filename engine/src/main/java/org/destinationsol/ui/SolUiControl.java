@@ -102,6 +102,19 @@ public void update(SolInputManager.InputPointer[] inputPointers, boolean cursorS
         }
     }
 
+    /**
+     * Tells whether the control has state that changes on its next update even when no key is held and no pointer is
+     * over it, such as a key or pointer that has just been let go of, a flashed press, a hover to clear or a warning to
+     * count down. Controls for which this is false are left as they are by {@link SolInputManager} until a key or
+     * pointer reaches them.
+     *
+     * @return Whether the control has to be updated this frame
+     */
+    boolean needsUpdate() {
+        return isKeyPressed || wasKeyPressed || isKeyFlashed || isAreaPressed || isAreaJustUnpressed || isAreaFlashed
+                || doesMouseHover || warnCount > 0;
+    }
+
     private void updateHover(SolInputManager.InputPointer[] inputPointers, boolean cursorShown, SolInputManager inputMan, SolApplication cmp) {
         if (screenArea == null || isAreaPressed || inputPointers[0].pressed) {
             return;
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.ui;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A grid of the screen areas of the controls of a screen, for finding the controls under a pointer without testing all
+ * of them.
+ * <p>
+ * The index mirrors the control list of its screen. It is checked against the list every frame, which only compares the
+ * controls and their areas, and is built again when a control was added, removed or moved.
+ */
+class UiControlIndex {
+    private static final int CELLS = 16;
+
+    private final List<SolUiControl> controls;
+    private final List<List<Integer>> cells;
+    private float[] areas;
+    private boolean[] hits;
+    private float minX;
+    private float minY;
+    private float cellWidth;
+    private float cellHeight;
+
+    UiControlIndex() {
+        controls = new ArrayList<>();
+        cells = new ArrayList<>(CELLS * CELLS);
+        for (int i = 0; i < CELLS * CELLS; i++) {
+            cells.add(new ArrayList<>());
+        }
+        areas = new float[0];
+        hits = new boolean[0];
+    }
+
+    /**
+     * Brings the index up to date with the controls of its screen and clears the hits of the last frame.
+     *
+     * @param current The controls of the screen
+     */
+    void update(List<SolUiControl> current) {
+        if (!matches(current)) {
+            rebuild(current);
+        }
+        Arrays.fill(hits, false);
+    }
+
+    private boolean matches(List<SolUiControl> current) {
+        if (current.size() != controls.size()) {
+            return false;
+        }
+        for (int i = 0; i < controls.size(); i++) {
+            SolUiControl control = current.get(i);
+            if (control != controls.get(i)) {
+                return false;
+            }
+            Rectangle area = control.getScreenArea();
+            int idx = i * 4;
+            if (area == null ? !Float.isNaN(areas[idx])
+                    : area.x != areas[idx] || area.y != areas[idx + 1] || area.width != areas[idx + 2] || area.height != areas[idx + 3]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rebuild(List<SolUiControl> current) {
+        controls.clear();
+        controls.addAll(current);
+        areas = new float[controls.size() * 4];
+        hits = new boolean[controls.size()];
+        for (List<Integer> cell : cells) {
+            cell.clear();
+        }
+
+        float maxX = -Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        minX = Float.MAX_VALUE;
+        minY = Float.MAX_VALUE;
+        for (int i = 0; i < controls.size(); i++) {
+            Rectangle area = controls.get(i).getScreenArea();
+            int idx = i * 4;
+            if (area == null) {
+                areas[idx] = Float.NaN;
+                continue;
+            }
+            areas[idx] = area.x;
+            areas[idx + 1] = area.y;
+            areas[idx + 2] = area.width;
+            areas[idx + 3] = area.height;
+            minX = Math.min(minX, area.x);
+            minY = Math.min(minY, area.y);
+            maxX = Math.max(maxX, area.x + area.width);
+            maxY = Math.max(maxY, area.y + area.height);
+        }
+        if (minX > maxX) {
+            return;
+        }
+        cellWidth = Math.max((maxX - minX) / CELLS, Float.MIN_NORMAL);
+        cellHeight = Math.max((maxY - minY) / CELLS, Float.MIN_NORMAL);
+        for (int i = 0; i < controls.size(); i++) {
+            Rectangle area = controls.get(i).getScreenArea();
+            if (area == null) {
+                continue;
+            }
+            int fromX = toCell(area.x, minX, cellWidth);
+            int toX = toCell(area.x + area.width, minX, cellWidth);
+            int fromY = toCell(area.y, minY, cellHeight);
+            int toY = toCell(area.y + area.height, minY, cellHeight);
+            for (int cellX = fromX; cellX <= toX; cellX++) {
+                for (int cellY = fromY; cellY <= toY; cellY++) {
+                    cells.get(cellY * CELLS + cellX).add(i);
+                }
+            }
+        }
+    }
+
+    private static int toCell(float value, float min, float cellSize) {
+        return Math.min(Math.max((int) ((value - min) / cellSize), 0), CELLS - 1);
+    }
+
+    private List<Integer> getCell(float x, float y) {
+        if (controls.isEmpty() || x < minX || y < minY || minX + cellWidth * CELLS < x || minY + cellHeight * CELLS < y) {
+            return null;
+        }
+        return cells.get(toCell(y, minY, cellHeight) * CELLS + toCell(x, minX, cellWidth));
+    }
+
+    /**
+     * Marks the controls whose areas contain the point as hit for this frame.
+     */
+    void markHits(float x, float y) {
+        List<Integer> cell = getCell(x, y);
+        if (cell == null) {
+            return;
+        }
+        for (int i = 0, size = cell.size(); i < size; i++) {
+            int control = cell.get(i);
+            if (controls.get(control).getScreenArea().contains(x, y)) {
+                hits[control] = true;
+            }
+        }
+    }
+
+    /**
+     * @param i The index of a control in the control list of the screen
+     * @return Whether a pointer was over the control this frame
+     */
+    boolean isHit(int i) {
+        return hits[i];
+    }
+
+    /**
+     * @return Whether the point is in the area of any control
+     */
+    boolean isOnControl(float x, float y) {
+        List<Integer> cell = getCell(x, y);
+        if (cell == null) {
+            return false;
+        }
+        for (int i = 0, size = cell.size(); i < size; i++) {
+            if (controls.get(cell.get(i)).getScreenArea().contains(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameTelemetryTest {
+    @Test
+    public void testKeepsLastFrames() {
+        FrameTelemetry telemetry = new FrameTelemetry();
+        int frames = FrameTelemetry.CAPACITY + 10;
+        for (int i = 1; i <= frames; i++) {
+            telemetry.record(i, 1, i * 2, i * 3, 0, 0, 0, 0, 0, 0, 0);
+        }
+        assertEquals(FrameTelemetry.CAPACITY, telemetry.getSize());
+        assertEquals(frames, telemetry.getFrameCount());
+        assertEquals(frames, telemetry.getFrameNanos(0));
+        assertEquals(frames * 5, telemetry.getWorkNanos(0));
+        assertEquals(frames - FrameTelemetry.CAPACITY + 1, telemetry.getFrameNanos(FrameTelemetry.CAPACITY - 1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNoFrameBeyondRecorded() {
+        FrameTelemetry telemetry = new FrameTelemetry();
+        telemetry.record(1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        telemetry.getFrameNanos(1);
+    }
+}
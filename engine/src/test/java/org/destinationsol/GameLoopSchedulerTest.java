@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GameLoopSchedulerTest {
+    // a power of two, so that whole and half ticks add up exactly in floats
+    private static final float TICK_TIME = 1f / 64;
+    private static final long TICK_NANOS = 15_625_000L;
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    public void testRunsElapsedTicks() {
+        GameLoopScheduler scheduler = new GameLoopScheduler(TICK_TIME, 0);
+        assertEquals(0, scheduler.beginFrame(START));
+        assertEquals(2, scheduler.beginFrame(START + 5 * TICK_NANOS / 2));
+        assertEquals(.5f, scheduler.getInterpolationAlpha(), 1e-4f);
+        assertEquals(1, scheduler.beginFrame(START + 7 * TICK_NANOS / 2));
+        assertEquals(.5f, scheduler.getInterpolationAlpha(), 1e-4f);
+        assertEquals(1, scheduler.getCaughtUpTicks());
+        assertEquals(0, scheduler.getDroppedTicks());
+    }
+
+    @Test
+    public void testCarriesOverPartialTicks() {
+        GameLoopScheduler scheduler = new GameLoopScheduler(TICK_TIME, 0);
+        scheduler.beginFrame(START);
+        assertEquals(0, scheduler.beginFrame(START + TICK_NANOS / 2));
+        assertEquals(1, scheduler.beginFrame(START + TICK_NANOS));
+        assertEquals(0, scheduler.getInterpolationAlpha(), 1e-4f);
+    }
+
+    @Test
+    public void testClampsCatchUpAndDropsTheRest() {
+        GameLoopScheduler scheduler = new GameLoopScheduler(TICK_TIME, 0);
+        scheduler.beginFrame(START);
+        long hitch = START + 10 * TICK_NANOS + TICK_NANOS / 4;
+        assertEquals(GameLoopScheduler.MAX_CATCH_UP_TICKS, scheduler.beginFrame(hitch));
+        assertEquals(10 - GameLoopScheduler.MAX_CATCH_UP_TICKS, scheduler.getDroppedTicks());
+        assertEquals(GameLoopScheduler.MAX_CATCH_UP_TICKS - 1, scheduler.getCaughtUpTicks());
+        assertEquals(.25f, scheduler.getInterpolationAlpha(), 1e-4f);
+        // the dropped time is gone rather than owed to the following frames
+        assertEquals(1, scheduler.beginFrame(hitch + TICK_NANOS));
+        assertEquals(10 - GameLoopScheduler.MAX_CATCH_UP_TICKS, scheduler.getDroppedTicks());
+    }
+}
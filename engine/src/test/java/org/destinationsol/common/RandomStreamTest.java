@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.common;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class RandomStreamTest {
+    private static final long SEED = 42;
+
+    @Test
+    public void testDrawsLikeRandom() {
+        RandomStream stream = new RandomStream(SEED);
+        Random random = new Random(SEED);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(random.nextFloat(), stream.nextFloat(), 0);
+            assertEquals(random.nextInt(10), stream.nextInt(10));
+        }
+    }
+
+    @Test
+    public void testDeriveIgnoresDraws() {
+        RandomStream stream = new RandomStream(SEED);
+        long expected = stream.derive(1, 2).nextLong();
+        for (int i = 0; i < 10; i++) {
+            stream.nextLong();
+        }
+        assertEquals(expected, stream.derive(1, 2).nextLong());
+    }
+
+    @Test
+    public void testDeriveDependsOnKeys() {
+        RandomStream stream = new RandomStream(SEED);
+        assertNotEquals(stream.derive(1, 2).nextLong(), stream.derive(2, 1).nextLong());
+        assertNotEquals(stream.derive(1).nextLong(), stream.derive(1, 0).nextLong());
+        assertNotEquals(stream.derive(1).nextLong(), new RandomStream(SEED + 1).derive(1).nextLong());
+    }
+
+    @Test
+    public void testSplitDependsOnDraws() {
+        RandomStream first = new RandomStream(SEED);
+        RandomStream second = new RandomStream(SEED);
+        assertEquals(first.split().nextLong(), second.split().nextLong());
+        assertNotEquals(first.split().nextLong(), first.split().nextLong());
+    }
+
+    @Test
+    public void testSeededRandomOnThread() {
+        long previousSeed = SolRandom.getSeed();
+        SolRandom.setSeed(SEED);
+        try {
+            RandomStream stream = SolRandom.getWorldStream().derive(7);
+            float expected = SolRandom.getWorldStream().derive(7).randomFloat(0, 1);
+            float worldValue = new RandomStream(SEED).randomFloat(0, 1);
+            assertEquals(expected, (float) SolRandom.withSeededRandom(stream, () -> SolRandom.seededRandomFloat(0, 1)), 0);
+            // the world stream is left untouched by the generator
+            assertEquals(worldValue, SolRandom.seededRandomFloat(0, 1), 0);
+        } finally {
+            SolRandom.setSeed(previousSeed);
+        }
+    }
+}
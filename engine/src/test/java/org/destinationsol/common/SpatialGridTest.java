@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.common;
+
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SpatialGridTest {
+    private static final float CELL_SIZE = 100;
+    private static final float WORLD_SIZE = 5000;
+    private static final int ITEM_COUNT = 500;
+    private static final int QUERY_COUNT = 2000;
+
+    private SpatialGrid<Integer> grid;
+    private List<Vector2> positions;
+    private List<Float> radii;
+    private Random random;
+
+    @Before
+    public void fillGrid() {
+        grid = new SpatialGrid<>(CELL_SIZE);
+        positions = new ArrayList<>();
+        radii = new ArrayList<>();
+        random = new Random(1);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Vector2 position = randomPosition();
+            float radius = 5 + random.nextFloat() * 45;
+            positions.add(position);
+            radii.add(radius);
+            grid.add(i, position, radius);
+        }
+    }
+
+    @Test
+    public void testEmptyGrid() {
+        SpatialGrid<Integer> emptyGrid = new SpatialGrid<>(CELL_SIZE);
+        assertNull(emptyGrid.getNearest(new Vector2()));
+        assertTrue(!emptyGrid.overlaps(new Vector2(), 1000));
+    }
+
+    @Test
+    public void testNearestMatchesLinearScan() {
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            // also query well outside the populated area
+            Vector2 position = randomPosition().scl(1.5f);
+            Integer nearest = grid.getNearest(position);
+            assertEquals(positions.get(linearNearest(position)).dst(position), positions.get(nearest).dst(position), 0);
+        }
+    }
+
+    @Test
+    public void testOverlapsMatchesLinearScan() {
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            Vector2 position = randomPosition();
+            float radius = random.nextFloat() * 100;
+            boolean expected = false;
+            for (int j = 0; j < ITEM_COUNT; j++) {
+                if (positions.get(j).dst(position) < radii.get(j) + radius) {
+                    expected = true;
+                    break;
+                }
+            }
+            assertEquals(expected, grid.overlaps(position, radius));
+        }
+    }
+
+    @Test
+    public void testGetNearIncludesAllWithinDistance() {
+        List<Integer> near = new ArrayList<>();
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            Vector2 position = randomPosition();
+            float distance = random.nextFloat() * 300;
+            near.clear();
+            grid.getNear(position, distance, near);
+            for (int j = 0; j < ITEM_COUNT; j++) {
+                if (positions.get(j).dst(position) <= distance) {
+                    assertTrue(near.contains(j));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testClear() {
+        grid.clear();
+        assertEquals(0, grid.size());
+        assertNull(grid.getNearest(new Vector2()));
+        grid.add(7, new Vector2(-300, 200), 1);
+        assertEquals(Integer.valueOf(7), grid.getNearest(new Vector2(WORLD_SIZE, WORLD_SIZE)));
+    }
+
+    private int linearNearest(Vector2 position) {
+        int nearest = -1;
+        float minDst = Float.MAX_VALUE;
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            float dst = positions.get(i).dst2(position);
+            if (dst < minDst) {
+                minDst = dst;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    private Vector2 randomPosition() {
+        return new Vector2((random.nextFloat() - .5f) * WORLD_SIZE, (random.nextFloat() - .5f) * WORLD_SIZE);
+    }
+}
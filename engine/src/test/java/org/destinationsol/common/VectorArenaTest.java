@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.common;
+
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class VectorArenaTest {
+    @Test
+    public void testReusesFreedVector() {
+        VectorArena arena = new VectorArena();
+        Vector2 first = arena.obtain(1, 2);
+        arena.free(first);
+        Vector2 second = arena.obtain(3, 4);
+        assertSame(first, second);
+        assertEquals(new Vector2(3, 4), second);
+        arena.free(second);
+        assertEquals(0, arena.getTaken());
+    }
+
+    @Test
+    public void testFreeOutOfOrder() {
+        VectorArena arena = new VectorArena();
+        Vector2 first = arena.obtain(0, 0);
+        Vector2 second = arena.obtain(0, 0);
+        arena.free(first);
+        Vector2 third = arena.obtain(0, 0);
+        assertNotSame(second, third);
+        arena.free(third);
+        arena.free(second);
+        assertEquals(0, arena.getTaken());
+        // once everything is free, the arena starts from the bottom again
+        assertSame(first, arena.obtain(0, 0));
+    }
+
+    @Test
+    public void testMarkAndReset() {
+        VectorArena arena = new VectorArena();
+        Vector2 kept = arena.obtain(5, 6);
+        long mark = arena.mark();
+        for (int i = 0; i < 200; i++) {
+            arena.obtain(i, i);
+        }
+        arena.reset(mark);
+        assertEquals(1, arena.getTaken());
+        assertEquals(new Vector2(5, 6), kept);
+        assertNotSame(kept, arena.obtain(0, 0));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void testLeakIsReported() {
+        VectorArena arena = new VectorArena();
+        arena.obtain(0, 0);
+        arena.checkTaken("test");
+    }
+
+    @Test
+    public void testLeakPointsAtOrigin() {
+        VectorArena arena = new VectorArena(true);
+        arena.obtain(0, 0);
+        try {
+            arena.checkTaken("test");
+        } catch (AssertionError e) {
+            assertEquals("Vector obtained here", e.getCause().getMessage());
+            return;
+        }
+        fail("The leak was not reported");
+    }
+
+    @Test(expected = AssertionError.class)
+    public void testFreeTwiceFailsWhenTracking() {
+        VectorArena arena = new VectorArena(true);
+        Vector2 v = arena.obtain(0, 0);
+        arena.obtain(0, 0);
+        arena.free(v);
+        arena.free(v);
+    }
+
+    @Test
+    public void testArenaPerThread() throws InterruptedException {
+        Vector2 v = SolMath.getVec(1, 1);
+        AtomicReference<Integer> takenOnOtherThread = new AtomicReference<>();
+        Thread thread = new Thread(() -> takenOnOtherThread.set(VectorArena.get().getTaken()));
+        thread.start();
+        thread.join();
+        assertEquals(Integer.valueOf(0), takenOnOtherThread.get());
+        assertEquals(1, VectorArena.get().getTaken());
+        SolMath.free(v);
+        SolMath.checkVectorsTaken(null);
+    }
+}
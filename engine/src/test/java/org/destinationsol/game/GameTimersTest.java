@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class GameTimersTest {
+    private static final float FRAME = 1f / GameTimers.TICKS_PER_SECOND;
+
+    @Test
+    public void testRunsInOrderOfTime() {
+        GameTimers timers = new GameTimers();
+        List<Integer> fired = new ArrayList<>();
+        timers.schedule(3, () -> fired.add(3));
+        timers.schedule(1, () -> fired.add(1));
+        timers.schedule(2, () -> fired.add(2));
+        timers.schedule(2, () -> fired.add(4));
+        runFor(timers, 0, 4);
+        assertEquals(Arrays.asList(1, 2, 4, 3), fired);
+        assertEquals(0, timers.getPendingCount());
+    }
+
+    @Test
+    public void testNeverRunsEarly() {
+        GameTimers timers = new GameTimers();
+        float[] firedAt = new float[1];
+        // far enough to go through all levels of the wheel and the overflow
+        float delay = 300000;
+        GameTimers.Timer timer = timers.schedule(delay, () -> firedAt[0] = -1);
+        float time = 0;
+        while (timers.getPendingCount() > 0) {
+            time += 1;
+            timers.advanceTo(time);
+            if (firedAt[0] == -1) {
+                firedAt[0] = time;
+            }
+        }
+        assertEquals(delay, timer.getTime(), 0);
+        assertEquals(delay, firedAt[0], 0);
+    }
+
+    @Test
+    public void testCancel() {
+        GameTimers timers = new GameTimers();
+        List<Integer> fired = new ArrayList<>();
+        GameTimers.Timer timer = timers.schedule(1, () -> fired.add(1));
+        timers.schedule(1, () -> fired.add(2));
+        timer.cancel();
+        timer.cancel();
+        assertEquals(1, timers.getPendingCount());
+        runFor(timers, 0, 2);
+        assertEquals(Arrays.asList(2), fired);
+    }
+
+    @Test
+    public void testScheduleFromAction() {
+        GameTimers timers = new GameTimers();
+        int[] count = new int[1];
+        Runnable[] repeat = new Runnable[1];
+        repeat[0] = () -> {
+            count[0]++;
+            timers.schedule(.5f, repeat[0]);
+        };
+        timers.schedule(.5f, repeat[0]);
+        runFor(timers, 0, 10.1f);
+        assertEquals(20, count[0]);
+    }
+
+    private void runFor(GameTimers timers, float from, float duration) {
+        for (float time = from; time < from + duration; time += FRAME) {
+            timers.advanceTo(time);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.input;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InputRecordingTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReplaysRecordedInputs() throws IOException {
+        InputRecording recording = new InputRecording(42, 7, 3, "core:imperialSmall", true);
+        for (long tick = 0; tick < 100; tick++) {
+            recording.record(tick, tick < 30 ? InputRecording.UP : InputRecording.LEFT | InputRecording.SHOOT);
+        }
+        String fileName = new File(folder.getRoot(), "recording.bin").getPath();
+        recording.write(fileName);
+
+        InputRecording replay = InputRecording.read(fileName);
+        assertTrue(replay.isReplay());
+        assertEquals(42, replay.getSeed());
+        assertEquals(7, replay.getRandomSeed());
+        assertEquals(3, replay.getNumberOfSystems());
+        assertEquals("core:imperialSmall", replay.getShipName());
+        assertTrue(replay.isMouseControl());
+        assertEquals(99, replay.getEndTick());
+        for (long tick = 0; tick < 100; tick++) {
+            assertEquals(recording.getInputs(tick), replay.getInputs(tick));
+        }
+        assertFalse(replay.isFinished(99));
+        assertTrue(replay.isFinished(100));
+    }
+
+    @Test
+    public void testLooksUpTicksOutOfOrder() {
+        InputRecording recording = new InputRecording(0, 0, 1, "", false);
+        recording.record(10, InputRecording.UP);
+        recording.record(20, InputRecording.RIGHT);
+        recording.record(30, 0);
+        assertEquals(0, recording.getInputs(35));
+        assertEquals(InputRecording.RIGHT, recording.getInputs(25));
+        assertEquals(InputRecording.UP, recording.getInputs(10));
+        assertEquals(0, recording.getInputs(5));
+        assertFalse(recording.isFinished(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsTicksGoingBack() {
+        InputRecording recording = new InputRecording(0, 0, 1, "", false);
+        recording.record(10, InputRecording.UP);
+        recording.record(9, InputRecording.UP);
+    }
+}
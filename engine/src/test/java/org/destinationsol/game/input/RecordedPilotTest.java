@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.input;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import org.destinationsol.Const;
+import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.PhysicsStepper;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.item.Engine;
+import org.destinationsol.game.particle.PartMan;
+import org.destinationsol.game.ship.ShipEngine;
+import org.destinationsol.game.ship.SolShip;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RecordedPilotTest {
+    private static final int TICKS = 300;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SolGame game;
+    private Pilot steering;
+    private Engine engineItem;
+    private long tick;
+
+    @Before
+    public void setUp() {
+        game = mock(SolGame.class);
+        when(game.getTick()).thenAnswer(invocation -> tick);
+        when(game.getTimeStep()).thenReturn(Const.REAL_TIME_STEP);
+        when(game.getPartMan()).thenReturn(mock(PartMan.class));
+        steering = mock(Pilot.class);
+        when(steering.isUp()).thenReturn(true);
+        when(steering.isLeft()).thenAnswer(invocation -> tick % 90 < 30);
+        when(steering.isShoot()).thenAnswer(invocation -> tick % 20 == 0);
+        engineItem = mock(Engine.class);
+        when(engineItem.getAcceleration()).thenReturn(2f);
+        when(engineItem.getRotationAcceleration()).thenReturn(300f);
+        when(engineItem.getMaxRotationSpeed()).thenReturn(120f);
+    }
+
+    @After
+    public void tearDown() {
+        SolRandom.resetRandomSeed();
+    }
+
+    @Test
+    public void testReplaysTheHeroTheSameWay() throws IOException {
+        InputRecording recording = new InputRecording(42, 7, 1, "core:imperialSmall", false);
+        Vector2 recorded = fly(recording);
+        String fileName = new File(folder.getRoot(), "recording.bin").getPath();
+        recording.write(fileName);
+
+        Vector2 firstReplay = fly(InputRecording.read(fileName));
+        Vector2 secondReplay = fly(InputRecording.read(fileName));
+        assertEquals(recorded, firstReplay);
+        assertEquals(firstReplay, secondReplay);
+
+        InputRecording otherSeed = new InputRecording(42, 8, 1, "core:imperialSmall", false);
+        assertNotEquals(recorded, fly(otherSeed));
+    }
+
+    /**
+     * Flies a ship with the recorded pilot the way the game does each tick, with random nudges standing in for the
+     * randomness of guns, loot and AI that the game draws from the unseeded stream. The world is stepped through a
+     * {@link PhysicsStepper} that does not adapt, as it is in a recorded or replayed game.
+     *
+     * @return Where the ship ended up
+     */
+    private Vector2 fly(InputRecording recording) {
+        SolRandom.setRandomSeed(recording.getRandomSeed());
+        World world = new World(new Vector2(), true);
+        try {
+            BodyDef bodyDef = new BodyDef();
+            bodyDef.type = BodyDef.BodyType.DynamicBody;
+            Body body = world.createBody(bodyDef);
+            PolygonShape shape = new PolygonShape();
+            shape.setAsBox(.5f, .5f);
+            body.createFixture(shape, 1);
+            shape.dispose();
+
+            RecordedPilot pilot = new RecordedPilot(steering, recording);
+            ShipEngine engine = new ShipEngine(engineItem);
+            SolShip ship = mock(SolShip.class);
+            PhysicsStepper physicsStepper = new PhysicsStepper();
+            physicsStepper.setAdaptive(false);
+            int velocityIterations = physicsStepper.getVelocityIterations();
+            int positionIterations = physicsStepper.getPositionIterations();
+            for (tick = 0; tick < TICKS; tick++) {
+                pilot.update(game, ship, null);
+                engine.update(body.getAngle() * MathUtils.radDeg, game, pilot, body, body.getLinearVelocity(), true,
+                        body.getMass(), ship);
+                if (pilot.isShoot()) {
+                    body.applyLinearImpulse(SolRandom.randomFloat(.1f), SolRandom.randomFloat(.1f), 0, 0, true);
+                }
+                physicsStepper.step(world, game.getTimeStep());
+            }
+            assertEquals(velocityIterations, physicsStepper.getVelocityIterations());
+            assertEquals(positionIterations, physicsStepper.getPositionIterations());
+            return new Vector2(body.getPosition());
+        } finally {
+            world.dispose();
+        }
+    }
+}
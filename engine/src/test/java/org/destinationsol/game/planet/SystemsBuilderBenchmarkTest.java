@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.planet;
+
+import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.SolNames;
+import org.destinationsol.game.maze.Maze;
+import org.destinationsol.game.maze.MazeConfigs;
+import org.destinationsol.testingUtilities.InitializationUtilities;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how long generating galaxies of different sizes takes. It takes a while and only logs the timings, so it
+ * is ignored by the build; remove the annotation to run it by hand.
+ */
+@Ignore("Benchmark, run by hand")
+public class SystemsBuilderBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(SystemsBuilderBenchmarkTest.class);
+    private static final long SEED = 1234567890L;
+    private static final int[] SYSTEM_COUNTS = {10, 100, 1000};
+    private static final int RUNS = 5;
+
+    private static PlanetConfigs planetConfigs;
+    private static MazeConfigs mazeConfigs;
+    private static SysConfigs sysConfigs;
+    private static SolNames names;
+
+    @BeforeClass
+    public static void loadConfigs() {
+        InitializationUtilities.init();
+        SolGame game = InitializationUtilities.game;
+        planetConfigs = new PlanetConfigs(game.getHullConfigManager(), game.getCols(), game.getItemMan());
+        mazeConfigs = new MazeConfigs(game.getHullConfigManager(), game.getItemMan());
+        sysConfigs = new SysConfigs(game.getHullConfigManager(), game.getItemMan());
+        names = new SolNames();
+    }
+
+    @Test
+    public void benchmarkGeneration() {
+        // the first galaxy warms up the JIT and the config caches
+        build(SYSTEM_COUNTS[0]);
+        for (int systemCount : SYSTEM_COUNTS) {
+            long best = Long.MAX_VALUE;
+            long total = 0;
+            for (int i = 0; i < RUNS; i++) {
+                long time = build(systemCount);
+                best = Math.min(best, time);
+                total += time;
+            }
+            logger.info("{} systems: best {} ms, mean {} ms", systemCount, best / 1e6f, total / 1e6f / RUNS);
+        }
+    }
+
+    private long build(int systemCount) {
+        long previousSeed = SolRandom.getSeed();
+        SolRandom.setSeed(SEED);
+        List<SolSystem> systems = new ArrayList<>();
+        List<Planet> planets = new ArrayList<>();
+        ArrayList<SystemBelt> belts = new ArrayList<>();
+        ArrayList<Maze> mazes = new ArrayList<>();
+        try {
+            long start = System.nanoTime();
+            new SystemsBuilder().build(systems, planets, belts, planetConfigs, mazeConfigs, mazes, sysConfigs, names, systemCount);
+            return System.nanoTime() - start;
+        } finally {
+            SolRandom.setSeed(previousSeed);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.game.planet;
+
+import org.destinationsol.common.SolRandom;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.SolNames;
+import org.destinationsol.game.maze.Maze;
+import org.destinationsol.game.maze.MazeConfigs;
+import org.destinationsol.testingUtilities.InitializationUtilities;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+public class SystemsBuilderTest {
+    private static final long SEED = 1234567890L;
+    private static final int SYSTEM_COUNT = 20;
+
+    private static PlanetConfigs planetConfigs;
+    private static MazeConfigs mazeConfigs;
+    private static SysConfigs sysConfigs;
+    private static SolNames names;
+
+    @BeforeClass
+    public static void loadConfigs() {
+        InitializationUtilities.init();
+        SolGame game = InitializationUtilities.game;
+        planetConfigs = new PlanetConfigs(game.getHullConfigManager(), game.getCols(), game.getItemMan());
+        mazeConfigs = new MazeConfigs(game.getHullConfigManager(), game.getItemMan());
+        sysConfigs = new SysConfigs(game.getHullConfigManager(), game.getItemMan());
+        names = new SolNames();
+    }
+
+    @Test
+    public void testSameGalaxyForAnyThreadCount() {
+        String expected = describeGalaxy(1);
+        for (int threads : new int[] {2, 4, 8}) {
+            assertEquals("Galaxy built with " + threads + " threads", expected, describeGalaxy(threads));
+        }
+    }
+
+    @Test
+    public void testSameGalaxyWhenBuiltAgain() {
+        assertEquals(describeGalaxy(4), describeGalaxy(4));
+    }
+
+    private String describeGalaxy(int threads) {
+        long previousSeed = SolRandom.getSeed();
+        SolRandom.setSeed(SEED);
+        List<SolSystem> systems = new ArrayList<>();
+        List<Planet> planets = new ArrayList<>();
+        ArrayList<SystemBelt> belts = new ArrayList<>();
+        ArrayList<Maze> mazes = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            new SystemsBuilder().build(systems, planets, belts, planetConfigs, mazeConfigs, mazes, sysConfigs, names, SYSTEM_COUNT, pool);
+        } finally {
+            pool.shutdown();
+            SolRandom.setSeed(previousSeed);
+        }
+
+        StringBuilder description = new StringBuilder();
+        for (SolSystem system : systems) {
+            description.append(system.getName()).append(' ').append(system.getConfig().name).append(' ')
+                    .append(system.getPosition()).append(' ').append(system.getRadius()).append('\n');
+            for (Planet planet : system.getPlanets()) {
+                description.append("  ").append(planet.getName()).append(' ').append(planet.getConfig().configName).append(' ')
+                        .append(planet.getPosition()).append(' ').append(planet.getAngle()).append(' ')
+                        .append(planet.getGroundHeight()).append(' ').append(planet.getGravitationConstant()).append('\n');
+            }
+            for (SystemBelt belt : system.getBelts()) {
+                description.append("  belt ").append(belt.getConfig().name).append(' ').append(belt.getRadius()).append('\n');
+            }
+        }
+        for (Maze maze : mazes) {
+            description.append("maze ").append(maze.getPos()).append(' ').append(maze.getRadius()).append('\n');
+        }
+        assertEquals(planets.size(), countPlanets(systems));
+        return description.toString();
+    }
+
+    private int countPlanets(List<SolSystem> systems) {
+        int count = 0;
+        for (SolSystem system : systems) {
+            count += system.getPlanets().size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.save;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.files.HullConfigManager;
+import org.destinationsol.game.Faction;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.input.AiPilot;
+import org.destinationsol.game.input.NoDestProvider;
+import org.destinationsol.game.input.OrbiterDestProvider;
+import org.destinationsol.game.item.ItemContainer;
+import org.destinationsol.game.item.ItemManager;
+import org.destinationsol.game.maze.Maze;
+import org.destinationsol.game.planet.Planet;
+import org.destinationsol.game.planet.PlanetConfig;
+import org.destinationsol.game.planet.PlanetManager;
+import org.destinationsol.game.planet.SolSystem;
+import org.destinationsol.game.planet.SysConfig;
+import org.destinationsol.game.ship.FarShip;
+import org.destinationsol.game.ship.hulls.HullConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WorldStateTest {
+    private static final long SEED = 1234L;
+    private static final String HULL_NAME = "test:hull";
+
+    private SolGame game;
+    private HullConfigManager hullConfigManager;
+    private HullConfig hull;
+    private List<SolSystem> systems;
+    private List<Planet> planets;
+    private List<Maze> mazes;
+
+    @Before
+    public void setUp() {
+        hull = mock(HullConfig.class);
+        when(hull.getInternalName()).thenReturn(HULL_NAME);
+        hullConfigManager = mock(HullConfigManager.class);
+        when(hullConfigManager.getConfig(HULL_NAME)).thenReturn(hull);
+
+        systems = new ArrayList<>();
+        planets = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            SolSystem system = new SolSystem(new Vector2(i * 1000, 0), mock(SysConfig.class), "system" + i, 100);
+            Planet planet = mock(Planet.class);
+            when(planet.getConfig()).thenReturn(mock(PlanetConfig.class));
+            when(planet.getAngleInSystem()).thenReturn(10f + i);
+            when(planet.getAngle()).thenReturn(20f + i);
+            when(planet.areObjectsCreated()).thenReturn(i == 1);
+            system.getPlanets().add(planet);
+            systems.add(system);
+            planets.add(planet);
+        }
+        Maze maze = mock(Maze.class);
+        when(maze.getPos()).thenReturn(new Vector2(1000, 150));
+        when(maze.areObjectsCreated()).thenReturn(true);
+        mazes = new ArrayList<>();
+        mazes.add(maze);
+
+        PlanetManager planetManager = mock(PlanetManager.class);
+        when(planetManager.getSystems()).thenReturn(systems);
+        when(planetManager.getPlanets()).thenReturn(planets);
+        when(planetManager.getMazes()).thenReturn(mazes);
+        game = mock(SolGame.class);
+        when(game.getPlanetManager()).thenReturn(planetManager);
+        when(game.getHullConfigManager()).thenReturn(hullConfigManager);
+        when(game.getItemMan()).thenReturn(mock(ItemManager.class));
+    }
+
+    @Test
+    public void testReadsWhatWasWritten() throws IOException {
+        SaveData saved = createSave();
+        SaveData loaded = read(write(saved));
+
+        assertEquals(saved.farObjects.size(), loaded.farObjects.size());
+        assertEquals(saved.factionDispositions, loaded.factionDispositions);
+        assertTrue(loaded.populatedSystems.contains(systems.get(1)));
+        assertEquals(1, loaded.populatedSystems.size());
+
+        // ships are grouped by their nearest system, so the station near the second system comes back second
+        FarShip orbiter = (FarShip) loaded.farObjects.get(0);
+        assertSame(hull, orbiter.getHullConfig());
+        assertEquals(new Vector2(5, 5), orbiter.getPosition());
+        assertEquals(40, orbiter.getLife(), 0);
+        OrbiterDestProvider destProvider = (OrbiterDestProvider) ((AiPilot) orbiter.getPilot()).getDestProvider();
+        assertSame(planets.get(0), destProvider.getPlanet());
+        assertEquals(3, destProvider.getHeight(), 0);
+
+        FarShip station = (FarShip) loaded.farObjects.get(1);
+        assertEquals(new Vector2(990, 5), station.getPosition());
+        assertEquals(new Vector2(1, 2), station.getVelocity());
+        assertEquals(75, station.getMoney(), 0);
+        AiPilot pilot = (AiPilot) station.getPilot();
+        assertEquals(Faction.EHAR, pilot.getFaction());
+        assertEquals("station", pilot.getMapHint());
+        assertTrue(pilot.getDestProvider() instanceof NoDestProvider);
+
+        verify(planets.get(0)).restoreState(10f, 20f, false);
+        verify(planets.get(1)).restoreState(11f, 21f, true);
+        verify(mazes.get(0)).restoreState(true);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsUnknownHull() throws IOException {
+        byte[] save = write(createSave());
+        when(hullConfigManager.getConfig(HULL_NAME)).thenThrow(new IllegalArgumentException("No such hull"));
+        read(save);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsOtherGalaxy() throws IOException {
+        byte[] save = write(createSave());
+        mazes.clear();
+        read(save);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsTruncatedSave() throws IOException {
+        byte[] save = write(createSave());
+        byte[] truncated = new byte[save.length - 10];
+        System.arraycopy(save, 0, truncated, 0, truncated.length);
+        read(truncated);
+    }
+
+    private SaveData createSave() {
+        SaveData data = new SaveData();
+        data.systems.addAll(systems);
+        data.planets.addAll(planets);
+        data.mazes.addAll(mazes);
+        data.factionDispositions.add(-3);
+        data.factionDispositions.add(7);
+        data.populatedSystems.add(systems.get(1));
+        AiPilot stationPilot = new AiPilot(new NoDestProvider(), false, Faction.EHAR, false, "station", 2);
+        data.farObjects.add(new FarShip(new Vector2(990, 5), new Vector2(1, 2), 90, 0, stationPilot, new ItemContainer(),
+                hull, 100, null, null, null, null, null, 75, null, null, null));
+        AiPilot orbiterPilot = new AiPilot(new OrbiterDestProvider(planets.get(0), 3, true), true, Faction.LAANI, true, null, 2);
+        data.farObjects.add(new FarShip(new Vector2(5, 5), new Vector2(), 0, 0, orbiterPilot, new ItemContainer(),
+                hull, 40, null, null, null, null, null, 0, null, null, null));
+        return data;
+    }
+
+    private byte[] write(SaveData data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new WorldStateWriter().write(data, SEED, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private SaveData read(byte[] save) throws IOException {
+        return new WorldStateReader(game).read(SEED, new DataInputStream(new ByteArrayInputStream(save)));
+    }
+}